@@ -2,8 +2,10 @@ package de.ait.javalessonspro;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JavaLessonsProApplication {
 
     public static void main(String[] args) {
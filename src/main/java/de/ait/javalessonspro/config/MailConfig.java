@@ -0,0 +1,52 @@
+package de.ait.javalessonspro.config;
+
+import de.ait.javalessonspro.service.mail.PooledSmtpMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Replaces Spring Boot's mail sender with {@link PooledSmtpMailSender}, set up
+ * from the same {@code spring.mail.*} properties. With
+ * {@code app.mail.pool.enabled=false} Boot's non-pooled sender is used again.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.mail.pool.enabled", havingValue = "true", matchIfMissing = true)
+    public PooledSmtpMailSender mailSender(MailProperties properties,
+                                           @Value("${app.mail.pool.size:4}") int poolSize,
+                                           @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessages,
+                                           @Value("${app.mail.pool.max-idle-ms:60000}") long maxIdleMs,
+                                           @Value("${app.mail.pool.validate-after-idle-ms:2000}") long validateAfterIdleMs,
+                                           @Value("${app.mail.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs) {
+        PooledSmtpMailSender sender = new PooledSmtpMailSender(poolSize, maxMessages, maxIdleMs,
+                validateAfterIdleMs, borrowTimeoutMs);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+}
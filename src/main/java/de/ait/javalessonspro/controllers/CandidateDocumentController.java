@@ -1,13 +1,18 @@
 package de.ait.javalessonspro.controllers;
 
+import de.ait.javalessonspro.controllers.support.FileDownloadWriter;
+import de.ait.javalessonspro.controllers.support.ZipBundleWriter;
 import de.ait.javalessonspro.enums.CandidateDocType;
 import de.ait.javalessonspro.model.CandidateDocumentOs;
 import de.ait.javalessonspro.service.CandidateDocumentOsService;
+import de.ait.javalessonspro.util.MultipartStreamReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,10 +25,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * ----------------------------------------------------------------------------
@@ -42,8 +49,14 @@ import java.nio.file.Paths;
                 "with files stored in OS file system and metadata in database."
 )
 public class CandidateDocumentController {
+    private static final int MAX_FORM_FIELD_LENGTH = 1024;
+
     private final CandidateDocumentOsService service;
 
+    private final FileDownloadWriter downloadWriter;
+
+    private final ZipBundleWriter zipBundleWriter;
+
     @Operation(
             summary = "Upload candidate document",
             description = """
@@ -75,6 +88,49 @@ public class CandidateDocumentController {
         }
     }
 
+    @Operation(
+            summary = "Upload candidate document (streaming)",
+            description = """
+                    Streams a candidate document straight to the file system without
+                    buffering the multipart body in a temp file first.
+                    
+                    The form fields `candidateEmail` and `docType` must be sent before
+                    the `file` part. Type and count limits are checked before the first
+                    byte is written, the size limit while the file is being received.
+                    """
+    )
+    @PostMapping(value = "/documents/os/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> streamCandidateDocument(HttpServletRequest request) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        try {
+            MultipartStreamReader reader = new MultipartStreamReader(request.getInputStream(),
+                    MultipartStreamReader.extractBoundary(request.getContentType()));
+
+            MultipartStreamReader.Part filePart = reader.nextFilePart(fields, MAX_FORM_FIELD_LENGTH);
+            if (filePart == null) {
+                return ResponseEntity.badRequest().body("File part is missing");
+            }
+
+            String docType = fields.get("docType");
+            CandidateDocumentOs saved = service.uploadCandidateDocument(
+                    fields.get("candidateEmail"),
+                    docType != null ? CandidateDocType.valueOf(docType) : null,
+                    filePart.getFilename(),
+                    filePart.getContentType(),
+                    filePart.getInputStream());
+            log.info("Candidate document with id {} streamed for candidate {}", saved.getId(), saved.getCandidateEmail());
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected streaming candidate upload: email={}, reason={}",
+                    fields.get("candidateEmail"), e.getMessage());
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .body(e.getMessage());
+        }
+    }
+
     @Operation(
             summary = "Get candidate documents list",
             description = "Returns all documents for a candidate by email"
@@ -90,24 +146,56 @@ public class CandidateDocumentController {
 
     @Operation(
             summary = "Download document",
-            description = "Downloads a document by ID. Returns file with Content-Disposition header."
+            description = "Downloads a document by ID. Supports Range requests (206) and ETag revalidation."
     )
     @GetMapping("/documents/os/{documentId}/download")
-    public ResponseEntity<FileSystemResource> downloadCandidateDocument(@PathVariable Long documentId) {
+    public void downloadCandidateDocument(@PathVariable Long documentId,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) throws IOException {
         CandidateDocumentOs document = service.getDocumentById(documentId);
-        Path filePath = Paths.get(document.getStoragePath());
 
-        if (!Files.exists(filePath)) {
+        downloadWriter.write(request, response, new FileDownloadWriter.DownloadableFile(
+                service.getDocumentContent(document),
+                document.getOriginalFileName(),
+                servedContentType(document),
+                document.getChecksumSha256()));
+    }
+
+    @Operation(
+            summary = "Download all documents as ZIP",
+            description = "Streams all documents of a candidate as one ZIP archive, built on the fly."
+    )
+    @GetMapping("/documents/os/bundle.zip")
+    public ResponseEntity<StreamingResponseBody> downloadCandidateDocumentsBundle(@RequestParam String candidateEmail) {
+        if (candidateEmail == null || candidateEmail.isBlank()) {
+            log.warn("Candidate bundle download failed: email is null or blank");
+            return ResponseEntity.badRequest().build();
+        }
+        List<CandidateDocumentOs> documents = service.getDocumentsByCandidateEmail(candidateEmail);
+        if (documents.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        FileSystemResource resource = new FileSystemResource(filePath);
+        List<ZipBundleWriter.BundleEntry> entries = documents.stream()
+                .map(document -> new ZipBundleWriter.BundleEntry(
+                        document.getDocType() + "/" + document.getOriginalFileName(),
+                        service.getDocumentContent(document),
+                        servedContentType(document)))
+                .toList();
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + resource.getFilename() + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("candidate-documents.zip")
+                        .build()
+                        .toString())
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(zipBundleWriter.write(entries));
+    }
+
+    private static String servedContentType(CandidateDocumentOs document) {
+        return document.getDetectedContentType() != null
+                ? document.getDetectedContentType()
+                : document.getContentType();
     }
 
     @Operation(
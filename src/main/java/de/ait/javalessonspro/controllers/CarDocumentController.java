@@ -1,15 +1,25 @@
 package de.ait.javalessonspro.controllers;
 
+import de.ait.javalessonspro.controllers.support.FileDownloadWriter;
+import de.ait.javalessonspro.controllers.support.ZipBundleWriter;
+import de.ait.javalessonspro.dto.DocumentUploadResult;
 import de.ait.javalessonspro.enums.CarDocumentType;
+import de.ait.javalessonspro.enums.RenditionSize;
 import de.ait.javalessonspro.model.CarDocumentOs;
 import de.ait.javalessonspro.service.CarDocumentsOsService;
+import de.ait.javalessonspro.util.MultipartStreamReader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,10 +27,19 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/cars")
@@ -28,8 +47,16 @@ import java.util.List;
 @Slf4j
 public class CarDocumentController {
 
+    private static final int MAX_FORM_FIELD_LENGTH = 1024;
+    private static final long RENDITION_TIMEOUT_SECONDS = 30;
+    private static final MediaType ZIP = MediaType.parseMediaType("application/zip");
+
     private final CarDocumentsOsService service;
 
+    private final FileDownloadWriter downloadWriter;
+
+    private final ZipBundleWriter zipBundleWriter;
+
     @PostMapping(value = "/{carId}/documents/os", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<CarDocumentOs> uploadCarDocument(@PathVariable Long carId,
                                                            @RequestParam CarDocumentType docType,
@@ -44,20 +71,169 @@ public class CarDocumentController {
 
     }
 
+    /**
+     * Uploads several files of one document type in a single request. Responds with
+     * 201 if every file was stored, 207 if only some were and 400 if none was; the
+     * body lists the outcome per file.
+     */
+    @PostMapping(value = "/{carId}/documents/os/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadCarDocuments(@PathVariable Long carId,
+                                                @RequestParam CarDocumentType docType,
+                                                @RequestPart("files") List<MultipartFile> files) {
+        try {
+            List<DocumentUploadResult> results = service.uploadCarDocuments(carId, docType, files);
+            long saved = results.stream().filter(DocumentUploadResult::success).count();
+            HttpStatus status = saved == results.size() ? HttpStatus.CREATED
+                    : saved == 0 ? HttpStatus.BAD_REQUEST
+                    : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected batch upload for car {}: {}", carId, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Streaming upload: the multipart body is parsed incrementally and the file part
+     * is written straight to storage. The {@code docType} field must precede the file part.
+     */
+    @PostMapping(value = "/{carId}/documents/os/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> streamCarDocument(@PathVariable Long carId,
+                                               HttpServletRequest request) throws IOException {
+        try {
+            MultipartStreamReader reader = new MultipartStreamReader(request.getInputStream(),
+                    MultipartStreamReader.extractBoundary(request.getContentType()));
+
+            Map<String, String> fields = new HashMap<>();
+            MultipartStreamReader.Part filePart = reader.nextFilePart(fields, MAX_FORM_FIELD_LENGTH);
+            if (filePart == null) {
+                return ResponseEntity.badRequest().body("File part is missing");
+            }
+            if (filePart.getFilename().contains("..")) {
+                return ResponseEntity.badRequest().body("Filename is invalid");
+            }
+
+            String docType = fields.get("docType");
+            if (docType == null) {
+                return ResponseEntity.badRequest().body("docType must be sent before the file part");
+            }
+
+            CarDocumentOs saved = service.uploadCarDocument(carId, CarDocumentType.valueOf(docType),
+                    filePart.getFilename(), filePart.getContentType(), filePart.getInputStream());
+            log.info("Car document with id {} streamed to storage", saved.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected streaming upload for car {}: {}", carId, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{carId}/documents/os")
     public ResponseEntity<List<CarDocumentOs>> getAllCarDocuments(@PathVariable Long carId){
         return ResponseEntity.ok(service.getAllCarDocument(carId));
     }
 
     @GetMapping("/documents/os/{documentId}/download")
-    public ResponseEntity<FileSystemResource> downloadCarDocument(@PathVariable Long documentId){
-        Path path = service.getDocumentPath(documentId);
-        FileSystemResource resource = new FileSystemResource(path);
-
-        return ResponseEntity.ok().header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + resource.getFilename() + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(resource);
+    public void downloadCarDocument(@PathVariable Long documentId,
+                                    HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        CarDocumentOs document = service.getDocument(documentId);
+
+        downloadWriter.write(request, response, new FileDownloadWriter.DownloadableFile(
+                service.getDocumentContent(document),
+                document.getOriginalFileName(),
+                servedContentType(document),
+                document.getChecksumSha256()));
+    }
+
+    /**
+     * All documents of a car as one ZIP, streamed while it is being built.
+     */
+    @GetMapping("/{carId}/documents/os/bundle.zip")
+    public ResponseEntity<StreamingResponseBody> downloadCarDocumentsBundle(@PathVariable Long carId) {
+        List<CarDocumentOs> documents = service.getAllCarDocument(carId);
+        if (documents.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<ZipBundleWriter.BundleEntry> entries = documents.stream()
+                .map(document -> new ZipBundleWriter.BundleEntry(
+                        document.getDocType() + "/" + document.getOriginalFileName(),
+                        service.getDocumentContent(document),
+                        servedContentType(document)))
+                .toList();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("car-" + carId + "-documents.zip")
+                        .build()
+                        .toString())
+                .contentType(ZIP)
+                .body(zipBundleWriter.write(entries));
+    }
+
+    private static String servedContentType(CarDocumentOs document) {
+        return document.getDetectedContentType() != null
+                ? document.getDetectedContentType()
+                : document.getContentType();
+    }
+
+    /**
+     * Downscaled JPEG of a car photo. Renditions are immutable (keyed by the photo's
+     * checksum), so clients and CDNs may cache them for a year.
+     */
+    @GetMapping("/{carId}/documents/os/{documentId}/rendition/{size}")
+    public ResponseEntity<?> getCarDocumentRendition(@PathVariable Long carId,
+                                                     @PathVariable Long documentId,
+                                                     @PathVariable String size,
+                                                     WebRequest webRequest) throws InterruptedException {
+        try {
+            RenditionSize renditionSize = RenditionSize.fromPath(size);
+            CarDocumentOs photo = service.getPhoto(carId, documentId);
+            String etag = "\"" + photo.getChecksumSha256() + "-" + renditionSize + "\"";
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            Path rendition = service.getRendition(photo, renditionSize)
+                    .get(RENDITION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                    .eTag(etag)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(new FileSystemResource(rendition));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return renditionBusy();
+            }
+            log.warn("Rendition {} of car document {} failed: {}", size, documentId, e.getCause().getMessage());
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body("Image cannot be rendered");
+        } catch (TimeoutException e) {
+            return renditionBusy();
+        }
+    }
+
+    private static ResponseEntity<?> renditionBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
+
+    @DeleteMapping("/documents/os/{documentId}")
+    public ResponseEntity<Void> deleteCarDocument(@PathVariable Long documentId){
+        try {
+            service.deleteCarDocument(documentId);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to delete car document with id {}: {}", documentId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
     }
 
 }
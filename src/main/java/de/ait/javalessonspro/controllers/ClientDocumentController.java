@@ -1,10 +1,15 @@
 package de.ait.javalessonspro.controllers;
 
+import de.ait.javalessonspro.controllers.support.ByteRanges;
 import de.ait.javalessonspro.enums.ClientDocumentType;
 import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
 import de.ait.javalessonspro.service.ClientDocumentDbService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,6 +23,9 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 
@@ -37,29 +45,71 @@ public class ClientDocumentController {
     private final ClientDocumentDbService service;
 
     @PostMapping(value = "/documents/db", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<ClientDocumentDb> uploadClientDocumentToDb(
+    public ResponseEntity<?> uploadClientDocumentToDb(
             @RequestParam String clientEmail,
             @RequestParam ClientDocumentType docType,
             @RequestPart("file") MultipartFile file)
     {
-        ClientDocumentDb saved = service.uploadClientDocument(clientEmail, docType, file);
-        log.info("Client document with id {} saved", saved.getId());
-        return  ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        try {
+            ClientDocumentDb saved = service.uploadClientDocument(clientEmail, docType, file);
+            log.info("Client document with id {} saved", saved.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected client upload: email={}, docType={}, reason={}", clientEmail, docType, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
+    /**
+     * Streams the document from its chunks. A single byte range is answered
+     * with 206 and only the chunks it overlaps are read; multiple ranges are
+     * answered with the whole document.
+     */
     @GetMapping("/documents/db/{documentId}/download")
-    public ResponseEntity<byte[]> downloadClientDocument(@PathVariable Long documentId){
-        ClientDocumentDb doc = service.getClientDocument(documentId);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\""
-                                + doc.getOriginalFileName() + "\"")
-                .contentType(MediaType.parseMediaType(doc.getContentType()))
-                .body(doc.getData());
+    public void downloadClientDocument(@PathVariable Long documentId,
+                                       HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        ClientDocumentDb doc;
+        try {
+            doc = service.getClientDocument(documentId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Client document {} not found", documentId);
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = doc.getSize();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(doc.getOriginalFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentType(doc.getContentType() != null
+                ? doc.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long count = length;
+        // the chunks have no strong validator, so an If-Range always gets the whole document
+        List<ByteRanges.Range> ranges = ByteRanges.resolve(request, null, length);
+        if (ranges == null) {
+            ByteRanges.rejectUnsatisfiable(response, length);
+            return;
+        }
+        if (ranges.size() == 1) {
+            start = ranges.get(0).start();
+            count = ranges.get(0).length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, ranges.get(0).contentRange(length));
+        }
+        response.setContentLengthLong(count);
+
+        OutputStream out = response.getOutputStream();
+        service.writeContent(doc, start, count, out);
+        out.flush();
     }
 
     @GetMapping("/documents/db")
-    public List<ClientDocumentDb> listClientDocuments(@RequestParam String clientEmail){
+    public List<ClientDocumentDbRepository.DocumentSummary> listClientDocuments(@RequestParam String clientEmail){
         return service.getAllClientDocuments(clientEmail);
     }
 
@@ -1,20 +1,25 @@
 package de.ait.javalessonspro.controllers;
 
+import de.ait.javalessonspro.dto.CampaignProgressResponse;
+import de.ait.javalessonspro.dto.CarOfferCampaignRequest;
 import de.ait.javalessonspro.dto.CarOfferEmailRequest;
+import de.ait.javalessonspro.service.CarOfferCampaignService;
 import de.ait.javalessonspro.service.CarOfferEmailService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.validation.Valid;
-
 /**
  * ----------------------------------------------------------------------------
  * Author  : Alexander Hermann
@@ -34,13 +39,15 @@ public class EmailController {
 
     private final CarOfferEmailService carOfferEmailService;
 
+    private final CarOfferCampaignService carOfferCampaignService;
+
     @Operation(
             summary = "Send car offer email",
             description = """
                 Sends an email with a car offer based on the provided request data.
                 
                 The request must contain valid customer contact information and car offer details.
-                If the request is valid, the email is accepted for processing and sent asynchronously.
+                If the request is valid, the email is queued in the outbox and sent asynchronously.
                 
                 **Response behavior:**
                 - 202 ACCEPTED — email request accepted and queued for sending
@@ -53,4 +60,50 @@ public class EmailController {
         log.info("Sending car offer email for request: {}", carOfferEmailRequest);
         carOfferEmailService.sendCarOfferEmail(carOfferEmailRequest);
     }
+
+    @Operation(
+            summary = "Start car offer campaign",
+            description = """
+                Sends a car offer to a list of recipients (up to tens of thousands).
+                
+                The car is given either by `carId` or by `filter`, in which case the cheapest available
+                car matching brand, model and max price is offered. Duplicate addresses are sent once.
+                The campaign and its recipients are stored and the emails are sent in the background,
+                rate-limited per recipient domain. Use the returned id to follow the progress.
+                
+                **Response behavior:**
+                - 202 ACCEPTED — campaign stored, body contains its initial progress
+                - 400 BAD REQUEST — invalid recipients, unknown car, no matching car or too many recipients
+                """
+    )
+    @PostMapping("/car-offer/campaigns")
+    public ResponseEntity<?> createCarOfferCampaign(@RequestBody @Valid CarOfferCampaignRequest request) {
+        try {
+            CampaignProgressResponse progress = carOfferCampaignService.createCampaign(request);
+            return ResponseEntity.accepted().body(progress);
+        } catch (IllegalArgumentException e) {
+            log.warn("Car offer campaign rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Get car offer campaign progress",
+            description = """
+                Returns how many emails of a campaign are sent, failed and still queued,
+                and the send rate over the last minute.
+                
+                **Response behavior:**
+                - 200 OK — campaign progress
+                - 404 NOT FOUND — campaign does not exist
+                """
+    )
+    @GetMapping("/car-offer/campaigns/{id}")
+    public ResponseEntity<CampaignProgressResponse> getCarOfferCampaign(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(carOfferCampaignService.getProgress(id));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
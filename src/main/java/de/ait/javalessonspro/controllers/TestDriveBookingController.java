@@ -7,11 +7,15 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+
+import java.time.LocalDateTime;
+
 /**
  * ----------------------------------------------------------------------------
  * Author  : Alexander Hermann
@@ -96,4 +100,35 @@ public class TestDriveBookingController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @Operation(
+            summary = "Get free test drive slots of a car",
+            description = """
+            Returns the next free test drive start times of a car, earliest first.
+            
+            Slots lie within opening hours and keep the configured buffer to every
+            booking of the car that is not cancelled. The search starts at `from`,
+            or now if it is omitted or in the past.
+            
+            **Response codes:**
+            - 200 OK — free slots returned; fewer than `count` if the search window is booked up
+            - 400 BAD REQUEST — `count` is not between 1 and 50
+            - 404 NOT FOUND — car with provided ID does not exist
+            """
+    )
+    @GetMapping("/cars/{carId}/availability")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long carId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "5") int count) {
+        if (count < 1 || count > 50) {
+            return ResponseEntity.badRequest().body("count must be between 1 and 50");
+        }
+        try {
+            return ResponseEntity.ok(testDriveBookingService.findAvailability(carId, from, count));
+        } catch (IllegalArgumentException e) {
+            log.warn("Car not found: {}", carId);
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
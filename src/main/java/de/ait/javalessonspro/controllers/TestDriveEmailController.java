@@ -44,7 +44,7 @@ public class TestDriveEmailController {
             1. Validates the booking request
             2. Saves the booking to the database
             3. Generates a unique confirmation ID
-            4. Sends a confirmation email with booking details
+            4. Queues a confirmation email with booking details; it is sent in the background
             
             **Validation:**
             - All required fields must be provided and valid
@@ -52,9 +52,10 @@ public class TestDriveEmailController {
             - Test drive date/time must be in the future
             
             **Response codes:**
-            - 202 ACCEPTED — email accepted for processing
-            - 400 BAD REQUEST — validation errors in request data
-            - 500 INTERNAL SERVER ERROR — email sending failed
+            - 202 ACCEPTED — booking saved and email queued for sending
+            - 400 BAD REQUEST — validation errors in request data, unknown car,
+              or the car is already booked at that time
+            - 500 INTERNAL SERVER ERROR — booking could not be saved
             """
     )
     @PostMapping("/confirmation")
@@ -69,6 +70,9 @@ public class TestDriveEmailController {
         try {
             testDriveEmailService.sendConfirmationEmail(request);
             return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Test drive booking rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error while sending test drive confirmation email", e);
             return ResponseEntity.internalServerError().build();
@@ -90,9 +94,9 @@ public class TestDriveEmailController {
             - Customer email must be valid
             
             **Response codes:**
-            - 202 ACCEPTED — reminder email accepted for processing
+            - 202 ACCEPTED — reminder email queued for sending
             - 400 BAD REQUEST — validation errors in request data
-            - 500 INTERNAL SERVER ERROR — email sending failed
+            - 500 INTERNAL SERVER ERROR — reminder could not be recorded
             """
     )
     @PostMapping("/reminder")
@@ -0,0 +1,91 @@
+package de.ait.javalessonspro.controllers.support;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Resolves the Range and If-Range headers of a download against the length of
+ * the content, for every endpoint that answers byte ranges.
+ */
+@Slf4j
+public final class ByteRanges {
+
+    /**
+     * Inclusive byte range {@code [start, end]} within the content.
+     */
+    public record Range(long start, long end) {
+
+        public long length() {
+            return end - start + 1;
+        }
+
+        public String contentRange(long total) {
+            return "bytes " + start + "-" + end + "/" + total;
+        }
+    }
+
+    private ByteRanges() {
+    }
+
+    /**
+     * The requested ranges within {@code length} bytes; empty if the whole content
+     * is to be sent, null if a range starts beyond the content.
+     * <p>
+     * A malformed Range header is ignored, and so is one whose If-Range does not
+     * strongly match {@code etag}; pass a null {@code etag} if there is none.
+     */
+    public static List<Range> resolve(HttpServletRequest request, String etag, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return List.of();
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !strongMatch(ifRange.trim(), etag)) {
+            // the client's partial copy is outdated or cannot be proven current, send the whole content
+            return List.of();
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException malformed) {
+            log.debug("Ignoring malformed Range header: {}", rangeHeader);
+            return List.of();
+        }
+        List<Range> resolved = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            // HttpRange clamps the end to the content but does not check the start
+            long start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                return null;
+            }
+            resolved.add(new Range(start, end));
+        }
+        return resolved;
+    }
+
+    /**
+     * Answers 416 with the Content-Range that tells the client the content length.
+     */
+    public static void rejectUnsatisfiable(HttpServletResponse response, long length) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+    }
+
+    // If-Range only accepts a strong validator that is equal to a strong ETag (RFC 9110, 13.1.5)
+    private static boolean strongMatch(String validator, String etag) {
+        return etag != null && !etag.startsWith("W/") && !validator.startsWith("W/") && validator.equals(etag);
+    }
+}
@@ -0,0 +1,190 @@
+package de.ait.javalessonspro.controllers.support;
+
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Serves stored document files with HTTP Range (single and multi-range 206),
+ * checksum ETags and If-None-Match / If-Range handling.
+ * <p>
+ * Full and single-range responses are handed to Tomcat's sendfile support when
+ * the connector offers it; otherwise, and for multi-range responses, the bytes
+ * are moved with {@link FileChannel#transferTo}, never through a heap copy of
+ * the whole file. Blobs that live inside a pack segment are served the same way,
+ * shifted by their offset in the segment.
+ */
+@Component
+@Slf4j
+public class FileDownloadWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public record DownloadableFile(BlobSlice content, String filename, String contentType, String checksum) {
+    }
+
+    public void write(HttpServletRequest request, HttpServletResponse response,
+                      DownloadableFile file) throws IOException {
+
+        BlobSlice content = file.content();
+        if (!content.exists()) {
+            log.warn("Stored file {} is missing", content.file());
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = content.length();
+        String etag = file.checksum() != null
+                ? "\"" + file.checksum() + "\""
+                : "W/\"" + length + "-" + Files.getLastModifiedTime(content.file()).toMillis() + "\"";
+        String contentType = file.contentType() != null ? file.contentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.filename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        List<ByteRanges.Range> ranges = ByteRanges.resolve(request, etag, length);
+        if (ranges == null) {
+            ByteRanges.rejectUnsatisfiable(response, length);
+            return;
+        }
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!head) {
+                transfer(request, response, content, 0, length);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            ByteRanges.Range range = ranges.get(0);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            response.setContentLengthLong(range.length());
+            if (!head) {
+                transfer(request, response, content, range.start(), range.length());
+            }
+            return;
+        }
+
+        writeMultipleRanges(response, content, contentType, length, ranges, head);
+    }
+
+    private void writeMultipleRanges(HttpServletResponse response, BlobSlice content, String contentType,
+                                     long length, List<ByteRanges.Range> ranges, boolean head) throws IOException {
+        String boundary = UUID.randomUUID().toString();
+        List<byte[]> partHeaders = new ArrayList<>(ranges.size());
+        long contentLength = 0;
+        for (ByteRanges.Range range : ranges) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + range.contentRange(length)
+                    + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + range.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (head) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+            for (int i = 0; i < ranges.size(); i++) {
+                out.write(partHeaders.get(i));
+                transferTo(channel, content.offset() + ranges.get(i).start(), ranges.get(i).length(), target);
+            }
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    private void transfer(HttpServletRequest request, HttpServletResponse response,
+                          BlobSlice content, long start, long count) throws IOException {
+        long position = content.offset() + start;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file with sendfile once the servlet returns
+            request.setAttribute(SENDFILE_FILENAME, content.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            transferTo(channel, position, count, Channels.newChannel(out));
+            out.flush();
+        }
+    }
+
+    private static void transferTo(FileChannel channel, long position, long count,
+                                   WritableByteChannel target) throws IOException {
+        long done = 0;
+        while (done < count) {
+            long sent = channel.transferTo(position + done, count - done, target);
+            if (sent <= 0) {
+                throw new IOException("File ended before the requested range was sent");
+            }
+            done += sent;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(opaqueTag)
+                    || (tag.startsWith("W/") && tag.substring(2).equals(opaqueTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package de.ait.javalessonspro.controllers.support;
+
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Builds a ZIP of stored documents on the fly, straight into the response.
+ * <p>
+ * Nothing is buffered in memory or temp files: each entry is copied from disk
+ * into the ZIP stream and flushed, so the first bytes go out immediately.
+ * JPEG, PNG, WEBP and PDF are already compressed; their entries are deflated
+ * with level 0 (stored blocks), which costs no CPU and, unlike STORED entries,
+ * does not need the CRC before the data is written.
+ */
+@Component
+@Slf4j
+public class ZipBundleWriter {
+
+    private static final Set<String> COMPRESSED_TYPES =
+            Set.of("image/jpeg", "image/png", "image/webp", "application/pdf");
+
+    public record BundleEntry(String name, BlobSlice content, String contentType) {
+    }
+
+    public StreamingResponseBody write(List<BundleEntry> entries) {
+        return outputStream -> {
+            Set<String> usedNames = new HashSet<>();
+            try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+                for (BundleEntry entry : entries) {
+                    if (!entry.content().exists()) {
+                        log.warn("Skipping {} in ZIP bundle, file {} is missing", entry.name(), entry.content().file());
+                        continue;
+                    }
+                    zip.setLevel(COMPRESSED_TYPES.contains(entry.contentType())
+                            ? Deflater.NO_COMPRESSION
+                            : Deflater.DEFAULT_COMPRESSION);
+
+                    ZipEntry zipEntry = new ZipEntry(uniqueName(entry.name(), usedNames));
+                    zipEntry.setLastModifiedTime(Files.getLastModifiedTime(entry.content().file()));
+                    zip.putNextEntry(zipEntry);
+                    try (InputStream in = entry.content().openStream()) {
+                        in.transferTo(zip);
+                    }
+                    zip.closeEntry();
+                    zip.flush();
+                }
+            } catch (IOException exception) {
+                // mostly the client going away mid-download
+                log.warn("ZIP bundle aborted: {}", exception.getMessage());
+                throw exception;
+            }
+        };
+    }
+
+    static String uniqueName(String name, Set<String> usedNames) {
+        String safe = name.replace('\\', '_').replace("..", "_");
+        while (safe.startsWith("/")) {
+            safe = safe.substring(1);
+        }
+        if (safe.isBlank()) {
+            safe = "unnamed";
+        }
+        String candidate = safe;
+        int dot = safe.lastIndexOf('.');
+        int slash = safe.lastIndexOf('/');
+        String base = dot > slash + 1 ? safe.substring(0, dot) : safe;
+        String extension = dot > slash + 1 ? safe.substring(dot) : "";
+        for (int copy = 2; !usedNames.add(candidate); copy++) {
+            candidate = base + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,26 @@
+package de.ait.javalessonspro.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Progress of a car offer campaign. {@code queued} counts emails not yet sent
+ * or given up, including those being sent right now; {@code suppressed} those
+ * skipped because the address is on the suppression list; {@code ratePerSecond}
+ * is the average over the last minute.
+ */
+public record CampaignProgressResponse(Long id,
+                                       Long carId,
+                                       int total,
+                                       long queued,
+                                       long sent,
+                                       long failed,
+                                       long suppressed,
+                                       double ratePerSecond,
+                                       boolean completed,
+                                       LocalDateTime createdAt) {
+}
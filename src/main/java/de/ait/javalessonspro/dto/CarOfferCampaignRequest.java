@@ -0,0 +1,62 @@
+package de.ait.javalessonspro.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * A car offer to many recipients. The car is given either by {@code carId}
+ * or by {@code filter}, which selects the cheapest available matching car.
+ */
+@Getter
+@Setter
+public class CarOfferCampaignRequest {
+
+    private Long carId;
+
+    @Valid
+    private CarFilter filter;
+
+    @Positive(message = "Offer price must be positive")
+    private Integer offerPrice;
+
+    @NotEmpty(message = "Recipients are mandatory")
+    private List<@Valid Recipient> recipients;
+
+    @Getter
+    @Setter
+    public static class CarFilter {
+
+        @NotBlank(message = "Brand is mandatory")
+        private String brand;
+
+        private String model;
+
+        @Positive(message = "Max price must be positive")
+        private BigDecimal maxPrice;
+    }
+
+    @Getter
+    @Setter
+    public static class Recipient {
+
+        @NotBlank(message = "Email is mandatory")
+        @Email(message = "Email must be valid")
+        private String email;
+
+        @NotBlank(message = "Client name is mandatory")
+        private String clientName;
+    }
+}
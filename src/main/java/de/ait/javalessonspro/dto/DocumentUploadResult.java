@@ -0,0 +1,20 @@
+package de.ait.javalessonspro.dto;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Outcome of one file of a batch upload.
+ */
+public record DocumentUploadResult(String filename, boolean success, Long documentId, String error) {
+
+    public static DocumentUploadResult created(String filename, Long documentId) {
+        return new DocumentUploadResult(filename, true, documentId, null);
+    }
+
+    public static DocumentUploadResult failed(String filename, String error) {
+        return new DocumentUploadResult(filename, false, null, error);
+    }
+}
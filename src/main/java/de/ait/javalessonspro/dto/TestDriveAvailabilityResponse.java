@@ -0,0 +1,18 @@
+package de.ait.javalessonspro.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Next free test drive start times of a car, earliest first; each slot lasts
+ * {@code durationMinutes}.
+ */
+public record TestDriveAvailabilityResponse(Long carId,
+                                            long durationMinutes,
+                                            List<LocalDateTime> freeSlots) {
+}
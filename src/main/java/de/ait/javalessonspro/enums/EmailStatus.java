@@ -0,0 +1,14 @@
+package de.ait.javalessonspro.enums;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Delivery state of an email in the outbox. {@code SUPPRESSED} emails were
+ * not sent because the recipient is on the suppression list.
+ */
+public enum EmailStatus {
+    PENDING, SENDING, SENT, FAILED, SUPPRESSED
+}
@@ -0,0 +1,34 @@
+package de.ait.javalessonspro.enums;
+
+import java.util.Locale;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Fixed rendition sizes of car photos; the longer edge is scaled down to {@code maxEdge}.
+ */
+public enum RenditionSize {
+    THUMB(320),
+    WEB(1280);
+
+    private final int maxEdge;
+
+    RenditionSize(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public static RenditionSize fromPath(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown rendition size: " + value);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package de.ait.javalessonspro.enums;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Where the content of a client document currently lives.
+ */
+public enum StorageTier {
+    /** Chunks in the database: hot documents, part of every backup. */
+    DATABASE,
+    /** A blob in the document blob store: documents nobody has read for a while. */
+    FILESYSTEM
+}
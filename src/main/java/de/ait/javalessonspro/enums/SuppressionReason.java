@@ -0,0 +1,13 @@
+package de.ait.javalessonspro.enums;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Why no more emails are sent to an address.
+ */
+public enum SuppressionReason {
+    HARD_BOUNCE, COMPLAINT, UNSUBSCRIBE, MANUAL
+}
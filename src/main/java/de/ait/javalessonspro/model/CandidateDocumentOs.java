@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
  * ----------------------------------------------------------------------------
  */
 @Entity
-@Table(name = "candidate_documents_os")
+@Table(name = "candidate_documents_os", indexes = {
+        @Index(name = "idx_candidate_documents_c_email", columnList = "c_email")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,9 +45,15 @@ public class CandidateDocumentOs {
     @Column(name = "size", nullable = false)
     private Long size;
 
-    @Column(name = "storage_path", nullable = false)
+    @Column(name = "storage_path", nullable = false, length = 500)
     private String storagePath;
 
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
+    @Column(name = "detected_content_type", length = 100)
+    private String detectedContentType;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -39,9 +39,15 @@ public class CarDocumentOs {
     @Column(nullable = false)
     private Long size;
 
-    @Column(name = "storage_path", nullable = false)
+    @Column(name = "storage_path", nullable = false, length = 500)
     private String storagePath;
 
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
+    @Column(name = "detected_content_type", length = 100)
+    private String detectedContentType;
+
     public CarDocumentOs(Car car,
                          String storagePath,
                          Long size,
@@ -0,0 +1,58 @@
+package de.ait.javalessonspro.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * One fixed-size piece of a {@link ClientDocumentDb}'s content, with its own
+ * CRC32C. Only the last chunk of a document may be shorter.
+ * <p>
+ * Reads and writes go through
+ * {@link de.ait.javalessonspro.repositories.ClientDocumentChunkRepository};
+ * the mapping is here for the schema.
+ */
+@Entity
+@Table(name = "client_document_chunks")
+@IdClass(ClientDocumentChunk.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClientDocumentChunk {
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Id
+    @Column(name = "seq")
+    private Integer seq;
+
+    @Column(name = "size", nullable = false)
+    private Integer size;
+
+    @Column(name = "crc32c", nullable = false)
+    private Long crc32c;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long documentId;
+        private Integer seq;
+    }
+}
@@ -0,0 +1,38 @@
+package de.ait.javalessonspro.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Content of a {@link ClientDocumentDb}, kept apart from the metadata row.
+ * <p>
+ * Reads and writes go through
+ * {@link de.ait.javalessonspro.repositories.ClientDocumentContentRepository},
+ * which streams the column; the mapping is here for the schema.
+ */
+@Entity
+@Table(name = "client_document_data")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClientDocumentData {
+
+    @Id
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "document_id")
+    private ClientDocumentDb document;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+}
@@ -1,13 +1,19 @@
 package de.ait.javalessonspro.model;
 
 import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.enums.StorageTier;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "client_documents_db")
+@Table(name = "client_documents_db", indexes = {
+        @Index(name = "idx_client_documents_db_email", columnList = "client_email"),
+        @Index(name = "idx_client_documents_db_tier_access", columnList = "storage_tier, last_accessed_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,22 +39,44 @@ public class ClientDocumentDb {
     @Column(name = "original_filename", nullable = false)
     private String originalFileName;
 
-    //@Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "data", nullable = false)
-    private byte[] data;
+    // set once the content is stored in client_document_chunks, null for a single client_document_data row
+    @Column(name = "chunk_size")
+    private Integer chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_tier", nullable = false, length = 20)
+    private StorageTier storageTier = StorageTier.DATABASE;
+
+    // blob store location while the document is in the FILESYSTEM tier
+    @Column(name = "storage_path", length = 500)
+    private String storagePath;
+
+    @Column(name = "checksum_sha256", length = 64)
+    private String checksumSha256;
+
+    // reads since the document last changed tier
+    @Column(name = "access_count", nullable = false)
+    private long accessCount;
+
+    @Column(name = "last_accessed_at", nullable = false)
+    private LocalDateTime lastAccessedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (this.lastAccessedAt == null) {
+            this.lastAccessedAt = LocalDateTime.now();
+        }
+    }
 
     public ClientDocumentDb(String clientEmail,
                             ClientDocumentType docType,
                             String contentType,
                             Long size,
-                            String originalFileName,
-                            byte[] data) {
+                            String originalFileName) {
         this.clientEmail = clientEmail;
         this.docType = docType;
         this.contentType = contentType;
         this.size = size;
         this.originalFileName = originalFileName;
-        this.data = data;
     }
 }
@@ -0,0 +1,67 @@
+package de.ait.javalessonspro.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Content-addressed file shared by all document rows with identical bytes.
+ * Document rows point at it through their checksum_sha256 column.
+ */
+@Entity
+@Table(name = "document_blobs", indexes = {
+        @Index(name = "idx_document_blobs_prefix", columnList = "prefix_sha256")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DocumentBlob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "storage_path", nullable = false, length = 500)
+    private String storagePath;
+
+    @Column(name = "prefix_sha256", nullable = false, length = 64)
+    private String prefixSha256;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public DocumentBlob(String sha256,
+                        Long size,
+                        String contentType,
+                        String storagePath,
+                        String prefixSha256) {
+        this.sha256 = sha256;
+        this.size = size;
+        this.contentType = contentType;
+        this.storagePath = storagePath;
+        this.prefixSha256 = prefixSha256;
+        this.refCount = 1;
+    }
+}
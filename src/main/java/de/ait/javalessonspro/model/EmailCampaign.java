@@ -0,0 +1,61 @@
+package de.ait.javalessonspro.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * A bulk car offer. The template variables shared by all recipients are
+ * stored once here as JSON; each {@link EmailCampaignRecipient} only adds
+ * its address and name.
+ */
+@Entity
+@Table(name = "email_campaigns")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "car_id", nullable = false)
+    private Long carId;
+
+    @Column(name = "subject", nullable = false, length = 500)
+    private String subject;
+
+    @Column(name = "template", nullable = false, length = 100)
+    private String template;
+
+    @Column(name = "template_data", nullable = false, length = 65535)
+    private String templateData;
+
+    @Column(name = "recipient_count", nullable = false)
+    private int recipientCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public EmailCampaign(Long carId, String subject, String template, String templateData, int recipientCount) {
+        this.carId = carId;
+        this.subject = subject;
+        this.template = template;
+        this.templateData = templateData;
+        this.recipientCount = recipientCount;
+    }
+}
@@ -0,0 +1,63 @@
+package de.ait.javalessonspro.model;
+
+import de.ait.javalessonspro.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * One email of a campaign. Rows are inserted in bulk with plain JDBC and then
+ * claimed, sent and retried by the campaign dispatcher like outbox messages.
+ */
+@Entity
+@Table(name = "email_campaign_recipients", indexes = {
+        @Index(name = "idx_email_campaign_recipients_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_campaign_recipients_campaign_status", columnList = "campaign_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmailCampaignRecipient {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "campaign_id", nullable = false)
+    private Long campaignId;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "client_name", nullable = false)
+    private String clientName;
+
+    // lower-cased part after '@', the key of the per-domain rate limit
+    @Column(name = "domain", nullable = false)
+    private String domain;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // earliest next delivery; while SENDING, the end of the dispatcher's lease
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
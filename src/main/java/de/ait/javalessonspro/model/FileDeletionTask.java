@@ -0,0 +1,57 @@
+package de.ait.javalessonspro.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * A file whose metadata row is gone and that still has to be removed from disk.
+ */
+@Entity
+@Table(name = "file_deletion_queue", indexes = {
+        @Index(name = "idx_file_deletion_queue_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class FileDeletionTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "path", nullable = false, length = 500)
+    private String path;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+    public FileDeletionTask(String path) {
+        this.path = path;
+    }
+}
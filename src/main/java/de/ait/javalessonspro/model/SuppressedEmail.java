@@ -0,0 +1,56 @@
+package de.ait.javalessonspro.model;
+
+import de.ait.javalessonspro.enums.SuppressionReason;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * An address no email is sent to any more. Stored lower-cased, so lookups are
+ * exact matches on the unique index.
+ */
+@Entity
+@Table(name = "suppressed_emails", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_suppressed_emails_email", columnNames = "email")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class SuppressedEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false, length = 20)
+    private SuppressionReason reason;
+
+    @Column(name = "detail", length = 500)
+    private String detail;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public SuppressedEmail(String email, SuppressionReason reason, String detail) {
+        this.email = email;
+        this.reason = reason;
+        this.detail = detail;
+    }
+}
@@ -87,6 +87,10 @@ public class TestDriveBooking {
     @Column(name="reminder_sent")
     private Boolean reminderSent = false;
 
+    // node that loaded the booking into its reminder wheel owns it until then
+    @Column(name="reminder_lease_until")
+    private LocalDateTime reminderLeaseUntil;
+
     @CreationTimestamp
     @Column(name="created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -2,7 +2,11 @@ package de.ait.javalessonspro.repositories;
 
 import de.ait.javalessonspro.model.CandidateDocumentOs;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,5 +21,35 @@ public interface CandidateDocumentOsRepository extends JpaRepository<CandidateDo
 
     long countByCandidateEmail(String email);
 
+    interface DocumentUsage {
+        long getCount();
+
+        long getTotalSize();
+    }
+
+    @Query("select count(d) as count, coalesce(sum(d.size), 0) as totalSize " +
+            "from CandidateDocumentOs d where d.candidateEmail = :email")
+    DocumentUsage sumUsageByCandidateEmail(@Param("email") String email);
+
+    interface CandidateUsage extends DocumentUsage {
+        String getCandidateEmail();
+    }
+
+    /**
+     * Usage of every given candidate that has documents; candidates without any are left out.
+     */
+    @Query("select d.candidateEmail as candidateEmail, count(d) as count, coalesce(sum(d.size), 0) as totalSize " +
+            "from CandidateDocumentOs d where d.candidateEmail in :emails group by d.candidateEmail")
+    List<CandidateUsage> sumUsageByCandidateEmails(@Param("emails") Collection<String> emails);
+
     void deleteAllByCandidateEmail(String email);
+
+    List<CandidateDocumentOs> findTop100ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Modifying
+    @Query("update CandidateDocumentOs d set d.storagePath = :newPath " +
+            "where d.checksumSha256 = :sha256 and d.storagePath = :oldPath")
+    int updateStoragePath(@Param("sha256") String sha256,
+                          @Param("oldPath") String oldPath,
+                          @Param("newPath") String newPath);
 }
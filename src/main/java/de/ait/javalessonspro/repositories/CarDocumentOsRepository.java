@@ -1,10 +1,26 @@
 package de.ait.javalessonspro.repositories;
 
+import de.ait.javalessonspro.enums.CarDocumentType;
 import de.ait.javalessonspro.model.CarDocumentOs;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface CarDocumentOsRepository  extends JpaRepository<CarDocumentOs, Long> {
     List<CarDocumentOs> findAllByCarId(Long carId);
+
+    Optional<CarDocumentOs> findFirstByCarIdAndDocTypeOrderByIdAsc(Long carId, CarDocumentType docType);
+
+    List<CarDocumentOs> findTop100ByIdGreaterThanOrderByIdAsc(Long id);
+
+    @Modifying
+    @Query("update CarDocumentOs d set d.storagePath = :newPath " +
+            "where d.checksumSha256 = :sha256 and d.storagePath = :oldPath")
+    int updateStoragePath(@Param("sha256") String sha256,
+                          @Param("oldPath") String oldPath,
+                          @Param("newPath") String newPath);
 }
@@ -3,10 +3,14 @@ package de.ait.javalessonspro.repositories;
 import de.ait.javalessonspro.enums.CarStatus;
 import de.ait.javalessonspro.enums.FuelType;
 import de.ait.javalessonspro.model.Car;
+import jakarta.persistence.LockModeType;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -38,6 +42,13 @@ public interface CarRepository extends JpaRepository<Car, Long> {
 
     boolean existsById(@NonNull Long id);
 
+    /**
+     * Locks the car row, e.g. to serialize test drive bookings of the car across nodes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Car c where c.id = :id")
+    Optional<Car> findForUpdate(@Param("id") Long id);
+
 //    boolean existsByBrandIgnoreCase(String brand);
 //
 //    boolean existsByColorIgnoreCase(String color);
@@ -0,0 +1,134 @@
+package de.ait.javalessonspro.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.util.zip.CRC32C;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Plain JDBC access to {@code client_document_chunks}.
+ * <p>
+ * Content is written one chunk per row and read back only for the chunks a
+ * byte range touches, so neither side ever holds more than one chunk. Every
+ * chunk carries a CRC32C that is verified before its bytes are passed on.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClientDocumentChunkRepository {
+
+    private static final String INSERT_SQL =
+            "insert into client_document_chunks (document_id, seq, size, crc32c, data) values (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_RANGE_SQL = """
+            select seq, size, crc32c, data
+            from client_document_chunks
+            where document_id = ? and seq between ? and ?
+            order by seq
+            """;
+
+    private static final String DELETE_SQL = "delete from client_document_chunks where document_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Splits {@code content} into chunks of {@code chunkSize} bytes and inserts
+     * them. Must run in the transaction that inserted the document row.
+     *
+     * @return the number of bytes written
+     */
+    public long write(Long documentId, InputStream content, int chunkSize) throws IOException {
+        byte[] buffer = new byte[chunkSize];
+        CRC32C crc = new CRC32C();
+        long total = 0;
+        int seq = 0;
+        int read;
+        while ((read = content.readNBytes(buffer, 0, chunkSize)) > 0) {
+            crc.reset();
+            crc.update(buffer, 0, read);
+            insert(documentId, seq++, buffer, read, crc.getValue());
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Writes bytes {@code start} to {@code start + length - 1} of a document to
+     * {@code out}, fetching only the chunks that overlap the range. Run it in a
+     * transaction, otherwise PostgreSQL ignores the fetch size and reads all of
+     * the selected rows at once.
+     *
+     * @throws IllegalStateException if a chunk is missing or fails its checksum
+     */
+    public void copyRange(Long documentId, int chunkSize, long start, long length, OutputStream out) {
+        if (length <= 0) {
+            return;
+        }
+        long end = start + length;
+        int firstSeq = (int) (start / chunkSize);
+        int lastSeq = (int) ((end - 1) / chunkSize);
+        int[] expectedSeq = {firstSeq};
+        CRC32C crc = new CRC32C();
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_RANGE_SQL);
+            statement.setFetchSize(1);
+            statement.setLong(1, documentId);
+            statement.setInt(2, firstSeq);
+            statement.setInt(3, lastSeq);
+            return statement;
+        }, resultSet -> {
+            int seq = resultSet.getInt("seq");
+            if (seq != expectedSeq[0]) {
+                throw new IllegalStateException("Chunk " + expectedSeq[0] + " of client document "
+                        + documentId + " is missing");
+            }
+            byte[] data = resultSet.getBytes("data");
+            crc.reset();
+            crc.update(data);
+            if (data.length != resultSet.getInt("size") || crc.getValue() != resultSet.getLong("crc32c")) {
+                throw new IllegalStateException("Chunk " + seq + " of client document " + documentId
+                        + " failed its checksum");
+            }
+            long chunkStart = (long) seq * chunkSize;
+            int from = (int) Math.max(0, start - chunkStart);
+            int to = (int) Math.min(data.length, end - chunkStart);
+            try {
+                out.write(data, from, to - from);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            expectedSeq[0]++;
+        });
+
+        if (expectedSeq[0] != lastSeq + 1) {
+            throw new IllegalStateException("Chunk " + expectedSeq[0] + " of client document "
+                    + documentId + " is missing");
+        }
+    }
+
+    public void deleteByDocumentId(Long documentId) {
+        jdbcTemplate.update(DELETE_SQL, documentId);
+    }
+
+    private void insert(Long documentId, int seq, byte[] buffer, int length, long crc32c) {
+        jdbcTemplate.update(INSERT_SQL, statement -> {
+            statement.setLong(1, documentId);
+            statement.setInt(2, seq);
+            statement.setInt(3, length);
+            statement.setLong(4, crc32c);
+            statement.setBinaryStream(5, new ByteArrayInputStream(buffer, 0, length), length);
+        });
+    }
+}
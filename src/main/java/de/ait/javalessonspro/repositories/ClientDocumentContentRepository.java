@@ -0,0 +1,73 @@
+package de.ait.javalessonspro.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Plain JDBC access to {@code client_document_data}, the single-row content of
+ * client documents stored before chunking. New uploads go to
+ * {@link ClientDocumentChunkRepository}; the remaining rows are read from here
+ * until the chunk migration has moved them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClientDocumentContentRepository {
+
+    private static final String SELECT_SQL = "select data from client_document_data where document_id = ?";
+
+    private static final String SELECT_IDS_SQL = """
+            select document_id from client_document_data
+            where document_id > ?
+            order by document_id
+            limit ?
+            """;
+
+    private static final String DELETE_SQL = "delete from client_document_data where document_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @FunctionalInterface
+    public interface ContentReader {
+        void read(InputStream content) throws IOException;
+    }
+
+    /**
+     * Passes the content stream of a document to {@code reader} while the row is still open.
+     *
+     * @return false if the document has no row here
+     */
+    public boolean read(Long documentId, ContentReader reader) {
+        Boolean found = jdbcTemplate.query(SELECT_SQL, (ResultSet resultSet) -> {
+            if (!resultSet.next()) {
+                return false;
+            }
+            try (InputStream content = resultSet.getBinaryStream("data")) {
+                reader.read(content);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return true;
+        }, documentId);
+        return Boolean.TRUE.equals(found);
+    }
+
+    public List<Long> findDocumentIdsAfter(long lastId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_IDS_SQL, Long.class, lastId, limit);
+    }
+
+    public void delete(Long documentId) {
+        jdbcTemplate.update(DELETE_SQL, documentId);
+    }
+}
@@ -1,11 +1,62 @@
 package de.ait.javalessonspro.repositories;
 
+import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.enums.StorageTier;
 import de.ait.javalessonspro.model.ClientDocumentDb;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ClientDocumentDbRepository extends JpaRepository<ClientDocumentDb, Long> {
 
-    List<ClientDocumentDb> findAllByClientEmail(String clientEmail);
+    /**
+     * Metadata columns only, for document lists.
+     */
+    interface DocumentSummary {
+        Long getId();
+
+        String getClientEmail();
+
+        ClientDocumentType getDocType();
+
+        String getContentType();
+
+        Long getSize();
+
+        String getOriginalFileName();
+    }
+
+    List<DocumentSummary> findSummariesByClientEmailOrderByIdAsc(String clientEmail);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from ClientDocumentDb d where d.id = :id")
+    Optional<ClientDocumentDb> findForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("update ClientDocumentDb d set d.accessCount = d.accessCount + :count, d.lastAccessedAt = :lastAccessedAt " +
+            "where d.id = :id")
+    int recordAccesses(@Param("id") Long id,
+                       @Param("count") long count,
+                       @Param("lastAccessedAt") LocalDateTime lastAccessedAt);
+
+    List<ClientDocumentDb> findByStorageTierAndLastAccessedAtBeforeOrderByLastAccessedAtAsc(
+            StorageTier storageTier, LocalDateTime before, Pageable pageable);
+
+    List<ClientDocumentDb> findByStorageTierAndAccessCountGreaterThanEqualAndLastAccessedAtAfterOrderByAccessCountDesc(
+            StorageTier storageTier, long minAccessCount, LocalDateTime after, Pageable pageable);
+
+    @Modifying
+    @Query("update ClientDocumentDb d set d.storagePath = :newPath " +
+            "where d.checksumSha256 = :sha256 and d.storagePath = :oldPath")
+    int updateStoragePath(@Param("sha256") String sha256,
+                          @Param("oldPath") String oldPath,
+                          @Param("newPath") String newPath);
 }
@@ -0,0 +1,29 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.model.DocumentBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from DocumentBlob b where b.sha256 = :sha256")
+    Optional<DocumentBlob> findForUpdate(@Param("sha256") String sha256);
+
+    Optional<DocumentBlob> findFirstByPrefixSha256(String prefixSha256);
+
+    List<DocumentBlob> findTop100BySha256GreaterThanOrderBySha256Asc(String sha256);
+}
@@ -0,0 +1,60 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.enums.EmailStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Bulk insert of campaign recipients. Identity ids keep Hibernate from
+ * batching inserts, and a campaign can have tens of thousands of recipients.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmailCampaignRecipientJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            insert into email_campaign_recipients
+                (campaign_id, email, client_name, domain, status, attempts, next_attempt_at)
+            values (?, ?, ?, ?, ?, 0, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A recipient; a suppressed one is stored as {@code SUPPRESSED} and never sent to.
+     */
+    public record NewRecipient(String email, String clientName, boolean suppressed) {
+
+        public String domain() {
+            return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Inserts all recipients as due now; must run in the transaction that inserted the campaign.
+     */
+    public void insertAll(Long campaignId, List<NewRecipient> recipients) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, recipients, BATCH_SIZE, (statement, recipient) -> {
+            statement.setLong(1, campaignId);
+            statement.setString(2, recipient.email());
+            statement.setString(3, recipient.clientName());
+            statement.setString(4, recipient.domain());
+            statement.setString(5, (recipient.suppressed() ? EmailStatus.SUPPRESSED : EmailStatus.PENDING).name());
+            statement.setTimestamp(6, now);
+        });
+    }
+}
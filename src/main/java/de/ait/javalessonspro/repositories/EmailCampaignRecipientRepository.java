@@ -0,0 +1,73 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailCampaignRecipient;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface EmailCampaignRecipientRepository extends JpaRepository<EmailCampaignRecipient, Long> {
+
+    interface StatusCount {
+        EmailStatus getStatus();
+
+        long getCount();
+    }
+
+    /**
+     * Locks due recipients of all campaigns, skipping rows another dispatcher has locked
+     * (lock timeout -2 is Hibernate's SKIP_LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select r from EmailCampaignRecipient r " +
+            "where r.status in :statuses and r.nextAttemptAt <= :now order by r.id")
+    List<EmailCampaignRecipient> findDueForUpdate(@Param("statuses") Collection<EmailStatus> statuses,
+                                                  @Param("now") LocalDateTime now,
+                                                  Pageable pageable);
+
+    @Query("select r.status as status, count(r) as count from EmailCampaignRecipient r " +
+            "where r.campaignId = :campaignId group by r.status")
+    List<StatusCount> countByStatus(@Param("campaignId") Long campaignId);
+
+    long countByCampaignIdAndStatusAndSentAtAfter(Long campaignId, EmailStatus status, LocalDateTime after);
+
+    long countAllByStatus(EmailStatus status);
+
+    boolean existsByCampaignIdAndStatusIn(Long campaignId, Collection<EmailStatus> statuses);
+
+    /**
+     * Records the outcome of a send, but only while the recipient is still claimed with
+     * {@code lease}; once another dispatcher has claimed it again nothing is changed.
+     *
+     * @return 0 if the claim was lost
+     */
+    @Modifying
+    @Query("update EmailCampaignRecipient r set r.status = :status, r.nextAttemptAt = :nextAttemptAt, " +
+            "r.sentAt = :sentAt, r.lastError = :lastError " +
+            "where r.id = :id and r.status = de.ait.javalessonspro.enums.EmailStatus.SENDING " +
+            "and r.nextAttemptAt = :lease")
+    int recordOutcome(@Param("id") Long id,
+                      @Param("lease") LocalDateTime lease,
+                      @Param("status") EmailStatus status,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("lastError") String lastError);
+}
@@ -0,0 +1,14 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.model.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, Long> {
+}
@@ -0,0 +1,59 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Locks due messages, skipping rows another dispatcher has locked
+     * ({@code SELECT ... FOR UPDATE SKIP LOCKED} on PostgreSQL; lock timeout -2 is Hibernate's SKIP_LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from EmailOutboxMessage m " +
+            "where m.status in :statuses and m.nextAttemptAt <= :now order by m.id")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("statuses") Collection<EmailStatus> statuses,
+                                              @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    /**
+     * Records the outcome of a send, but only while the message is still claimed with
+     * {@code lease}; once another dispatcher has claimed it again nothing is changed.
+     *
+     * @return 0 if the claim was lost
+     */
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = :status, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.sentAt = :sentAt, m.lastError = :lastError " +
+            "where m.id = :id and m.status = de.ait.javalessonspro.enums.EmailStatus.SENDING " +
+            "and m.nextAttemptAt = :lease")
+    int recordOutcome(@Param("id") Long id,
+                      @Param("lease") LocalDateTime lease,
+                      @Param("status") EmailStatus status,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("sentAt") LocalDateTime sentAt,
+                      @Param("lastError") String lastError);
+
+    long countByStatus(EmailStatus status);
+}
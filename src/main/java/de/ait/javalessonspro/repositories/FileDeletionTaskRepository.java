@@ -0,0 +1,19 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.model.FileDeletionTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface FileDeletionTaskRepository extends JpaRepository<FileDeletionTask, Long> {
+
+    List<FileDeletionTask> findTop100ByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime now);
+}
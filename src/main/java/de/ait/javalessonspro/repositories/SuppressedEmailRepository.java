@@ -0,0 +1,33 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.model.SuppressedEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+public interface SuppressedEmailRepository extends JpaRepository<SuppressedEmail, Long> {
+
+    interface SuppressedAddress {
+        Long getId();
+
+        String getEmail();
+    }
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Suppressed addresses in id order, for loading the suppression filter page by page.
+     */
+    @Query("select s.id as id, s.email as email from SuppressedEmail s where s.id > :afterId order by s.id")
+    List<SuppressedAddress> findAddressesAfter(@Param("afterId") long afterId, Pageable pageable);
+}
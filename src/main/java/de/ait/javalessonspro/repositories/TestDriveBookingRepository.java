@@ -1,9 +1,19 @@
 package de.ait.javalessonspro.repositories;
 
+import de.ait.javalessonspro.enums.BookingStatus;
 import de.ait.javalessonspro.model.TestDriveBooking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,4 +37,52 @@ public interface TestDriveBookingRepository extends JpaRepository<TestDriveBooki
 
     long countByCarIdAndTestDriveDateTimeBetween(
             Long carId, LocalDateTime start, LocalDateTime end);
+
+    interface BookedSlot {
+        Long getId();
+
+        Long getCarId();
+
+        LocalDateTime getTestDriveDateTime();
+    }
+
+    @Query("select b.id as id, b.carId as carId, b.testDriveDateTime as testDriveDateTime " +
+            "from TestDriveBooking b where b.testDriveDateTime > :from and b.status <> :excluded")
+    List<BookedSlot> findBookedSlotsAfter(@Param("from") LocalDateTime from,
+                                          @Param("excluded") BookingStatus excluded);
+
+    /**
+     * Whether another booking of the car, not in status {@code excluded},
+     * starts strictly between {@code from} and {@code to}.
+     */
+    @Query("select count(b) > 0 from TestDriveBooking b " +
+            "where b.carId = :carId and b.id <> :id and b.status <> :excluded " +
+            "and b.testDriveDateTime > :from and b.testDriveDateTime < :to")
+    boolean existsOtherBookingBetween(@Param("carId") Long carId,
+                                      @Param("id") Long id,
+                                      @Param("excluded") BookingStatus excluded,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    /**
+     * Locks bookings that need a reminder and that no node holds a lease on,
+     * skipping rows locked by another node. The range on the test drive time
+     * is served by {@code idx_test_drive_date_time}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select b from TestDriveBooking b " +
+            "where b.testDriveDateTime > :from and b.testDriveDateTime <= :to " +
+            "and b.status = :status and (b.reminderSent = false or b.reminderSent is null) " +
+            "and (b.reminderLeaseUntil is null or b.reminderLeaseUntil < :now) " +
+            "order by b.testDriveDateTime")
+    List<TestDriveBooking> findReminderCandidatesForUpdate(@Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("now") LocalDateTime now,
+                                                           Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from TestDriveBooking b where b.id in :ids")
+    List<TestDriveBooking> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
 }
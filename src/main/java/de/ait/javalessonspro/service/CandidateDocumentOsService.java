@@ -3,23 +3,23 @@ package de.ait.javalessonspro.service;
 import de.ait.javalessonspro.enums.CandidateDocType;
 import de.ait.javalessonspro.model.CandidateDocumentOs;
 import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import de.ait.javalessonspro.service.storage.DocumentBlobStore;
+import de.ait.javalessonspro.service.storage.FileDeletionQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 /**
  * ----------------------------------------------------------------------------
@@ -35,26 +35,20 @@ public class CandidateDocumentOsService {
 
     private final CandidateDocumentOsRepository repository;
 
-    @Value("${app.upload.candidate-docs-dir}")
-    private String candidateDocsDir;
+    private final DocumentBlobStore blobStore;
 
-    @Value("${app.upload.candidate-doc-max-size}")
-    private int maxFileSizeMb;
+    private final CandidateDocumentQuota quota;
 
-    @Value("${app.upload.candidate-doc-max-count}")
-    private int maxDocumentsPerCandidate;
+    private final FileDeletionQueue deletionQueue;
 
-    private String normalizeEmailForPath(String email) {
-        return email.replace("@", "_at_").replace(".", "_dot_");
-    }
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.candidate-doc-max-size}")
+    private int maxFileSizeMb;
 
     private static final Set<String> ALLOWED_TYPES =
             Set.of("image/jpeg", "image/png", "application/pdf");
 
-    private Path getCandidateDocsRoot() {
-        return Paths.get(candidateDocsDir).toAbsolutePath().normalize();
-    }
-
 
     public CandidateDocumentOs uploadCandidateDocument(String candidateEmail, CandidateDocType docType, MultipartFile file) {
 
@@ -86,69 +80,100 @@ public class CandidateDocumentOsService {
             throw new IllegalArgumentException(errorMessage);
         }
 
-        long existingDocsCount =
-                repository.countByCandidateEmail(candidateEmail);
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeCandidateDocument(candidateEmail, docType, file.getOriginalFilename(),
+                    file.getContentType(), file.getSize(), inputStream);
+        } catch (IOException exception) {
+            log.error("Error reading uploaded file {}", file.getOriginalFilename(), exception);
+            throw new RuntimeException("Error reading uploaded file", exception);
+        }
+    }
 
-        if (existingDocsCount >= maxDocumentsPerCandidate) {
-            log.warn(
-                    "Upload rejected. Candidate {} already has {} documents (limit = {})",
-                    candidateEmail,
-                    existingDocsCount,
-                    maxDocumentsPerCandidate
-            );
-
-            throw new IllegalStateException(
-                    "Maximum number of documents (" +
-                            maxDocumentsPerCandidate +
-                            ") exceeded for candidate"
-            );
+    /**
+     * Streaming variant used by the streaming upload endpoint. Type and count are
+     * checked before the first byte is written, the size limit while writing.
+     */
+    public CandidateDocumentOs uploadCandidateDocument(String candidateEmail, CandidateDocType docType,
+                                                       String originalFilename, String contentType,
+                                                       InputStream content) {
+
+        List<String> errors = new ArrayList<>();
+        if (candidateEmail == null || candidateEmail.isBlank()) {
+            errors.add("Email is required");
+        } else if (!candidateEmail.contains("@")) {
+            errors.add("Invalid email format");
+        }
+
+        if (docType == null) {
+            errors.add("Document type is required");
+        }
+
+        if (contentType == null || !ALLOWED_TYPES.contains(contentType)) {
+            errors.add("File type not allowed. Allowed: PDF, JPEG, PNG");
+        }
+
+        if (!errors.isEmpty()) {
+            String errorMessage = String.join(", ", errors);
+            log.warn("Upload rejected. Email: {}, File: {}, Reasons: {}",
+                    candidateEmail, originalFilename, errorMessage);
+            throw new IllegalArgumentException(errorMessage);
         }
 
-        String originalFilename = file.getOriginalFilename();
+        return storeCandidateDocument(candidateEmail, docType, originalFilename, contentType, 0, content);
+    }
+
+    /**
+     * @param expectedSize size announced by the client, 0 if unknown; the quota is
+     *                     checked against it up front and against the real size before saving
+     */
+    private CandidateDocumentOs storeCandidateDocument(String candidateEmail, CandidateDocType docType,
+                                                       String originalFilename, String contentType,
+                                                       long expectedSize, InputStream content) {
+
         if (originalFilename == null || originalFilename.isBlank() || originalFilename.contains("..")) {
             log.warn("Rejected candidate upload: email={}, docType={}, filename={}, reason={}",
                     candidateEmail, docType, originalFilename, "Filename is invalid");
             throw new IllegalArgumentException("Filename is invalid (null, empty, or contains '..')");
         }
 
+        // taken before the first byte is written, so parallel uploads cannot overrun the limit
+        CandidateDocumentQuota.Reservation reservation = quota.reserve(candidateEmail, expectedSize);
         try {
-            Path baseDir = Paths.get(candidateDocsDir);
-            String normalizedEmail = normalizeEmailForPath(candidateEmail);
-            Path targetDir = baseDir.resolve(normalizedEmail.toLowerCase()).resolve(docType.toString().toLowerCase());
-
-            Files.createDirectories(targetDir);
-            log.debug("Ensured directory exists: {}", targetDir);
-
-            String safeFilename = originalFilename
-                    .replaceAll("[^a-zA-Z0-9._-]", "_");
-
-            String storedFilename = UUID.randomUUID() + "_" + safeFilename.toLowerCase();
-            Path filePath = targetDir.resolve(storedFilename);
-
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+            DocumentBlobStore.BlobUpload upload = blobStore.upload(
+                    content, (long) maxFileSizeMb * 1024 * 1024, ALLOWED_TYPES);
+            String detectedType = upload.result().detectedContentType();
+            if (!detectedType.equals(contentType)) {
+                log.warn("Declared type {} differs from detected type {} for {}",
+                        contentType, detectedType, originalFilename);
             }
 
-            CandidateDocumentOs documentOs = new CandidateDocumentOs(
-                    candidateEmail,
-                    docType,
-                    file.getContentType(),
-                    originalFilename,
-                    file.getSize(),
-                    filePath.toString(),
-                    storedFilename
-            );
-            CandidateDocumentOs savedDoc = repository.save(documentOs);
-            log.info("Candidate document with id {} saved for candidate {}", savedDoc.getId(), candidateEmail);
+            CandidateDocumentOs savedDoc = blobStore.attach(upload, docType, blob -> {
+                reservation.resize(blob.getSize());
+                CandidateDocumentOs documentOs = new CandidateDocumentOs(
+                        candidateEmail,
+                        docType,
+                        contentType,
+                        originalFilename,
+                        blob.getSize(),
+                        blob.getStoragePath(),
+                        blob.getSha256()
+                );
+                documentOs.setChecksumSha256(blob.getSha256());
+                documentOs.setDetectedContentType(detectedType);
+                return repository.save(documentOs);
+            });
+            reservation.commit();
+            log.info("Candidate document with id {} saved for candidate {} (duplicate: {})",
+                    savedDoc.getId(), candidateEmail, upload.isDuplicate());
 
             return savedDoc;
 
         } catch (IOException exception) {
-            log.error("Error creating directory {}", candidateDocsDir, exception);
-            throw new RuntimeException("Error creating directory " + candidateDocsDir, exception);
-        } catch (NullPointerException exception) {
-            log.error("Error to LowerCase {}", candidateDocsDir, exception);
-            throw new RuntimeException("Error creating directory " + candidateDocsDir, exception);
+            log.error("Error storing candidate document {} in {}", originalFilename, blobStore.getRoot(), exception);
+            throw new RuntimeException("Error storing candidate document " + originalFilename, exception);
+        } finally {
+            // no-op once committed
+            reservation.release();
         }
     }
 
@@ -162,40 +187,43 @@ public class CandidateDocumentOsService {
                         new IllegalArgumentException("Document not found. ID=" + id));
     }
 
-    @Transactional
-    protected void deleteDocuments(List<CandidateDocumentOs> documents) {
+    public BlobSlice getDocumentContent(CandidateDocumentOs document) {
+        return blobStore.locate(document.getChecksumSha256(), document.getStoragePath());
+    }
+
+    /**
+     * Deletes the rows in one statement and, in the same transaction, releases the
+     * blobs and queues files of pre-blob-store documents. No file is touched while
+     * the transaction is open; the files go after commit or in the deletion worker.
+     */
+    private void deleteDocuments(List<CandidateDocumentOs> documents) {
 
         if (documents == null || documents.isEmpty()) {
             throw new IllegalArgumentException("No documents to delete");
         }
 
-        for (CandidateDocumentOs document : documents) {
-            Path filePath = Paths.get(document.getStoragePath());
-            try {
-                Files.deleteIfExists(filePath);
-                log.debug("Deleted file: {}", filePath);
-            } catch (IOException e) {
-                log.error("Failed to delete file {}", filePath, e);
-                throw new RuntimeException("Failed to delete file " + filePath, e);
-            }
-        }
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.deleteAllInBatch(documents);
 
-        // 2. Delete DB records
-        repository.deleteAll(documents);
+            List<Path> legacyFiles = new ArrayList<>();
+            for (CandidateDocumentOs document : documents) {
+                if (blobStore.isBlobPath(document.getStoragePath())) {
+                    blobStore.release(document.getChecksumSha256());
+                } else {
+                    legacyFiles.add(Paths.get(document.getStoragePath()));
+                }
+            }
+            deletionQueue.enqueue(legacyFiles);
+        });
         log.info("Deleted {} document(s) from DB", documents.size());
+
+        for (CandidateDocumentOs document : documents) {
+            quota.documentsDeleted(document.getCandidateEmail(), 1, document.getSize());
+        }
     }
 
     public void deleteDocument(Long id) {
-        CandidateDocumentOs document = getDocumentById(id);
-
-        deleteDocuments(List.of(document));
-
-        Path documentDir = Paths.get(document.getStoragePath()).getParent();
-        try {
-            cleanupEmptyDirectories(documentDir);
-        } catch (IOException e) {
-            log.warn("Directory cleanup failed for {}", documentDir, e);
-        }
+        deleteDocuments(List.of(getDocumentById(id)));
     }
 
     public void deleteAllDocumentsByCandidateEmail(String candidateEmail) {
@@ -209,36 +237,5 @@ public class CandidateDocumentOsService {
         }
 
         deleteDocuments(documents);
-
-        Path candidateDir = Paths.get(documents.get(0).getStoragePath()).getParent();
-        try {
-            cleanupEmptyDirectories(candidateDir);
-        } catch (IOException e) {
-            log.warn("Directory cleanup failed for candidate {}", candidateEmail, e);
-        }
-    }
-
-    private void cleanupEmptyDirectories(Path startDir) throws IOException {
-
-        Path rootDir = getCandidateDocsRoot();
-        Path current = startDir.toAbsolutePath().normalize();
-
-        while (current != null && !current.equals(rootDir)) {
-
-            if (!Files.exists(current) || !Files.isDirectory(current)) {
-                return;
-            }
-
-            try (var stream = Files.list(current)) {
-                if (stream.findAny().isPresent()) {
-                    return;
-                }
-            }
-
-            Files.delete(current);
-            log.debug("Deleted empty directory: {}", current);
-
-            current = current.getParent();
-        }
     }
 }
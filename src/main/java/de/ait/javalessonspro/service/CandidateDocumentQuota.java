@@ -0,0 +1,265 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Per-candidate document quota (count and total bytes) kept in memory.
+ * <p>
+ * An upload reserves a slot before its file is written; the reservation is
+ * taken with a compare-and-set on the candidate's counters, so two parallel
+ * uploads can never both take the last slot. The reservation becomes part of
+ * the stored usage on {@link Reservation#commit()} and is returned on
+ * {@link Reservation#release()}.
+ * <p>
+ * Stored usage is loaded from the database on first use and reconciled
+ * periodically with one grouped query per batch of cached candidates. Every
+ * change bumps a version, and a reconcile only applies its database snapshot if
+ * the version did not move while it was querying, so a concurrent commit is
+ * never overwritten by stale numbers. Candidates with uploads in progress are
+ * left out: their document row may already be committed while it still counts
+ * as pending here.
+ * <p>
+ * Counters of candidates without uploads for {@code candidate-quota-idle-ms} are
+ * dropped on reconcile and loaded again on the next upload.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateDocumentQuota {
+
+    private final CandidateDocumentOsRepository repository;
+
+    @Value("${app.upload.candidate-doc-max-count}")
+    private int maxDocuments;
+
+    @Value("${app.upload.candidate-doc-max-total-size:50}")
+    private long maxTotalSizeMb;
+
+    @Value("${app.upload.candidate-quota-idle-ms:3600000}")
+    private long idleMs;
+
+    private static final int RECONCILE_BATCH = 500;
+
+    // replaces the usage of a dropped candidate, so that an update racing with the drop reloads it
+    private static final Usage EVICTED = new Usage(0, 0, 0, 0, -1, 0);
+
+    private final Map<String, AtomicReference<Usage>> usages = new ConcurrentHashMap<>();
+
+    /**
+     * Stored documents plus uploads that hold a reservation.
+     */
+    record Usage(int count, long bytes, int pendingCount, long pendingBytes, long version, long usedAt) {
+
+        Usage withPending(int countDelta, long bytesDelta) {
+            return new Usage(count, bytes, pendingCount + countDelta, pendingBytes + bytesDelta, version + 1,
+                    System.nanoTime());
+        }
+
+        Usage withStored(int countDelta, long bytesDelta) {
+            return new Usage(count + countDelta, bytes + bytesDelta, pendingCount, pendingBytes, version + 1,
+                    usedAt);
+        }
+    }
+
+    public final class Reservation {
+
+        private final String candidateEmail;
+        private long bytes;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Reservation(String candidateEmail, long bytes) {
+            this.candidateEmail = candidateEmail;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Sets the reserved size to the actual size once the upload is known,
+         * failing if that exceeds the candidate's byte quota.
+         */
+        public void resize(long actualBytes) {
+            long delta = actualBytes - bytes;
+            update(candidateEmail, usage -> {
+                if (delta > 0 && usage.bytes() + usage.pendingBytes() + delta > maxTotalBytes()) {
+                    throw new IllegalStateException("Storage quota of " + maxTotalSizeMb
+                            + " MB exceeded for candidate");
+                }
+                return usage.withPending(0, delta);
+            });
+            bytes = actualBytes;
+        }
+
+        /**
+         * The document was saved: its slot moves from pending to stored.
+         */
+        public void commit() {
+            if (done.compareAndSet(false, true)) {
+                update(candidateEmail, usage -> usage.withPending(-1, -bytes).withStored(1, bytes));
+            }
+        }
+
+        /**
+         * The upload failed: the slot is given back. Does nothing after {@link #commit()}.
+         */
+        public void release() {
+            if (done.compareAndSet(false, true)) {
+                update(candidateEmail, usage -> usage.withPending(-1, -bytes));
+            }
+        }
+    }
+
+    /**
+     * Reserves a document slot of {@code bytes} (0 if still unknown) for the candidate.
+     *
+     * @throws IllegalStateException if the candidate has no free slot or bytes left
+     */
+    public Reservation reserve(String candidateEmail, long bytes) {
+        update(candidateEmail, usage -> {
+            if (usage.count() + usage.pendingCount() >= maxDocuments) {
+                log.warn("Upload rejected. Candidate {} already has {} document(s) and {} upload(s) in progress "
+                        + "(limit = {})", candidateEmail, usage.count(), usage.pendingCount(), maxDocuments);
+                throw new IllegalStateException("Maximum number of documents (" + maxDocuments
+                        + ") exceeded for candidate");
+            }
+            if (usage.bytes() + usage.pendingBytes() + bytes > maxTotalBytes()) {
+                throw new IllegalStateException("Storage quota of " + maxTotalSizeMb
+                        + " MB exceeded for candidate");
+            }
+            return usage.withPending(1, bytes);
+        });
+        return new Reservation(candidateEmail, bytes);
+    }
+
+    /**
+     * Gives back the quota of deleted documents.
+     */
+    public void documentsDeleted(String candidateEmail, int count, long bytes) {
+        AtomicReference<Usage> reference = usages.get(candidateEmail);
+        if (reference == null) {
+            return;
+        }
+        while (true) {
+            Usage current = reference.get();
+            // a dropped candidate is reloaded from the database, which no longer has the documents
+            if (current == EVICTED || reference.compareAndSet(current, current.withStored(-count, -bytes))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-reads the stored usage of the cached candidates, correcting drift from
+     * deletes outside this service or failed transactions, and drops the
+     * counters of idle candidates.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.candidate-quota-reconcile-ms:300000}",
+            initialDelayString = "${app.upload.candidate-quota-reconcile-ms:300000}")
+    public void reconcile() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        Map<String, Usage> snapshot = new HashMap<>();
+        for (Map.Entry<String, AtomicReference<Usage>> entry : usages.entrySet()) {
+            AtomicReference<Usage> reference = entry.getValue();
+            Usage usage = reference.get();
+            if (usage == EVICTED || usage.pendingCount() > 0) {
+                continue;
+            }
+            if (now - usage.usedAt() >= TimeUnit.MILLISECONDS.toNanos(idleMs)) {
+                if (reference.compareAndSet(usage, EVICTED)) {
+                    usages.remove(entry.getKey(), reference);
+                    evicted++;
+                }
+                continue;
+            }
+            snapshot.put(entry.getKey(), usage);
+        }
+
+        int corrected = 0;
+        List<String> emails = new ArrayList<>(snapshot.keySet());
+        for (int from = 0; from < emails.size(); from += RECONCILE_BATCH) {
+            List<String> batch = emails.subList(from, Math.min(emails.size(), from + RECONCILE_BATCH));
+            Map<String, CandidateDocumentOsRepository.DocumentUsage> stored = new HashMap<>();
+            for (CandidateDocumentOsRepository.CandidateUsage usage : repository.sumUsageByCandidateEmails(batch)) {
+                stored.put(usage.getCandidateEmail(), usage);
+            }
+            for (String email : batch) {
+                if (reconcile(email, snapshot.get(email), stored.get(email))) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0 || evicted > 0) {
+            log.info("Candidate quota reconcile corrected {} and dropped {} of {} cached candidate(s)",
+                    corrected, evicted, snapshot.size() + evicted);
+        }
+    }
+
+    private boolean reconcile(String email, Usage before, CandidateDocumentOsRepository.DocumentUsage stored) {
+        AtomicReference<Usage> reference = usages.get(email);
+        if (reference == null) {
+            return false;
+        }
+        Usage current = reference.get();
+        if (current.version() != before.version()) {
+            return false;
+        }
+        long count = stored != null ? stored.getCount() : 0;
+        long bytes = stored != null ? stored.getTotalSize() : 0;
+        if (current.count() == count && current.bytes() == bytes) {
+            return false;
+        }
+        Usage fresh = new Usage((int) count, bytes, 0, 0, current.version() + 1, current.usedAt());
+        if (!reference.compareAndSet(current, fresh)) {
+            return false;
+        }
+        log.info("Quota of candidate {} corrected from {} document(s) / {} bytes to {} / {}",
+                email, current.count(), current.bytes(), fresh.count(), fresh.bytes());
+        return true;
+    }
+
+    private void update(String candidateEmail, UnaryOperator<Usage> change) {
+        while (true) {
+            AtomicReference<Usage> reference = usages.get(candidateEmail);
+            if (reference == null) {
+                CandidateDocumentOsRepository.DocumentUsage stored =
+                        repository.sumUsageByCandidateEmail(candidateEmail);
+                AtomicReference<Usage> loaded = new AtomicReference<>(
+                        new Usage((int) stored.getCount(), stored.getTotalSize(), 0, 0, 0, System.nanoTime()));
+                AtomicReference<Usage> existing = usages.putIfAbsent(candidateEmail, loaded);
+                reference = existing != null ? existing : loaded;
+            }
+            Usage current = reference.get();
+            if (current == EVICTED) {
+                // dropped by reconcile in the meantime, load it again
+                usages.remove(candidateEmail, reference);
+                continue;
+            }
+            if (reference.compareAndSet(current, change.apply(current))) {
+                return;
+            }
+        }
+    }
+
+    private long maxTotalBytes() {
+        return maxTotalSizeMb * 1024 * 1024;
+    }
+}
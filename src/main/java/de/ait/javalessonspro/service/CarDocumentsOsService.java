@@ -1,23 +1,38 @@
 package de.ait.javalessonspro.service;
 
+import de.ait.javalessonspro.dto.DocumentUploadResult;
 import de.ait.javalessonspro.enums.CarDocumentType;
+import de.ait.javalessonspro.enums.RenditionSize;
 import de.ait.javalessonspro.model.Car;
 import de.ait.javalessonspro.model.CarDocumentOs;
+import de.ait.javalessonspro.model.DocumentBlob;
 import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
 import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import de.ait.javalessonspro.service.storage.DocumentBlobStore;
+import de.ait.javalessonspro.service.storage.FileDeletionQueue;
+import de.ait.javalessonspro.service.storage.RenditionService;
+import de.ait.javalessonspro.service.storage.StorageIoExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -28,16 +43,25 @@ public class CarDocumentsOsService {
 
     private final CarDocumentOsRepository carDocumentOsRepository;
 
-    @Value("${app.upload.car-docs-dir}")
-    private String carDocsDir;
+    private final DocumentBlobStore blobStore;
+
+    private final RenditionService renditionService;
+
+    private final StorageIoExecutor ioExecutor;
+
+    private final FileDeletionQueue deletionQueue;
+
+    private final TransactionTemplate transactionTemplate;
 
 //    @Value("${spring.servlet.multipart.max-file-size}")
 //    private final int getMaxFileSize;
 
     private static final int MAX_FILE_SIZE = 15  * 1024 * 1024; // 15 MB
 
-    private final List<String> ALLOWED_TYPES =
-            List.of("image/jpeg", "image/png", "image/webp", "application/pdf");
+    private static final int MAX_BATCH_SIZE = 50;
+
+    private static final Set<String> ALLOWED_TYPES =
+            Set.of("image/jpeg", "image/png", "image/webp", "application/pdf");
 
     public CarDocumentOs uploadCarDocument(Long carId, CarDocumentType doctype,
                                            MultipartFile file) {
@@ -60,47 +84,189 @@ public class CarDocumentsOsService {
         }
 
 
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeCarDocument(carId, doctype, file.getOriginalFilename(), file.getContentType(), inputStream);
+        } catch (IOException exception) {
+            log.error("Error reading uploaded file {}", file.getOriginalFilename(), exception);
+            throw new RuntimeException("Error reading uploaded file", exception);
+        }
+    }
+
+    /**
+     * Streaming variant: the content is piped straight from the request body into
+     * the target file, the size limit is enforced while the bytes arrive.
+     */
+    public CarDocumentOs uploadCarDocument(Long carId, CarDocumentType doctype, String originalFilename,
+                                           String contentType, InputStream content) {
+
+        if (doctype == null) {
+            log.error("Document type is missing");
+            throw new IllegalArgumentException("Document type is required");
+        }
+
+        if (!ALLOWED_TYPES.contains(contentType)) {
+            log.error("Unsupported file type: {}", contentType);
+            throw new IllegalArgumentException(
+                    "Only JPG, PNG, and PDF files are allowed");
+        }
+
+        return storeCarDocument(carId, doctype, originalFilename, contentType, content);
+    }
+
+    private CarDocumentOs storeCarDocument(Long carId, CarDocumentType doctype, String originalFilename,
+                                           String contentType, InputStream content) {
+
         Car car = carRepository.findById(carId)
                 .orElseThrow(() -> new IllegalArgumentException("Car with id " + carId + " not found"));
 
+        String filename = originalFilename == null || originalFilename.isBlank() ? "unnamed" : originalFilename;
+
         try {
+            DocumentBlobStore.BlobUpload upload = blobStore.upload(content, MAX_FILE_SIZE, ALLOWED_TYPES);
+            String detectedType = upload.result().detectedContentType();
+            if (!detectedType.equals(contentType)) {
+                log.warn("Declared type {} differs from detected type {} for {}",
+                        contentType, detectedType, filename);
+            }
+
+            CarDocumentOs savedDoc = blobStore.attach(upload, doctype,
+                    blob -> saveDocument(car, doctype, filename, contentType, upload, blob));
+            log.info("Car document with id {} saved (blob {}, duplicate: {})",
+                    savedDoc.getId(), upload.sha256(), upload.isDuplicate());
+            scheduleRenditions(savedDoc);
+            return savedDoc;
+
+        } catch (IOException exception) {
+            log.error("Error storing car document {} in {}", filename, blobStore.getRoot(), exception);
+            throw new RuntimeException("Error storing car document " + filename, exception);
+        }
+    }
 
-            Path baseDir = Paths.get(carDocsDir);
-            Files.createDirectories(baseDir);
+    /**
+     * Batch upload: the car is looked up once, the files are hashed and written in
+     * parallel on the storage I/O pool, and all metadata rows are inserted in one
+     * transaction. If that transaction fails, each file is retried on its own so that
+     * only the offending files are reported as failed and their blobs cleaned up.
+     */
+    public List<DocumentUploadResult> uploadCarDocuments(Long carId, CarDocumentType doctype,
+                                                         List<MultipartFile> files) {
+        if (doctype == null) {
+            log.error("Document type is missing");
+            throw new IllegalArgumentException("Document type is required");
+        }
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("No files to upload");
+        }
+        if (files.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Not more than " + MAX_BATCH_SIZE + " files per batch are allowed");
+        }
 
-            Path carDir = baseDir.resolve("car-" + carId);
-            Path typeDir = carDir.resolve(doctype.toString());
-            Files.createDirectories(typeDir);
+        Car car = carRepository.findById(carId)
+                .orElseThrow(() -> new IllegalArgumentException("Car with id " + carId + " not found"));
 
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null || originalFilename.isBlank()) {
-                originalFilename = "unnamed";
+        DocumentUploadResult[] results = new DocumentUploadResult[files.size()];
+        Map<Integer, CompletableFuture<DocumentBlobStore.BlobUpload>> writes = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            String error = checkBatchFile(file);
+            if (error != null) {
+                results[i] = DocumentUploadResult.failed(file.getOriginalFilename(), error);
+                continue;
             }
+            writes.put(i, CompletableFuture.supplyAsync(() -> writeBlob(file), ioExecutor));
+        }
 
-            String storedFilename = UUID.randomUUID() + "_" + originalFilename.toLowerCase();
+        Map<DocumentBlobStore.BlobUpload, Integer> uploads = new IdentityHashMap<>();
+        writes.forEach((index, write) -> {
+            try {
+                uploads.put(write.join(), index);
+            } catch (CompletionException exception) {
+                Throwable cause = exception.getCause();
+                log.warn("Batch upload of {} failed: {}", files.get(index).getOriginalFilename(), cause.getMessage());
+                results[index] = DocumentUploadResult.failed(files.get(index).getOriginalFilename(),
+                        cause instanceof IllegalArgumentException ? cause.getMessage() : "Error storing file");
+            }
+        });
 
-            Path targetPath = typeDir.resolve(storedFilename);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+        List<DocumentBlobStore.BlobUpload> pending = new ArrayList<>(uploads.keySet());
+        List<CarDocumentOs> saved = new ArrayList<>();
+        try {
+            if (!pending.isEmpty()) {
+                saved.addAll(blobStore.attachAll(pending, doctype, (upload, blob) -> {
+                    MultipartFile file = files.get(uploads.get(upload));
+                    return saveDocument(car, doctype, file.getOriginalFilename(), file.getContentType(), upload, blob);
+                }));
+            }
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch insert for car {} failed, saving {} document(s) one by one: {}",
+                    carId, pending.size(), batchFailure.getMessage());
+            pending.clear();
+            for (DocumentBlobStore.BlobUpload upload : uploads.keySet()) {
+                MultipartFile file = files.get(uploads.get(upload));
+                try {
+                    saved.add(blobStore.attach(upload, doctype, blob -> saveDocument(car, doctype,
+                            file.getOriginalFilename(), file.getContentType(), upload, blob)));
+                    pending.add(upload);
+                } catch (RuntimeException exception) {
+                    log.error("Failed to save metadata of {} for car {}", file.getOriginalFilename(), carId, exception);
+                    results[uploads.get(upload)] = DocumentUploadResult.failed(file.getOriginalFilename(),
+                            "Failed to save document metadata");
+                }
+            }
+        }
 
-            CarDocumentOs doc = new CarDocumentOs(
-                    car,
-                    targetPath.toString(),
-                    file.getSize(),
-                    file.getContentType(),
-                    storedFilename,
-                    originalFilename,
-                    doctype);
+        for (int i = 0; i < saved.size(); i++) {
+            CarDocumentOs doc = saved.get(i);
+            results[uploads.get(pending.get(i))] = DocumentUploadResult.created(doc.getOriginalFileName(), doc.getId());
+            scheduleRenditions(doc);
+        }
+        log.info("Batch upload for car {}: {} of {} file(s) saved", carId, saved.size(), files.size());
+        return Arrays.asList(results);
+    }
 
-            CarDocumentOs savedDoc = carDocumentOsRepository.save(doc);
-            log.info("Car document with id {} saved", savedDoc.getId());
-            return savedDoc;
+    private String checkBatchFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            return "File is empty";
+        }
+        if (file.getOriginalFilename() == null || file.getOriginalFilename().contains("..")) {
+            return "Filename is invalid";
+        }
+        if (file.getSize() > MAX_FILE_SIZE) {
+            return "The file should not exceed " + MAX_FILE_SIZE / (1024 * 1024) + " MB";
+        }
+        if (!ALLOWED_TYPES.contains(file.getContentType())) {
+            return "Only JPG, PNG, and PDF files are allowed";
+        }
+        return null;
+    }
 
+    private DocumentBlobStore.BlobUpload writeBlob(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return blobStore.upload(inputStream, MAX_FILE_SIZE, ALLOWED_TYPES);
         } catch (IOException exception) {
-            log.error("Error creating directory {}", carDocsDir, exception);
-            throw new RuntimeException("Error creating directory " + carDocsDir, exception);
-        } catch (NullPointerException exception) {
-            log.error("Error to LowerCase {}", carDocsDir, exception);
-            throw new RuntimeException("Error creating directory " + carDocsDir, exception);
+            throw new UncheckedIOException("Error storing " + file.getOriginalFilename(), exception);
+        }
+    }
+
+    private CarDocumentOs saveDocument(Car car, CarDocumentType doctype, String filename, String contentType,
+                                       DocumentBlobStore.BlobUpload upload, DocumentBlob blob) {
+        CarDocumentOs doc = new CarDocumentOs(
+                car,
+                blob.getStoragePath(),
+                blob.getSize(),
+                contentType,
+                blob.getSha256(),
+                filename,
+                doctype);
+        doc.setChecksumSha256(blob.getSha256());
+        doc.setDetectedContentType(upload.result().detectedContentType());
+        return carDocumentOsRepository.save(doc);
+    }
+
+    private void scheduleRenditions(CarDocumentOs doc) {
+        if (doc.getDocType() == CarDocumentType.PHOTO
+                && RenditionService.SUPPORTED_TYPES.contains(doc.getDetectedContentType())) {
+            renditionService.scheduleAll(doc.getChecksumSha256(), getDocumentContent(doc));
         }
     }
 
@@ -108,13 +274,55 @@ public class CarDocumentsOsService {
         return carDocumentOsRepository.findAllByCarId(carId);
     }
 
-    public Path getDocumentPath(Long carDocumentId) {
-        CarDocumentOs doc = carDocumentOsRepository.findById(carDocumentId).orElseThrow(
+    public CarDocumentOs getDocument(Long carDocumentId) {
+        return carDocumentOsRepository.findById(carDocumentId).orElseThrow(
                 () -> new IllegalArgumentException("Car document with id " + carDocumentId + " not found")
         );
+    }
+
+    public BlobSlice getDocumentContent(Long carDocumentId) {
+        return getDocumentContent(getDocument(carDocumentId));
+    }
+
+    public BlobSlice getDocumentContent(CarDocumentOs document) {
+        return blobStore.locate(document.getChecksumSha256(), document.getStoragePath());
+    }
+
+    /**
+     * Returns a car photo that renditions can be produced from.
+     */
+    public CarDocumentOs getPhoto(Long carId, Long carDocumentId) {
+        CarDocumentOs document = getDocument(carDocumentId);
+        if (!document.getCar().getId().equals(carId)) {
+            throw new IllegalArgumentException("Car document with id " + carDocumentId + " not found");
+        }
+        if (document.getDocType() != CarDocumentType.PHOTO || document.getChecksumSha256() == null
+                || !RenditionService.SUPPORTED_TYPES.contains(document.getDetectedContentType())) {
+            throw new UnsupportedOperationException("Car document with id " + carDocumentId + " has no renditions");
+        }
+        return document;
+    }
+
+    /**
+     * Resolves (and if necessary generates) a rendition of a car photo.
+     */
+    public CompletableFuture<Path> getRendition(CarDocumentOs photo, RenditionSize size) {
+        return renditionService.getRendition(photo.getChecksumSha256(), getDocumentContent(photo), size);
+    }
 
-        return Paths.get(doc.getStoragePath());
+    public void deleteCarDocument(Long carDocumentId) {
+        CarDocumentOs doc = getDocument(carDocumentId);
 
+        transactionTemplate.executeWithoutResult(status -> {
+            carDocumentOsRepository.delete(doc);
+            if (blobStore.isBlobPath(doc.getStoragePath())) {
+                blobStore.release(doc.getChecksumSha256());
+            } else {
+                // file from before the blob store, removed by the deletion worker
+                deletionQueue.enqueue(List.of(Paths.get(doc.getStoragePath())));
+            }
+        });
+        log.info("Car document with id {} deleted", carDocumentId);
     }
 
 }
@@ -0,0 +1,138 @@
+package de.ait.javalessonspro.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.dto.CampaignProgressResponse;
+import de.ait.javalessonspro.dto.CarOfferCampaignRequest;
+import de.ait.javalessonspro.enums.CarStatus;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.Car;
+import de.ait.javalessonspro.model.EmailCampaign;
+import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientJdbcRepository;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientJdbcRepository.NewRecipient;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientRepository;
+import de.ait.javalessonspro.repositories.EmailCampaignRepository;
+import de.ait.javalessonspro.service.mail.SuppressionList;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Creates car offer campaigns and reports their progress. Creating one only
+ * writes the campaign and its recipients; {@code CampaignDispatcher} sends them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CarOfferCampaignService {
+
+    private final EmailCampaignRepository campaignRepository;
+
+    private final EmailCampaignRecipientRepository recipientRepository;
+
+    private final EmailCampaignRecipientJdbcRepository recipientJdbcRepository;
+
+    private final CarRepository carRepository;
+
+    private final CarOfferEmailService carOfferEmailService;
+
+    private final ObjectMapper objectMapper;
+
+    private final SuppressionList suppressionList;
+
+    @Value("${app.mail.campaign.max-recipients:50000}")
+    private int maxRecipients;
+
+    @Transactional
+    public CampaignProgressResponse createCampaign(CarOfferCampaignRequest request) {
+        if (request.getRecipients().size() > maxRecipients) {
+            throw new IllegalArgumentException("A campaign can have at most " + maxRecipients + " recipients");
+        }
+        Car car = resolveCar(request);
+
+        List<NewRecipient> recipients = new ArrayList<>(request.getRecipients().size());
+        Set<String> seen = new HashSet<>();
+        int suppressed = 0;
+        for (CarOfferCampaignRequest.Recipient recipient : request.getRecipients()) {
+            String email = recipient.getEmail().trim();
+            if (seen.add(email.toLowerCase(Locale.ROOT))) {
+                // almost always answered by the suppression filter alone
+                boolean isSuppressed = suppressionList.isSuppressed(email);
+                recipients.add(new NewRecipient(email, recipient.getClientName(), isSuppressed));
+                suppressed += isSuppressed ? 1 : 0;
+            }
+        }
+
+        String templateData;
+        try {
+            templateData = objectMapper.writeValueAsString(
+                    carOfferEmailService.offerTemplateData(car, request.getOfferPrice()));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Offer data of car " + car.getId() + " is not serializable", exception);
+        }
+        EmailCampaign campaign = campaignRepository.save(new EmailCampaign(car.getId(), CarOfferEmailService.SUBJECT,
+                CarOfferEmailService.TEMPLATE, templateData, recipients.size()));
+        recipientJdbcRepository.insertAll(campaign.getId(), recipients);
+
+        log.info("Campaign {} for car {} created with {} recipient(s), {} suppressed", campaign.getId(), car.getId(),
+                recipients.size(), suppressed);
+        int queued = recipients.size() - suppressed;
+        return new CampaignProgressResponse(campaign.getId(), car.getId(), recipients.size(), queued,
+                0, 0, suppressed, 0.0, queued == 0, campaign.getCreatedAt());
+    }
+
+    @Transactional(readOnly = true)
+    public CampaignProgressResponse getProgress(Long campaignId) {
+        EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow(
+                () -> new IllegalArgumentException("Campaign with id " + campaignId + " not found"));
+
+        Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        for (EmailCampaignRecipientRepository.StatusCount count : recipientRepository.countByStatus(campaignId)) {
+            counts.put(count.getStatus(), count.getCount());
+        }
+        long queued = counts.getOrDefault(EmailStatus.PENDING, 0L) + counts.getOrDefault(EmailStatus.SENDING, 0L);
+        long sentLastMinute = recipientRepository.countByCampaignIdAndStatusAndSentAtAfter(
+                campaignId, EmailStatus.SENT, LocalDateTime.now().minusMinutes(1));
+
+        return new CampaignProgressResponse(campaign.getId(), campaign.getCarId(), campaign.getRecipientCount(),
+                queued, counts.getOrDefault(EmailStatus.SENT, 0L), counts.getOrDefault(EmailStatus.FAILED, 0L),
+                counts.getOrDefault(EmailStatus.SUPPRESSED, 0L), sentLastMinute / 60.0, queued == 0, campaign.getCreatedAt());
+    }
+
+    private Car resolveCar(CarOfferCampaignRequest request) {
+        if ((request.getCarId() == null) == (request.getFilter() == null)) {
+            throw new IllegalArgumentException("Either carId or filter must be given");
+        }
+        if (request.getCarId() != null) {
+            return carRepository.findById(request.getCarId()).orElseThrow(
+                    () -> new IllegalArgumentException("Car with id " + request.getCarId() + " not found"));
+        }
+        CarOfferCampaignRequest.CarFilter filter = request.getFilter();
+        return carRepository.findByBrandIgnoreCase(filter.getBrand()).stream()
+                .filter(car -> !car.isDeleted() && car.getStatus() == CarStatus.AVAILABLE)
+                .filter(car -> filter.getModel() == null || filter.getModel().equalsIgnoreCase(car.getModel()))
+                .filter(car -> filter.getMaxPrice() == null
+                        || (car.getPrice() != null && car.getPrice().compareTo(filter.getMaxPrice()) <= 0))
+                .min(Comparator.comparing(Car::getPrice, Comparator.nullsLast(BigDecimal::compareTo)))
+                .orElseThrow(() -> new IllegalArgumentException("No available car matches the filter"));
+    }
+}
@@ -3,17 +3,15 @@ package de.ait.javalessonspro.service;
 import de.ait.javalessonspro.dto.CarOfferEmailRequest;
 import de.ait.javalessonspro.model.Car;
 import de.ait.javalessonspro.repositories.CarRepository;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import de.ait.javalessonspro.service.mail.EmailMetrics;
+import de.ait.javalessonspro.service.mail.EmailOutbox;
+import de.ait.javalessonspro.service.mail.SuppressionList;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
-import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * ----------------------------------------------------------------------------
@@ -26,72 +24,69 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class CarOfferEmailService {
 
-    private final JavaMailSender javaMailSender;
+    public static final String TEMPLATE = "car-offer-mail";
 
-    private final TemplateEngine templateEngine;
+    public static final String SUBJECT = "Car offer from AIT Gr.59";
+
+    private final EmailOutbox emailOutbox;
 
     private final CarRepository carRepository;
 
-    public CarOfferEmailService(JavaMailSender javaMailSender, TemplateEngine templateEngine, CarRepository carRepository) {
-        this.javaMailSender = javaMailSender;
-        this.templateEngine = templateEngine;
+    private final EmailMetrics emailMetrics;
+
+    private final SuppressionList suppressionList;
+
+    public CarOfferEmailService(EmailOutbox emailOutbox, CarRepository carRepository, EmailMetrics emailMetrics,
+                                SuppressionList suppressionList) {
+        this.emailOutbox = emailOutbox;
         this.carRepository = carRepository;
+        this.emailMetrics = emailMetrics;
+        this.suppressionList = suppressionList;
     }
 
-    @Value("${app.mail.from}")
-    private String from;
-
     @Value("${app.public.base-url}")
     private String baseUrl;
 
 
     public void sendCarOfferEmail(CarOfferEmailRequest carOfferEmailRequest) {
-        Car car = carRepository.findById(carOfferEmailRequest.getCarId())
-                .orElseThrow(() -> new IllegalArgumentException("Car with id " + carOfferEmailRequest.getCarId() + " not found"));
-
-        String confirmUrl = baseUrl + "/confirm-offer?carId=" + carOfferEmailRequest.getCarId();
-
-        Context context =  new Context();
-        context.setVariable("clientName", carOfferEmailRequest.getClientName());
-        context.setVariable("carBrand", car.getBrand());
-        context.setVariable("carModel", car.getModel());
-        context.setVariable("productionYear", car.getProductionYear());
-        context.setVariable("mileage", car.getMileage());
-        context.setVariable("color", car.getColor());
-        context.setVariable("transmission", car.getTransmission());
-        context.setVariable("fuelType", car.getFuelType());
-        context.setVariable("offerPrice", carOfferEmailRequest.getOfferPrice());
-        context.setVariable("confirmUrl", confirmUrl);
-
-        String html = templateEngine.process("car-offer-mail", context);
-
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-
+        if (suppressionList.isSuppressed(carOfferEmailRequest.getEmail())) {
+            emailMetrics.enqueued(TEMPLATE, EmailMetrics.Outcome.SUPPRESSED);
+            log.info("Car offer email to suppressed address {} not queued", carOfferEmailRequest.getEmail());
+            return;
+        }
+        long start = System.nanoTime();
         try {
-            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage,
-                    MimeMessageHelper.MULTIPART_MODE_RELATED,
-                    StandardCharsets.UTF_8.name()
-            );
-
-            mimeMessageHelper.setFrom(from);
-            mimeMessageHelper.setTo(carOfferEmailRequest.getEmail());
-            mimeMessageHelper.setSubject("Car offer from AIT Gr.59");
-            mimeMessageHelper.setText(html, true);
-
-            log.info("Sending email to {}", carOfferEmailRequest.getEmail());
+            Car car = carRepository.findById(carOfferEmailRequest.getCarId())
+                    .orElseThrow(() -> new IllegalArgumentException("Car with id " + carOfferEmailRequest.getCarId() + " not found"));
+            start = emailMetrics.stage(EmailMetrics.Stage.LOOKUP, TEMPLATE, start);
 
-            javaMailSender.send(mimeMessage);
+            Map<String, Object> templateData = offerTemplateData(car, carOfferEmailRequest.getOfferPrice());
+            templateData.put("clientName", carOfferEmailRequest.getClientName());
 
-            log.info("Email sent to {}", carOfferEmailRequest.getEmail());
-        }
-        catch (MessagingException exception) {
-            log.error("Error sending email", exception);
-            throw new RuntimeException("Failed to send email", exception);
-        }
-        catch (Exception exception) {
-            log.error("Error sending email", exception);
+            emailOutbox.enqueue(carOfferEmailRequest.getEmail(), SUBJECT, TEMPLATE, templateData);
+            emailMetrics.stage(EmailMetrics.Stage.PERSIST, TEMPLATE, start);
+        } catch (RuntimeException exception) {
+            emailMetrics.enqueued(TEMPLATE, EmailMetrics.Outcome.FAILURE);
             throw exception;
         }
+        emailMetrics.enqueued(TEMPLATE, EmailMetrics.Outcome.SUCCESS);
+        log.info("Car offer email to {} queued", carOfferEmailRequest.getEmail());
+    }
 
+    /**
+     * Template variables of a car offer, without the recipient's name.
+     */
+    public Map<String, Object> offerTemplateData(Car car, Integer offerPrice) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("carBrand", car.getBrand());
+        data.put("carModel", car.getModel());
+        data.put("productionYear", car.getProductionYear());
+        data.put("mileage", car.getMileage());
+        data.put("color", car.getColor());
+        data.put("transmission", car.getTransmission());
+        data.put("fuelType", car.getFuelType());
+        data.put("offerPrice", offerPrice);
+        data.put("confirmUrl", baseUrl + "/confirm-offer?carId=" + car.getId());
+        return data;
     }
 }
@@ -0,0 +1,61 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.repositories.ClientDocumentContentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * One-off migration of client documents stored as a single
+ * {@code client_document_data} row into {@code client_document_chunks}.
+ * Each document is moved in its own transaction; until then it is still
+ * served from the old row.
+ * <p>
+ * Enable once with {@code app.storage.client-chunk-migration.enabled=true};
+ * migrated documents have no old row left, so a rerun is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.client-chunk-migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ClientDocumentChunkMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ClientDocumentDbService service;
+
+    private final ClientDocumentContentRepository contentRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting client document chunk migration");
+        int migrated = 0;
+        int failed = 0;
+        long lastId = 0;
+        List<Long> batch;
+        while (!(batch = contentRepository.findDocumentIdsAfter(lastId, BATCH_SIZE)).isEmpty()) {
+            for (Long id : batch) {
+                lastId = id;
+                try {
+                    if (service.migrateToChunks(id)) {
+                        migrated++;
+                    }
+                } catch (RuntimeException exception) {
+                    failed++;
+                    log.error("Failed to migrate client document {} into chunks", id, exception);
+                }
+            }
+        }
+        log.info("Client document chunk migration finished: {} migrated, {} failed", migrated, failed);
+    }
+}
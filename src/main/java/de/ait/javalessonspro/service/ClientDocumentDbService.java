@@ -1,14 +1,22 @@
 package de.ait.javalessonspro.service;
 
 import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.enums.StorageTier;
 import de.ait.javalessonspro.model.ClientDocumentDb;
 import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
+import de.ait.javalessonspro.service.storage.ClientDocumentTiering;
+import de.ait.javalessonspro.service.storage.DatabaseClientDocumentStorage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Service
@@ -17,6 +25,12 @@ import java.util.List;
 public class ClientDocumentDbService {
 
     private final ClientDocumentDbRepository repository;
+    private final DatabaseClientDocumentStorage databaseStorage;
+    private final ClientDocumentTiering tiering;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.client-doc-max-size:15}")
+    private int maxFileSizeMb;
 
     public ClientDocumentDb uploadClientDocument(
             String clientEmail, ClientDocumentType docType, MultipartFile file){
@@ -28,30 +42,42 @@ public class ClientDocumentDbService {
             log.error("File is null or empty");
             throw new IllegalArgumentException("File is empty");
         }
+        if(file.getSize() > (long) maxFileSizeMb * 1024 * 1024){
+            log.error("File {} of {} bytes exceeds the limit of {} MB",
+                    file.getOriginalFilename(), file.getSize(), maxFileSizeMb);
+            throw new IllegalArgumentException("File size exceeds " + maxFileSizeMb + "MB");
+        }
 
-        try {
-            byte[] data = file.getBytes();
-            ClientDocumentDb doc = new ClientDocumentDb(
-                    clientEmail,
-                    docType,
-                    file.getContentType(),
-                    file.getSize(),
-                    file.getOriginalFilename(),
-                    data);
-
-            ClientDocumentDb savedDoc = repository.save(doc);
+        ClientDocumentDb doc = new ClientDocumentDb(
+                clientEmail,
+                docType,
+                file.getContentType(),
+                file.getSize(),
+                file.getOriginalFilename());
+
+        // the multipart content goes into the database one chunk at a time, never as a whole byte[]
+        try (InputStream content = file.getInputStream()) {
+            ClientDocumentDb savedDoc = transactionTemplate.execute(status -> {
+                ClientDocumentDb saved = repository.save(doc);
+                try {
+                    databaseStorage.store(saved, content);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                return saved;
+            });
             log.info("Client document with id {} saved", savedDoc.getId());
             return savedDoc;
         }
-        catch (IOException exception){
+        catch (IOException | UncheckedIOException exception){
             log.error("Error reading file", exception);
             throw new RuntimeException("Error reading file", exception);
         }
 
     }
 
-    public List<ClientDocumentDb> getAllClientDocuments(String clientEmail){
-        return repository.findAllByClientEmail(clientEmail);
+    public List<ClientDocumentDbRepository.DocumentSummary> getAllClientDocuments(String clientEmail){
+        return repository.findSummariesByClientEmailOrderByIdAsc(clientEmail);
     }
 
     public ClientDocumentDb getClientDocument(Long id){
@@ -60,4 +86,35 @@ public class ClientDocumentDbService {
         );
     }
 
+    /**
+     * Writes {@code length} bytes of the document's content, starting at
+     * {@code start}, to {@code out}, from whichever storage tier holds it.
+     * Only reads from the beginning count as an access, so a client fetching
+     * a document in several ranges is not counted several times.
+     *
+     * @throws IllegalStateException if the content is missing or corrupt
+     */
+    public void writeContent(ClientDocumentDb doc, long start, long length, OutputStream out) throws IOException {
+        if (start == 0) {
+            tiering.recordAccess(doc.getId());
+        }
+        tiering.copyRange(doc, start, length, out);
+    }
+
+    /**
+     * Moves a document from its single content row into chunks, in one transaction.
+     *
+     * @return false if the document has no single content row (anymore)
+     */
+    public boolean migrateToChunks(Long id){
+        Boolean migrated = transactionTemplate.execute(status -> {
+            ClientDocumentDb doc = repository.findForUpdate(id).orElse(null);
+            if (doc == null || doc.getStorageTier() != StorageTier.DATABASE || doc.getChunkSize() != null) {
+                return false;
+            }
+            return databaseStorage.migrateToChunks(doc);
+        });
+        return Boolean.TRUE.equals(migrated);
+    }
+
 }
@@ -1,8 +1,10 @@
 package de.ait.javalessonspro.service;
 
+import de.ait.javalessonspro.dto.TestDriveAvailabilityResponse;
 import de.ait.javalessonspro.dto.TestDriveBookingResponse;
 import de.ait.javalessonspro.enums.BookingStatus;
 import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.CarRepository;
 import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +29,8 @@ public class TestDriveBookingService {
 
     private final TestDriveBookingRepository testDriveBookingRepository;
     private final TestDriveEmailService testDriveEmailService;
+    private final TestDriveSlotEngine testDriveSlotEngine;
+    private final CarRepository carRepository;
 
     public void cancelBooking(String bookingId, String reason) {
         TestDriveBooking booking = findBookingEntity(bookingId);
@@ -42,6 +46,7 @@ public class TestDriveBookingService {
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancellationReason(reason);
         testDriveBookingRepository.save(booking);
+        testDriveSlotEngine.release(booking);
 
         log.info("Booking cancelled - ID: {}, Reason: {}", bookingId, reason);
 
@@ -59,6 +64,15 @@ public class TestDriveBookingService {
         return mapToResponse(booking);
     }
 
+    @Transactional(readOnly = true)
+    public TestDriveAvailabilityResponse findAvailability(Long carId, LocalDateTime from, int count) {
+        if (!carRepository.existsById(carId)) {
+            throw new IllegalArgumentException("Car with id " + carId + " not found");
+        }
+        return new TestDriveAvailabilityResponse(carId, testDriveSlotEngine.getDurationMinutes(),
+                testDriveSlotEngine.findFreeSlots(carId, from, count));
+    }
+
     private TestDriveBooking findBookingEntity(String bookingId) {
         // Сначала ищем по confirmationId
         Optional<TestDriveBooking> booking = testDriveBookingRepository.findByConfirmationId(bookingId);
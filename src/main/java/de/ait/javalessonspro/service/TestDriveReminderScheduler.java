@@ -0,0 +1,189 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.enums.BookingStatus;
+import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import de.ait.javalessonspro.util.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Sends test drive reminders {@code lead-ms} before the test drive without
+ * scanning the bookings table on every tick.
+ * <p>
+ * A periodic scan locks the bookings whose reminder falls due within
+ * {@code lookahead-ms}, skipping rows another node has locked, stamps them
+ * with a lease and puts them into an in-memory {@link HierarchicalTimingWheel}.
+ * A single ticker thread advances the wheel every {@code tick-ms} and sends
+ * the due reminders in batches, one transaction per batch, re-checking each
+ * locked booking first. A booking held by a node that died is scanned again
+ * once its lease has expired, so reminders survive restarts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TestDriveReminderScheduler {
+
+    private static final int WHEEL_SIZE = 60;
+
+    private static final int WHEEL_LEVELS = 3;
+
+    private final TestDriveBookingRepository bookingRepository;
+
+    private final TestDriveEmailService emailService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.reminders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reminders.lead-ms:86400000}")
+    private long leadMs;
+
+    @Value("${app.reminders.lookahead-ms:3600000}")
+    private long lookaheadMs;
+
+    @Value("${app.reminders.lease-grace-ms:300000}")
+    private long leaseGraceMs;
+
+    @Value("${app.reminders.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.reminders.batch-size:100}")
+    private int batchSize;
+
+    private HierarchicalTimingWheel<PendingReminder> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(tickMs, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        if (lookaheadMs + tickMs >= wheel.horizon() - System.currentTimeMillis()) {
+            throw new IllegalStateException("app.reminders.lookahead-ms " + lookaheadMs
+                    + " exceeds the reminder wheel horizon for tick-ms " + tickMs);
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("reminder-ticker").daemon(true).factory());
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdown();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.scan-interval-ms:60000}")
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<PendingReminder> claimed;
+        do {
+            claimed = claim();
+            List<PendingReminder> due = new ArrayList<>();
+            for (PendingReminder reminder : claimed) {
+                long fireAtMs = toEpochMs(reminder.testDriveDateTime()) - leadMs;
+                if (!wheel.schedule(reminder, fireAtMs)) {
+                    due.add(reminder);
+                }
+            }
+            if (!due.isEmpty()) {
+                ticker.execute(() -> send(due));
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    List<PendingReminder> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingReminder> claimed = new ArrayList<>();
+            for (TestDriveBooking booking : bookingRepository.findReminderCandidatesForUpdate(
+                    now, now.plusNanos((leadMs + lookaheadMs) * 1_000_000), BookingStatus.CONFIRMED,
+                    now, PageRequest.of(0, batchSize))) {
+                LocalDateTime fireAt = booking.getTestDriveDateTime().minusNanos(leadMs * 1_000_000);
+                LocalDateTime leaseFrom = fireAt.isAfter(now) ? fireAt : now;
+                booking.setReminderLeaseUntil(leaseFrom.plusNanos(leaseGraceMs * 1_000_000));
+                claimed.add(new PendingReminder(booking.getId(), booking.getTestDriveDateTime()));
+            }
+            return claimed;
+        });
+    }
+
+    private void tick() {
+        try {
+            List<PendingReminder> due = wheel.advance(System.currentTimeMillis());
+            for (int from = 0; from < due.size(); from += batchSize) {
+                send(due.subList(from, Math.min(from + batchSize, due.size())));
+            }
+        } catch (Exception e) {
+            // an escaping exception would cancel the ticker
+            log.error("Reminder tick failed", e);
+        }
+    }
+
+    void send(List<PendingReminder> reminders) {
+        try {
+            Integer sent = transactionTemplate.execute(status -> {
+                Map<Long, LocalDateTime> expected = new HashMap<>();
+                for (PendingReminder reminder : reminders) {
+                    expected.put(reminder.bookingId(), reminder.testDriveDateTime());
+                }
+                int count = 0;
+                for (TestDriveBooking booking : bookingRepository.findAllByIdForUpdate(expected.keySet())) {
+                    if (Boolean.TRUE.equals(booking.getReminderSent())
+                            || booking.getStatus() != BookingStatus.CONFIRMED) {
+                        continue;
+                    }
+                    if (!booking.getTestDriveDateTime().equals(expected.get(booking.getId()))) {
+                        // rescheduled since it was loaded; the next scan picks up the new time
+                        booking.setReminderLeaseUntil(null);
+                        continue;
+                    }
+                    if (emailService.sendScheduledReminder(booking)) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            log.info("Sent {} of {} due test drive reminders", sent, reminders.size());
+        } catch (Exception e) {
+            // leases are left in place, so these bookings are retried after lease-grace-ms
+            log.error("Failed to send {} test drive reminders", reminders.size(), e);
+        }
+    }
+
+    private static long toEpochMs(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    record PendingReminder(Long bookingId, LocalDateTime testDriveDateTime) {
+    }
+}
@@ -0,0 +1,263 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.enums.BookingStatus;
+import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository.BookedSlot;
+import de.ait.javalessonspro.util.IntervalTree;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Test drive slots per car. A booking occupies its car from its start for
+ * {@code duration-minutes} plus {@code buffer-minutes}, so two bookings of a
+ * car are at least the buffer apart.
+ * <p>
+ * Upcoming bookings are kept in one {@link IntervalTree} per car, built from
+ * {@code test_drive_bookings} at startup and every {@code rebuild-interval-ms},
+ * and updated as bookings are made and cancelled. Conflicts and free slots are
+ * found in the tree.
+ * <p>
+ * The tree does not see bookings made on other nodes since the last rebuild.
+ * Every reservation therefore locks the car row until its booking commits and
+ * checks the table as well; a concurrent booking of the same car waits for
+ * the lock and then finds the committed booking. Reservations that are not
+ * committed yet are carried over into a rebuilt tree.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TestDriveSlotEngine {
+
+    private final TestDriveBookingRepository repository;
+
+    private final CarRepository carRepository;
+
+    @Value("${app.test-drive.duration-minutes:60}")
+    private long durationMinutes;
+
+    @Value("${app.test-drive.buffer-minutes:15}")
+    private long bufferMinutes;
+
+    @Value("${app.test-drive.opening-time:09:00}")
+    private LocalTime openingTime;
+
+    @Value("${app.test-drive.closing-time:18:00}")
+    private LocalTime closingTime;
+
+    @Value("${app.test-drive.slot-step-minutes:30}")
+    private long slotStepMinutes;
+
+    @Value("${app.test-drive.search-days:30}")
+    private long searchDays;
+
+    private volatile Map<Long, IntervalTree<Long>> trees = new ConcurrentHashMap<>();
+
+    // reservations whose transaction has not completed yet, by booking id
+    private final Map<Long, PendingSlot> pending = new ConcurrentHashMap<>();
+
+    // held exclusively by rebuild, so trees are not updated while they are replaced
+    private final ReadWriteLock treesLock = new ReentrantReadWriteLock();
+
+    private record PendingSlot(Long carId, long start, long end) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (durationMinutes < 1 || bufferMinutes < 0 || slotStepMinutes < 1
+                || ChronoUnit.MINUTES.between(openingTime, closingTime) < durationMinutes) {
+            throw new IllegalStateException("Invalid test drive slot configuration");
+        }
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.test-drive.rebuild-interval-ms:3600000}",
+            initialDelayString = "${app.test-drive.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        treesLock.writeLock().lock();
+        try {
+            Map<Long, IntervalTree<Long>> rebuilt = new ConcurrentHashMap<>();
+            // bookings that started less than one occupancy ago still block the next slot
+            List<BookedSlot> slots = repository.findBookedSlotsAfter(
+                    LocalDateTime.now().minusMinutes(occupancyMinutes()), BookingStatus.CANCELLED);
+            for (BookedSlot slot : slots) {
+                long start = seconds(slot.getTestDriveDateTime());
+                rebuilt.computeIfAbsent(slot.getCarId(), carId -> new IntervalTree<>())
+                        .add(slot.getId(), start, start + occupancyMinutes() * 60);
+            }
+            // not visible to the query unless committed before it
+            pending.forEach((id, slot) -> {
+                IntervalTree<Long> tree = rebuilt.computeIfAbsent(slot.carId(), carId -> new IntervalTree<>());
+                if (!tree.contains(id)) {
+                    tree.add(id, slot.start(), slot.end());
+                }
+            });
+            trees = rebuilt;
+            log.info("Test drive slots rebuilt with {} booking(s) of {} car(s)", slots.size(), rebuilt.size());
+        } finally {
+            treesLock.writeLock().unlock();
+        }
+    }
+
+    public long getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    /**
+     * Reserves the slot of the saved {@code booking}; released again if the
+     * surrounding transaction rolls back. Must run in the transaction that
+     * saves the booking, as it locks the car row until that commits.
+     *
+     * @throws IllegalArgumentException if another booking of the car overlaps the slot
+     */
+    public void reserve(TestDriveBooking booking) {
+        Long carId = booking.getCarId();
+        LocalDateTime start = booking.getTestDriveDateTime();
+        long startSeconds = seconds(start);
+        long endSeconds = startSeconds + occupancyMinutes() * 60;
+
+        // taken before the tree, so that waiting for another node's booking does not block this node
+        carRepository.findForUpdate(carId);
+        treesLock.readLock().lock();
+        try {
+            IntervalTree<Long> tree = tree(carId);
+            synchronized (tree) {
+                IntervalTree.Interval<Long> conflict = tree.firstOverlap(startSeconds, endSeconds);
+                if (conflict != null) {
+                    throw new IllegalArgumentException("The car is already booked for a test drive at "
+                            + dateTime(conflict.start()) + ".");
+                }
+                if (repository.existsOtherBookingBetween(carId, booking.getId(), BookingStatus.CANCELLED,
+                        start.minusMinutes(occupancyMinutes()), start.plusMinutes(occupancyMinutes()))) {
+                    throw new IllegalArgumentException("The car is already booked for a test drive around "
+                            + start + ".");
+                }
+                tree.add(booking.getId(), startSeconds, endSeconds);
+                pending.put(booking.getId(), new PendingSlot(carId, startSeconds, endSeconds));
+            }
+        } finally {
+            treesLock.readLock().unlock();
+        }
+        afterCompletion(committed -> updateTrees(() -> {
+            pending.remove(booking.getId());
+            if (!committed) {
+                tree(carId).remove(booking.getId());
+            }
+        }));
+    }
+
+    /**
+     * Frees the slot of {@code booking} once the surrounding transaction commits.
+     */
+    public void release(TestDriveBooking booking) {
+        afterCompletion(committed -> {
+            if (committed) {
+                updateTrees(() -> tree(booking.getCarId()).remove(booking.getId()));
+            }
+        });
+    }
+
+    /**
+     * Up to {@code count} start times at or after {@code from} on which the car
+     * is free, within opening hours and the next {@code search-days} days.
+     */
+    public List<LocalDateTime> findFreeSlots(Long carId, LocalDateTime from, int count) {
+        IntervalTree<Long> tree = tree(carId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime candidate = alignToStep(from != null && from.isAfter(now) ? from : now);
+        LocalDateTime limit = candidate.plusDays(searchDays);
+        List<LocalDateTime> free = new ArrayList<>(count);
+        while (free.size() < count && candidate.isBefore(limit)) {
+            if (candidate.toLocalTime().isBefore(openingTime)) {
+                candidate = candidate.toLocalDate().atTime(openingTime);
+                continue;
+            }
+            if (candidate.plusMinutes(durationMinutes).isAfter(candidate.toLocalDate().atTime(closingTime))) {
+                candidate = candidate.toLocalDate().plusDays(1).atTime(openingTime);
+                continue;
+            }
+            long start = seconds(candidate);
+            IntervalTree.Interval<Long> conflict = tree.firstOverlap(start, start + occupancyMinutes() * 60);
+            if (conflict == null) {
+                free.add(candidate);
+                candidate = candidate.plusMinutes(slotStepMinutes);
+            } else {
+                // nothing starting before the end of the conflicting booking fits
+                candidate = alignToStep(dateTime(conflict.end()));
+            }
+        }
+        return free;
+    }
+
+    // the current trees, not those seen when the transaction started, may hold the booking
+    private void updateTrees(Runnable update) {
+        treesLock.readLock().lock();
+        try {
+            update.run();
+        } finally {
+            treesLock.readLock().unlock();
+        }
+    }
+
+    private IntervalTree<Long> tree(Long carId) {
+        return trees.computeIfAbsent(carId, id -> new IntervalTree<>());
+    }
+
+    private long occupancyMinutes() {
+        return durationMinutes + bufferMinutes;
+    }
+
+    // start of the first slot step of the day at or after dateTime
+    private LocalDateTime alignToStep(LocalDateTime dateTime) {
+        LocalDateTime dayStart = dateTime.truncatedTo(ChronoUnit.DAYS);
+        long seconds = ChronoUnit.SECONDS.between(dayStart, dateTime);
+        long step = slotStepMinutes * 60;
+        return dayStart.plusSeconds((seconds + step - 1) / step * step);
+    }
+
+    // booking times are local; UTC only serves as a fixed offset to count seconds from
+    private static long seconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime dateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
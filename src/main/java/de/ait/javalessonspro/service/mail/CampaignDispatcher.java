@@ -0,0 +1,260 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailCampaign;
+import de.ait.javalessonspro.model.EmailCampaignRecipient;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientRepository;
+import de.ait.javalessonspro.repositories.EmailCampaignRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Sends campaign emails on its own bounded pool, so a large campaign never
+ * delays transactional emails in the outbox.
+ * <p>
+ * Each poll claims only as many recipients as there are free slots
+ * ({@code threads * 2} in flight at most), which is the backpressure between
+ * the database queue and SMTP. Recipients whose domain is over its rate are
+ * not claimed but moved to the time their domain has a token again, one token
+ * interval apart in queue order, so one large provider does not hold up the
+ * others and its backlog is not locked and rewritten on every poll. Claiming,
+ * leases, the lease check before recording an outcome and retries work as in
+ * {@link EmailOutboxDispatcher}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // rows looked at per free slot, so rate-limited domains do not starve a poll
+    private static final int SCAN_FACTOR = 4;
+
+    private static final List<EmailStatus> CLAIMABLE = List.of(EmailStatus.PENDING, EmailStatus.SENDING);
+
+    private static final TypeReference<Map<String, Object>> TEMPLATE_DATA = new TypeReference<>() {
+    };
+
+    private final EmailCampaignRecipientRepository recipientRepository;
+
+    private final EmailCampaignRepository campaignRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final EmailComposer emailComposer;
+
+    private final EmailMetrics emailMetrics;
+
+    private final SuppressionList suppressionList;
+
+    private final ObjectMapper objectMapper;
+
+    private final DomainRateLimiter rateLimiter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // campaigns never change once created; dropped once they have nothing left to send
+    private final Map<Long, EmailCampaign> campaigns = new ConcurrentHashMap<>();
+
+    @Value("${app.mail.campaign.dispatch-enabled:true}")
+    private boolean dispatchEnabled;
+
+    @Value("${app.mail.campaign.threads:4}")
+    private int threads;
+
+    @Value("${app.mail.campaign.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.mail.campaign.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.campaign.retry-base-ms:60000}")
+    private long retryBaseMs;
+
+    @Value("${app.mail.campaign.lease-ms:300000}")
+    private long leaseMs;
+
+    private ExecutorService executor;
+
+    private Semaphore capacity;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("campaign-dispatcher-", 1).daemon(true).factory());
+        capacity = new Semaphore(threads * 2);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.campaign.poll-interval-ms:500}")
+    public void poll() {
+        if (!dispatchEnabled) {
+            return;
+        }
+        int free = Math.min(batchSize, capacity.availablePermits());
+        if (free == 0) {
+            return;
+        }
+        for (EmailOutboxDispatcher.Claim claim : claim(free)) {
+            capacity.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    deliver(claim);
+                } finally {
+                    capacity.release();
+                }
+            });
+        }
+    }
+
+    List<EmailOutboxDispatcher.Claim> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // compared with the stored value later, so no finer than the column keeps it
+            LocalDateTime lease = now.plusNanos(leaseMs * 1_000_000).truncatedTo(ChronoUnit.MILLIS);
+            List<EmailOutboxDispatcher.Claim> claims = new ArrayList<>();
+            Map<String, Integer> throttled = new HashMap<>();
+            List<EmailCampaignRecipient> due = recipientRepository.findDueForUpdate(
+                    CLAIMABLE, now, PageRequest.of(0, limit * SCAN_FACTOR));
+            for (EmailCampaignRecipient recipient : due) {
+                if (claims.size() == limit) {
+                    break;
+                }
+                long waitNanos = rateLimiter.tryAcquire(recipient.getDomain());
+                if (waitNanos > 0) {
+                    // the n-th waiting recipient of a domain gets its turn n tokens later
+                    int position = throttled.merge(recipient.getDomain(), 1, Integer::sum) - 1;
+                    recipient.setStatus(EmailStatus.PENDING);
+                    recipient.setNextAttemptAt(now.plusNanos(waitNanos + position * rateLimiter.tokenIntervalNanos()));
+                    continue;
+                }
+                recipient.setStatus(EmailStatus.SENDING);
+                recipient.setAttempts(recipient.getAttempts() + 1);
+                recipient.setNextAttemptAt(lease);
+                claims.add(new EmailOutboxDispatcher.Claim(recipient.getId(), lease));
+            }
+            return claims;
+        });
+    }
+
+    void deliver(EmailOutboxDispatcher.Claim claim) {
+        EmailCampaignRecipient recipient = recipientRepository.findById(claim.id()).orElse(null);
+        if (recipient == null || recipient.getStatus() != EmailStatus.SENDING
+                || !claim.lease().equals(recipient.getNextAttemptAt())) {
+            return;
+        }
+        if (!LocalDateTime.now().isBefore(claim.lease())) {
+            // may be claimed by another dispatcher already
+            log.warn("Lease of campaign {} email to {} expired before it was sent", recipient.getCampaignId(),
+                    recipient.getEmail());
+            return;
+        }
+        try {
+            EmailCampaign campaign = campaign(recipient.getCampaignId());
+            // suppressed after the campaign was created
+            if (suppressionList.isSuppressed(recipient.getEmail())) {
+                record(claim, EmailStatus.SUPPRESSED, null, null);
+                emailMetrics.delivered(campaign.getTemplate(), EmailMetrics.Outcome.SUPPRESSED);
+                return;
+            }
+            Map<String, Object> variables = new HashMap<>(objectMapper.readValue(campaign.getTemplateData(), TEMPLATE_DATA));
+            variables.put("clientName", recipient.getClientName());
+            long start = System.nanoTime();
+            MimeMessage mimeMessage = emailComposer.compose(recipient.getEmail(), campaign.getSubject(),
+                    campaign.getTemplate(), variables);
+            start = emailMetrics.stage(EmailMetrics.Stage.MIME, campaign.getTemplate(), start);
+            javaMailSender.send(mimeMessage);
+            emailMetrics.stage(EmailMetrics.Stage.SMTP, campaign.getTemplate(), start);
+            record(claim, EmailStatus.SENT, null, null);
+            emailMetrics.delivered(campaign.getTemplate(), EmailMetrics.Outcome.SUCCESS);
+        } catch (Exception exception) {
+            if (suppressionList.suppressRejected(exception)) {
+                record(claim, EmailStatus.SUPPRESSED, null, exception);
+                emailMetrics.delivered(template(recipient), EmailMetrics.Outcome.SUPPRESSED);
+                log.debug("Campaign {} email to {} rejected permanently, address suppressed", recipient.getCampaignId(),
+                        recipient.getEmail());
+                return;
+            }
+            if (recipient.getAttempts() >= maxAttempts) {
+                record(claim, EmailStatus.FAILED, null, exception);
+                emailMetrics.delivered(template(recipient), EmailMetrics.Outcome.FAILURE);
+                log.warn("Giving up campaign {} email to {} after {} attempts: {}", recipient.getCampaignId(),
+                        recipient.getEmail(), recipient.getAttempts(), exception.getMessage());
+                return;
+            }
+            long delayMs = retryBaseMs << Math.min(recipient.getAttempts() - 1, 16);
+            record(claim, EmailStatus.PENDING, LocalDateTime.now().plusNanos(delayMs * 1_000_000), exception);
+            emailMetrics.delivered(template(recipient), EmailMetrics.Outcome.RETRY);
+            log.debug("Campaign {} email to {} failed (attempt {}), retrying in {} ms: {}", recipient.getCampaignId(),
+                    recipient.getEmail(), recipient.getAttempts(), delayMs, exception.getMessage());
+        }
+    }
+
+    /**
+     * Drops cached campaigns that have no recipient left to send to.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinishedCampaigns() {
+        campaigns.keySet().removeIf(campaignId ->
+                !recipientRepository.existsByCampaignIdAndStatusIn(campaignId, CLAIMABLE));
+    }
+
+    // the campaign itself may be what failed to load
+    private String template(EmailCampaignRecipient recipient) {
+        EmailCampaign campaign = campaigns.get(recipient.getCampaignId());
+        return campaign != null ? campaign.getTemplate() : "unknown";
+    }
+
+    private EmailCampaign campaign(Long campaignId) {
+        return campaigns.computeIfAbsent(campaignId, key -> campaignRepository.findById(key).orElseThrow(
+                () -> new IllegalStateException("Campaign " + key + " not found")));
+    }
+
+    private void record(EmailOutboxDispatcher.Claim claim, EmailStatus status, LocalDateTime nextAttemptAt,
+                        Exception error) {
+        Integer recorded = transactionTemplate.execute(transaction -> recipientRepository.recordOutcome(claim.id(),
+                claim.lease(), status, nextAttemptAt != null ? nextAttemptAt : claim.lease(),
+                status == EmailStatus.SENT ? LocalDateTime.now() : null,
+                error != null ? truncate(error.toString()) : null));
+        if (recorded == null || recorded == 0) {
+            log.warn("Campaign email {} was claimed again while it was delivered, outcome {} not recorded",
+                    claim.id(), status);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
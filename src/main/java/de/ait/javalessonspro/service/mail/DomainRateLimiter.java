@@ -0,0 +1,85 @@
+package de.ait.javalessonspro.service.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Token bucket per recipient domain, so a campaign does not hit one mail
+ * provider faster than {@code per-domain-rate} messages per second (with
+ * bursts of up to {@code per-domain-burst}). The limit applies per node.
+ */
+@Component
+public class DomainRateLimiter {
+
+    private static final long IDLE_BUCKET_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${app.mail.campaign.per-domain-rate:5}")
+    private double ratePerSecond;
+
+    @Value("${app.mail.campaign.per-domain-burst:10}")
+    private int burst;
+
+    private final class Bucket {
+        private double tokens = burst;
+        private long updatedAt;
+
+        private Bucket(long now) {
+            this.updatedAt = now;
+        }
+
+        private synchronized long tryAcquire(long now) {
+            tokens = Math.min(burst, tokens + (now - updatedAt) * ratePerSecond / 1e9);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerSecond * 1e9);
+        }
+
+        private synchronized boolean isIdle(long now) {
+            return now - updatedAt > IDLE_BUCKET_NANOS;
+        }
+    }
+
+    /**
+     * Takes a token for {@code domain}.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String domain) {
+        return tryAcquire(domain, System.nanoTime());
+    }
+
+    /**
+     * Nanoseconds between two tokens of a domain once its burst is used up.
+     */
+    public long tokenIntervalNanos() {
+        return (long) Math.ceil(1e9 / ratePerSecond);
+    }
+
+    long tryAcquire(String domain, long now) {
+        return buckets.computeIfAbsent(domain, key -> new Bucket(now)).tryAcquire(now);
+    }
+
+    /**
+     * Forgets domains that have not been used for a while; their buckets would be full anyway.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void removeIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+}
@@ -0,0 +1,122 @@
+package de.ait.javalessonspro.service.mail;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Renders a template into a ready-to-send message, shared by the outbox and
+ * campaign dispatchers. Templates in {@link EmailImageAssets#CAR_IMAGE_TEMPLATES}
+ * get the car image attached inline.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailComposer {
+
+    private final JavaMailSender javaMailSender;
+
+    private final TemplateEngine templateEngine;
+
+    private final EmailImageAssets imageAssets;
+
+    private final EmailMetrics emailMetrics;
+
+    @Value("${app.mail.from}")
+    private String emailSender;
+
+    @Value("${spring.thymeleaf.prefix:classpath:/templates/}")
+    private String templatePrefix;
+
+    @Value("${spring.thymeleaf.suffix:.html}")
+    private String templateSuffix;
+
+    /**
+     * Parses every template once at startup, so that Thymeleaf's template cache
+     * holds the parsed templates, static fragments included, before the first
+     * email is sent.
+     */
+    @PostConstruct
+    void preloadTemplates() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(templatePrefix + "*" + templateSuffix);
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            if (filename == null) {
+                continue;
+            }
+            String template = filename.substring(0, filename.length() - templateSuffix.length());
+            templateEngine.process(template, new Context(), Writer.nullWriter());
+        }
+        log.info("Preloaded {} email templates", resources.length);
+    }
+
+    /**
+     * The body is rendered when the message is written to the SMTP connection,
+     * straight into the encoding stream of its MIME part.
+     */
+    public MimeMessage compose(String recipient, String subject, String template,
+                               Map<String, Object> variables) throws MessagingException {
+        Context context = new Context();
+        context.setVariables(variables);
+        MimeBodyPart body = new MimeBodyPart();
+        body.setDataHandler(new TemplateDataHandler(templateEngine, template, context, emailMetrics));
+        // declared up front, so JavaMail does not render the body just to choose them
+        body.setHeader("Content-Type", TemplateDataHandler.CONTENT_TYPE);
+        body.setHeader("Content-Transfer-Encoding", "quoted-printable");
+        return assemble(recipient, subject, template, variables, body);
+    }
+
+    public String render(String template, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(template, context);
+    }
+
+    /**
+     * Builds the message around an already rendered body, see {@link #render}.
+     */
+    public MimeMessage build(String recipient, String subject, String template,
+                             Map<String, Object> variables, String htmlContent) throws MessagingException {
+        MimeBodyPart body = new MimeBodyPart();
+        body.setText(htmlContent, StandardCharsets.UTF_8.name(), "html");
+        return assemble(recipient, subject, template, variables, body);
+    }
+
+    private MimeMessage assemble(String recipient, String subject, String template,
+                                 Map<String, Object> variables, MimeBodyPart body) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, MimeMessageHelper.MULTIPART_MODE_RELATED,
+                StandardCharsets.UTF_8.name());
+        helper.setFrom(emailSender);
+        helper.setTo(recipient);
+        helper.setSubject(subject);
+        helper.getMimeMultipart().addBodyPart(body);
+        if (EmailImageAssets.CAR_IMAGE_TEMPLATES.contains(template)) {
+            // same as helper.addInline, but with the cached, already encoded image
+            Long carId = variables.get("carId") instanceof Number number ? number.longValue() : null;
+            helper.getMimeMultipart().addBodyPart(imageAssets.carImage(carId).toBodyPart(EmailImageAssets.CAR_IMAGE_CID));
+        }
+        return mimeMessage;
+    }
+}
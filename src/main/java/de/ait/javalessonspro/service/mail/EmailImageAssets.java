@@ -0,0 +1,163 @@
+package de.ait.javalessonspro.service.mail;
+
+import de.ait.javalessonspro.enums.CarDocumentType;
+import de.ait.javalessonspro.enums.RenditionSize;
+import de.ait.javalessonspro.model.CarDocumentOs;
+import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import de.ait.javalessonspro.service.storage.DocumentBlobStore;
+import de.ait.javalessonspro.service.storage.RenditionService;
+import jakarta.activation.DataHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.PreencodedMimeBodyPart;
+import jakarta.mail.util.ByteArrayDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Car images attached inline to emails and referenced as {@code cid:car-image}.
+ * <p>
+ * The image of a car is the thumbnail rendition of its first photo, or a
+ * placeholder when it has none. Emails are sent on dispatcher threads, so they
+ * never wait for a rendition: a missing one is requested in the background and
+ * the email goes out with the placeholder. Images are base64-encoded once and cached by
+ * the photo's SHA-256, so a send only wraps the cached bytes in a new
+ * {@link PreencodedMimeBodyPart} instead of encoding the image again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailImageAssets {
+
+    public static final String CAR_IMAGE_CID = "car-image";
+
+    /**
+     * Templates that show the car image; only their emails get the attachment.
+     */
+    public static final Set<String> CAR_IMAGE_TEMPLATES =
+            Set.of("test-drive-confirmation-email", "test-drive-reminder-email");
+
+    private static final String PLACEHOLDER_RESOURCE = "mail/car-placeholder.png";
+
+    private final CarDocumentOsRepository carDocumentOsRepository;
+
+    private final RenditionService renditionService;
+
+    private final DocumentBlobStore blobStore;
+
+    @Value("${app.mail.images.cache-size:256}")
+    private int cacheSize;
+
+    private InlineImage placeholder;
+
+    private Map<String, InlineImage> cache;
+
+    /**
+     * An image in its transfer encoding. Immutable and shared by all emails
+     * that attach it; each email gets its own lightweight body part.
+     */
+    public record InlineImage(String contentType, byte[] base64) {
+
+        static InlineImage encode(String contentType, byte[] content) {
+            return new InlineImage(contentType, Base64.getMimeEncoder().encode(content));
+        }
+
+        public MimeBodyPart toBodyPart(String contentId) throws MessagingException {
+            MimeBodyPart part = new PreencodedMimeBodyPart("base64");
+            part.setDataHandler(new DataHandler(new ByteArrayDataSource(base64, contentType)));
+            part.setDisposition(Part.INLINE);
+            part.setContentID("<" + contentId + ">");
+            return part;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InlineImage> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        try (InputStream content = new ClassPathResource(PLACEHOLDER_RESOURCE).getInputStream()) {
+            placeholder = InlineImage.encode("image/png", content.readAllBytes());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Cannot load " + PLACEHOLDER_RESOURCE, exception);
+        }
+    }
+
+    public InlineImage placeholder() {
+        return placeholder;
+    }
+
+    /**
+     * Returns the image of a car, falling back to the placeholder when the car
+     * has no usable photo or its rendition has not been generated yet.
+     */
+    public InlineImage carImage(Long carId) {
+        if (carId == null) {
+            return placeholder;
+        }
+        CarDocumentOs photo = carDocumentOsRepository
+                .findFirstByCarIdAndDocTypeOrderByIdAsc(carId, CarDocumentType.PHOTO)
+                .filter(document -> document.getChecksumSha256() != null
+                        && RenditionService.SUPPORTED_TYPES.contains(document.getDetectedContentType()))
+                .orElse(null);
+        if (photo == null) {
+            return placeholder;
+        }
+        InlineImage cached = cache.get(photo.getChecksumSha256());
+        if (cached != null) {
+            return cached;
+        }
+        Path rendition = renditionService.findRendition(photo.getChecksumSha256(), RenditionSize.THUMB).orElse(null);
+        if (rendition == null) {
+            requestRendition(carId, photo);
+            return placeholder;
+        }
+        try {
+            InlineImage image = InlineImage.encode("image/jpeg", Files.readAllBytes(rendition));
+            cache.put(photo.getChecksumSha256(), image);
+            return image;
+        } catch (IOException exception) {
+            log.warn("Using placeholder image for car {}: {}", carId, exception.toString());
+            return placeholder;
+        }
+    }
+
+    // later emails about this car pick the rendition up once it is written
+    private void requestRendition(Long carId, CarDocumentOs photo) {
+        try {
+            BlobSlice original = blobStore.locate(photo.getChecksumSha256(), photo.getStoragePath());
+            renditionService.getRendition(photo.getChecksumSha256(), original, RenditionSize.THUMB)
+                    .exceptionally(failure -> {
+                        log.warn("Rendition for the email image of car {} failed: {}", carId, failure.toString());
+                        return null;
+                    });
+        } catch (RuntimeException exception) {
+            log.warn("Cannot request rendition for the email image of car {}: {}", carId, exception.toString());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package de.ait.javalessonspro.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Micrometer meters of the email pipeline, tagged by template:
+ * <ul>
+ *     <li>{@code email.stage} - timer with histogram per {@link Stage}</li>
+ *     <li>{@code email.enqueued} - emails queued or rejected by the email services, by {@code outcome}</li>
+ *     <li>{@code email.delivered} - delivery attempts of the dispatchers, by {@code outcome}</li>
+ * </ul>
+ * Stages are timed as {@code start = metrics.stage(Stage.X, template, start)},
+ * which records the time since {@code start} and returns the new start.
+ */
+@Component
+public class EmailMetrics {
+
+    public enum Stage {
+        /** database reads before an email is queued */
+        LOOKUP,
+        /** writing the booking and the outbox row */
+        PERSIST,
+        /** template rendering; streamed during SMTP, so it is also part of {@link #SMTP} */
+        RENDER,
+        /** building the MIME message around the body */
+        MIME,
+        /** sending over SMTP */
+        SMTP;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        SUCCESS, FAILURE, RETRY, SUPPRESSED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry registry;
+
+    // builders are not free; meters are looked up once per stage and template
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public EmailMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public long stage(Stage stage, String template, long startNanos) {
+        long now = System.nanoTime();
+        timers.computeIfAbsent(stage.tag + ':' + template, key -> Timer.builder("email.stage")
+                        .description("Time spent per email in each stage of the email pipeline")
+                        .tag("stage", stage.tag)
+                        .tag("template", template)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void enqueued(String template, Outcome outcome) {
+        count("email.enqueued", template, outcome);
+    }
+
+    public void delivered(String template, Outcome outcome) {
+        count("email.delivered", template, outcome);
+    }
+
+    private void count(String name, String template, Outcome outcome) {
+        counters.computeIfAbsent(name + ':' + outcome.tag + ':' + template, key -> Counter.builder(name)
+                        .tag("template", template)
+                        .tag("outcome", outcome.tag)
+                        .register(registry))
+                .increment();
+    }
+}
@@ -0,0 +1,46 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.model.EmailOutboxMessage;
+import de.ait.javalessonspro.repositories.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Entry point of the transactional email outbox.
+ * <p>
+ * {@link #enqueue} only inserts a row, so it must be called inside the
+ * transaction of the change the email is about: the email exists if and only
+ * if that change commits. {@link EmailOutboxDispatcher} delivers it afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutbox {
+
+    private final EmailOutboxRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    public EmailOutboxMessage enqueue(String recipient, String subject, String template,
+                                      Map<String, Object> templateData) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(templateData);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Template data of " + template + " is not serializable", exception);
+        }
+        EmailOutboxMessage message = repository.save(new EmailOutboxMessage(recipient, subject, template, json));
+        log.debug("Queued email {} ({}) to {}", message.getId(), template, recipient);
+        return message;
+    }
+}
@@ -0,0 +1,225 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailOutboxMessage;
+import de.ait.javalessonspro.repositories.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Delivers queued emails on a pool of dispatcher threads.
+ * <p>
+ * A short transaction claims due messages with {@code FOR UPDATE SKIP LOCKED},
+ * so several nodes can poll the same table without blocking or sending twice,
+ * and marks them {@code SENDING} with a lease. Rendering and SMTP happen
+ * outside any transaction. A sent message is marked {@code SENT}; a failed one
+ * is retried with exponential backoff until {@code max-attempts}, then marked
+ * {@code FAILED}. A message whose dispatcher died is claimed again once its
+ * lease has expired.
+ * <p>
+ * The lease end is the claim's token: a dispatcher does not send a message
+ * whose lease has already expired, and its outcome is only recorded while the
+ * row still carries that lease, so a slow send cannot overwrite the outcome of
+ * a dispatcher that claimed the message after it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final List<EmailStatus> CLAIMABLE = List.of(EmailStatus.PENDING, EmailStatus.SENDING);
+
+    private static final TypeReference<Map<String, Object>> TEMPLATE_DATA = new TypeReference<>() {
+    };
+
+    private final EmailOutboxRepository repository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final ObjectMapper objectMapper;
+
+    private final EmailComposer emailComposer;
+
+    private final EmailMetrics emailMetrics;
+
+    private final SuppressionList suppressionList;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.outbox.dispatch-enabled:true}")
+    private boolean dispatchEnabled;
+
+    @Value("${app.mail.outbox.threads:4}")
+    private int threads;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    @Value("${app.mail.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    private ExecutorService executor;
+
+    /**
+     * A claimed message and the end of its lease, which identifies the claim.
+     */
+    record Claim(Long id, LocalDateTime lease) {
+    }
+
+    // claimed but not yet delivered messages; bounds what a poll may claim
+    private Semaphore capacity;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("mail-dispatcher-", 1).daemon(true).factory());
+        capacity = new Semaphore(threads * 2);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!dispatchEnabled) {
+            return;
+        }
+        int free = Math.min(batchSize, capacity.availablePermits());
+        if (free == 0) {
+            return;
+        }
+        for (Claim claim : claim(free)) {
+            capacity.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    deliver(claim);
+                } finally {
+                    capacity.release();
+                }
+            });
+        }
+    }
+
+    List<Claim> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // compared with the stored value later, so no finer than the column keeps it
+            LocalDateTime lease = now.plusNanos(leaseMs * 1_000_000).truncatedTo(ChronoUnit.MILLIS);
+            List<Claim> claims = new ArrayList<>();
+            for (EmailOutboxMessage message : repository.findDueForUpdate(CLAIMABLE, now, PageRequest.of(0, limit))) {
+                message.setStatus(EmailStatus.SENDING);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(lease);
+                claims.add(new Claim(message.getId(), lease));
+            }
+            return claims;
+        });
+    }
+
+    void deliver(Claim claim) {
+        Long id = claim.id();
+        EmailOutboxMessage message = repository.findById(id).orElse(null);
+        if (message == null || message.getStatus() != EmailStatus.SENDING
+                || !claim.lease().equals(message.getNextAttemptAt())) {
+            return;
+        }
+        if (!LocalDateTime.now().isBefore(claim.lease())) {
+            // may be claimed by another dispatcher already
+            log.warn("Lease of email {} ({}) expired before it was sent", id, message.getTemplate());
+            return;
+        }
+        // suppressed after the email was queued
+        if (suppressionList.isSuppressed(message.getRecipient())) {
+            record(claim, EmailStatus.SUPPRESSED, null, null);
+            emailMetrics.delivered(message.getTemplate(), EmailMetrics.Outcome.SUPPRESSED);
+            log.info("Email {} ({}) to suppressed address {} dropped", id, message.getTemplate(), message.getRecipient());
+            return;
+        }
+        try {
+            send(message);
+            record(claim, EmailStatus.SENT, null, null);
+            emailMetrics.delivered(message.getTemplate(), EmailMetrics.Outcome.SUCCESS);
+            log.info("Email {} ({}) sent to {}", id, message.getTemplate(), message.getRecipient());
+        } catch (Exception exception) {
+            if (suppressionList.suppressRejected(exception)) {
+                record(claim, EmailStatus.SUPPRESSED, null, exception);
+                emailMetrics.delivered(message.getTemplate(), EmailMetrics.Outcome.SUPPRESSED);
+                log.warn("Email {} ({}) to {} rejected permanently, address suppressed: {}", id,
+                        message.getTemplate(), message.getRecipient(), exception.getMessage());
+                return;
+            }
+            if (message.getAttempts() >= maxAttempts) {
+                record(claim, EmailStatus.FAILED, null, exception);
+                emailMetrics.delivered(message.getTemplate(), EmailMetrics.Outcome.FAILURE);
+                log.error("Giving up email {} ({}) to {} after {} attempts", id, message.getTemplate(),
+                        message.getRecipient(), message.getAttempts(), exception);
+                return;
+            }
+            long delayMs = retryBaseMs << Math.min(message.getAttempts() - 1, 16);
+            record(claim, EmailStatus.PENDING, LocalDateTime.now().plusNanos(delayMs * 1_000_000), exception);
+            emailMetrics.delivered(message.getTemplate(), EmailMetrics.Outcome.RETRY);
+            log.warn("Email {} ({}) to {} failed (attempt {}), retrying in {} ms: {}", id, message.getTemplate(),
+                    message.getRecipient(), message.getAttempts(), delayMs, exception.getMessage());
+        }
+    }
+
+    private void send(EmailOutboxMessage message) throws Exception {
+        Map<String, Object> variables = objectMapper.readValue(message.getTemplateData(), TEMPLATE_DATA);
+        long start = System.nanoTime();
+        MimeMessage mimeMessage = emailComposer.compose(message.getRecipient(), message.getSubject(),
+                message.getTemplate(), variables);
+        start = emailMetrics.stage(EmailMetrics.Stage.MIME, message.getTemplate(), start);
+        javaMailSender.send(mimeMessage);
+        emailMetrics.stage(EmailMetrics.Stage.SMTP, message.getTemplate(), start);
+    }
+
+    private void record(Claim claim, EmailStatus status, LocalDateTime nextAttemptAt, Exception error) {
+        Integer recorded = transactionTemplate.execute(transaction -> repository.recordOutcome(claim.id(),
+                claim.lease(), status, nextAttemptAt != null ? nextAttemptAt : claim.lease(),
+                status == EmailStatus.SENT ? LocalDateTime.now() : null,
+                error != null ? truncate(error.toString()) : null));
+        if (recorded == null || recorded == 0) {
+            log.warn("Email {} was claimed again while it was delivered, outcome {} not recorded",
+                    claim.id(), status);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
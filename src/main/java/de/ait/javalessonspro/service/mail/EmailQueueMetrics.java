@@ -0,0 +1,51 @@
+package de.ait.javalessonspro.service.mail;
+
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientRepository;
+import de.ait.javalessonspro.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Depth of the outbox and campaign queues as {@code email.queue} gauges, by
+ * {@code queue} and {@code status}. Each gauge is a count query, run when the
+ * metrics are read rather than on every send.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmailQueueMetrics implements MeterBinder {
+
+    private static final List<EmailStatus> QUEUED = List.of(EmailStatus.PENDING, EmailStatus.SENDING);
+
+    private final EmailOutboxRepository outboxRepository;
+
+    private final EmailCampaignRecipientRepository recipientRepository;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (EmailStatus status : QUEUED) {
+            String statusTag = status.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("email.queue", outboxRepository, repository -> repository.countByStatus(status))
+                    .description("Emails waiting in a queue")
+                    .tag("queue", "outbox")
+                    .tag("status", statusTag)
+                    .register(registry);
+            Gauge.builder("email.queue", recipientRepository, repository -> repository.countAllByStatus(status))
+                    .description("Emails waiting in a queue")
+                    .tag("queue", "campaign")
+                    .tag("status", statusTag)
+                    .register(registry);
+        }
+    }
+}
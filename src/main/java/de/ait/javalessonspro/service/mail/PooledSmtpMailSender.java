@@ -0,0 +1,262 @@
+package de.ait.javalessonspro.service.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * {@link JavaMailSenderImpl} that keeps up to {@code poolSize} connected and
+ * authenticated SMTP transports and sends message after message over them,
+ * instead of connecting, STARTTLS-ing and authenticating for every send.
+ * <p>
+ * A transport serves one thread at a time. It is closed after
+ * {@code maxMessagesPerConnection} messages, once it has been idle for
+ * {@code maxIdleMs}, or when a send fails in a way that leaves its state
+ * unknown. A transport idle for longer than {@code validateAfterIdleMs} is
+ * checked with NOOP before it is reused.
+ */
+@Slf4j
+public class PooledSmtpMailSender extends JavaMailSenderImpl implements DisposableBean, MeterBinder {
+
+    private final int poolSize;
+
+    private final int maxMessagesPerConnection;
+
+    private final long maxIdleMs;
+
+    private final long validateAfterIdleMs;
+
+    private final long borrowTimeoutMs;
+
+    // most recently used first, so hot connections are reused and cold ones age out
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+
+    private final Semaphore permits;
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong borrowWaitNanos = new AtomicLong();
+
+    public PooledSmtpMailSender(int poolSize, int maxMessagesPerConnection, long maxIdleMs,
+                                long validateAfterIdleMs, long borrowTimeoutMs) {
+        if (poolSize < 1 || maxMessagesPerConnection < 1) {
+            throw new IllegalArgumentException("SMTP pool size and messages per connection must be positive");
+        }
+        this.poolSize = poolSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleMs = maxIdleMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    /**
+     * Point-in-time view of the pool; counters are totals since startup.
+     */
+    public record Stats(int poolSize, int active, int idle, long opened, long closed, long recycled,
+                        long sent, long failed, long borrowWaitMs) {
+    }
+
+    private static final class Connection {
+        private final Transport transport;
+        private int messages;
+        private long lastUsedAt = System.nanoTime();
+
+        private Connection(Transport transport) {
+            this.transport = transport;
+        }
+
+        private long idleMs(long now) {
+            return TimeUnit.NANOSECONDS.toMillis(now - lastUsedAt);
+        }
+    }
+
+    /**
+     * Publishes {@link #stats()} as {@code mail.smtp.pool.*} meters.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.smtp.pool.size", this, sender -> sender.poolSize).register(registry);
+        Gauge.builder("mail.smtp.pool.active", this, sender -> sender.poolSize - sender.permits.availablePermits())
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.idle", this, sender -> sender.idle.size()).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.opened", opened, AtomicLong::get).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.closed", closed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.recycled", recycled, AtomicLong::get).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.sent", sent, AtomicLong::get).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.failed", failed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("mail.smtp.pool.borrow.wait", borrowWaitNanos, nanos -> nanos.get() / 1e9)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public Stats stats() {
+        int idleCount = idle.size();
+        return new Stats(poolSize, poolSize - permits.availablePermits(), idleCount, opened.get(), closed.get(),
+                recycled.get(), sent.get(), failed.get(), TimeUnit.NANOSECONDS.toMillis(borrowWaitNanos.get()));
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        Connection connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                try {
+                    if (connection == null) {
+                        connection = borrow();
+                    }
+                    send(connection, mimeMessage);
+                    sent.incrementAndGet();
+                    if (++connection.messages >= maxMessagesPerConnection) {
+                        recycled.incrementAndGet();
+                        discard(connection);
+                        connection = null;
+                    }
+                } catch (Exception exception) {
+                    failed.incrementAndGet();
+                    failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessage, exception);
+                    // rejected recipients leave the session usable, anything else may not
+                    if (connection != null && !(exception instanceof SendFailedException)) {
+                        discard(connection);
+                        connection = null;
+                    }
+                }
+            }
+        } finally {
+            if (connection != null) {
+                release(connection);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle for longer than {@code maxIdleMs}.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.pool.eviction-interval-ms:30000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        List<Connection> expired = new ArrayList<>();
+        idle.removeIf(connection -> {
+            if (connection.idleMs(now) < maxIdleMs) {
+                return false;
+            }
+            expired.add(connection);
+            return true;
+        });
+        expired.forEach(this::close);
+        if (!expired.isEmpty()) {
+            log.debug("Closed {} idle SMTP connection(s), pool: {}", expired.size(), stats());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection);
+        }
+    }
+
+    private void send(Connection connection, MimeMessage mimeMessage) throws MessagingException {
+        // same preparation as JavaMailSenderImpl#doSend
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        connection.transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+        connection.lastUsedAt = System.nanoTime();
+    }
+
+    private Connection borrow() throws MessagingException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP connection available within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", exception);
+        } finally {
+            borrowWaitNanos.addAndGet(System.nanoTime() - start);
+        }
+
+        try {
+            Connection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                long idleMs = connection.idleMs(System.nanoTime());
+                if (idleMs >= maxIdleMs
+                        || (idleMs >= validateAfterIdleMs && !connection.transport.isConnected())) {
+                    close(connection);
+                    continue;
+                }
+                return connection;
+            }
+            connection = new Connection(connectTransport());
+            opened.incrementAndGet();
+            return connection;
+        } catch (MessagingException | RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    private void release(Connection connection) {
+        idle.offerFirst(connection);
+        permits.release();
+    }
+
+    private void discard(Connection connection) {
+        close(connection);
+        permits.release();
+    }
+
+    private void close(Connection connection) {
+        closed.incrementAndGet();
+        try {
+            connection.transport.close();
+        } catch (MessagingException exception) {
+            log.debug("Closing SMTP connection failed: {}", exception.getMessage());
+        }
+    }
+}
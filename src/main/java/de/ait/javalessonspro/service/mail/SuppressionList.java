@@ -0,0 +1,173 @@
+package de.ait.javalessonspro.service.mail;
+
+import de.ait.javalessonspro.enums.SuppressionReason;
+import de.ait.javalessonspro.model.SuppressedEmail;
+import de.ait.javalessonspro.repositories.SuppressedEmailRepository;
+import de.ait.javalessonspro.repositories.SuppressedEmailRepository.SuppressedAddress;
+import de.ait.javalessonspro.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Addresses no email is sent to any more, e.g. after a hard bounce.
+ * <p>
+ * The table is the source of truth. An in-memory {@link BloomFilter} of all
+ * suppressed addresses answers {@link #isSuppressed} for almost every address
+ * that is not suppressed without touching the database; only a filter hit is
+ * confirmed against the table. Addresses suppressed on this node are added to
+ * the filter right away, those suppressed on other nodes by the periodic
+ * {@link #refresh}. The filter is rebuilt with twice the size once it holds
+ * more addresses than it was sized for.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuppressionList {
+
+    private static final int PAGE_SIZE = 5000;
+
+    // enhanced status codes of addressing failures: bad mailbox, bad domain, bad syntax, moved (RFC 3463)
+    private static final Pattern MAILBOX_STATUS = Pattern.compile("\\b5\\.1\\.\\d{1,3}\\b");
+
+    // re-read on refresh, in case a smaller id committed after a larger one was read
+    private static final int REFRESH_OVERLAP = 1000;
+
+    private final SuppressedEmailRepository repository;
+
+    @Value("${app.mail.suppression.expected-size:100000}")
+    private long expectedSize;
+
+    @Value("${app.mail.suppression.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // highest id loaded into the filter; guarded by this
+    private long loadedId;
+
+    @PostConstruct
+    synchronized void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedSize, repository.count() * 2), falsePositiveRate);
+        loadedId = load(rebuilt, 0);
+        filter = rebuilt;
+        log.info("Suppression filter built with {} address(es), {} bits", rebuilt.insertions(), rebuilt.bitCount());
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.suppression.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (filter.insertions() > filter.expectedInsertions()) {
+            rebuild();
+            return;
+        }
+        loadedId = Math.max(loadedId, load(filter, Math.max(0, loadedId - REFRESH_OVERLAP)));
+    }
+
+    public boolean isSuppressed(String email) {
+        if (email == null) {
+            return false;
+        }
+        String address = normalize(email);
+        return filter.mightContain(address) && repository.existsByEmail(address);
+    }
+
+    /**
+     * Suppresses {@code email}; nothing happens if it already is.
+     *
+     * @return true if the address was not suppressed before
+     */
+    public synchronized boolean suppress(String email, SuppressionReason reason, String detail) {
+        String address = normalize(email);
+        filter.put(address);
+        if (repository.existsByEmail(address)) {
+            return false;
+        }
+        try {
+            repository.save(new SuppressedEmail(address, reason, truncate(detail)));
+        } catch (DataIntegrityViolationException exception) {
+            // suppressed by another node in the meantime
+            return false;
+        }
+        log.info("Suppressed {} ({})", address, reason);
+        return true;
+    }
+
+    /**
+     * Suppresses the addresses an SMTP server rejected because their mailbox does
+     * not exist: an {@link SMTPAddressFailedException} with a 5xx reply and an
+     * enhanced status of 5.1.x. Other permanent rejections of a recipient, such as
+     * {@code 550 5.7.1 relaying denied}, come from policy or from our own SMTP
+     * setup and suppress nothing.
+     *
+     * @return true if the failure was such a rejection
+     */
+    public boolean suppressRejected(Exception exception) {
+        List<SMTPAddressFailedException> rejected = new ArrayList<>();
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.push(exception);
+        while (!pending.isEmpty()) {
+            Throwable current = pending.pop();
+            if (current instanceof MailSendException mailSendException) {
+                mailSendException.getFailedMessages().values().forEach(pending::push);
+            }
+            if (current instanceof SMTPAddressFailedException failed && mailboxUnknown(failed)) {
+                rejected.add(failed);
+            }
+            if (current instanceof MessagingException messagingException && messagingException.getNextException() != null) {
+                pending.push(messagingException.getNextException());
+            } else if (current.getCause() != null && current.getCause() != current) {
+                pending.push(current.getCause());
+            }
+        }
+        for (SMTPAddressFailedException failed : rejected) {
+            suppress(failed.getAddress().getAddress(), SuppressionReason.HARD_BOUNCE, failed.getMessage());
+        }
+        return !rejected.isEmpty();
+    }
+
+    private static boolean mailboxUnknown(SMTPAddressFailedException failed) {
+        return failed.getReturnCode() / 100 == 5 && failed.getAddress() != null
+                && failed.getMessage() != null && MAILBOX_STATUS.matcher(failed.getMessage()).find();
+    }
+
+    private long load(BloomFilter target, long afterId) {
+        long lastId = afterId;
+        List<SuppressedAddress> page;
+        do {
+            page = repository.findAddressesAfter(lastId, PageRequest.of(0, PAGE_SIZE));
+            for (SuppressedAddress address : page) {
+                target.put(address.getEmail());
+                lastId = address.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return lastId;
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String detail) {
+        return detail == null || detail.length() <= 500 ? detail : detail.substring(0, 500);
+    }
+}
@@ -0,0 +1,103 @@
+package de.ait.javalessonspro.service.mail;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateEngineException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * HTML body of an email that is rendered while the message is written, straight
+ * into the transfer-encoding stream of its MIME part, instead of into an
+ * intermediate String and byte array first. The part must declare its charset
+ * and transfer encoding, otherwise JavaMail renders the body once more just to
+ * choose them.
+ */
+class TemplateDataHandler extends DataHandler {
+
+    static final String CONTENT_TYPE = "text/html; charset=UTF-8";
+
+    private final TemplateEngine templateEngine;
+
+    private final String template;
+
+    private final Context context;
+
+    private final EmailMetrics metrics;
+
+    TemplateDataHandler(TemplateEngine templateEngine, String template, Context context, EmailMetrics metrics) {
+        this(new RenderedSource(templateEngine, template, context), templateEngine, template, context, metrics);
+    }
+
+    private TemplateDataHandler(DataSource source, TemplateEngine templateEngine, String template, Context context,
+                                EmailMetrics metrics) {
+        super(source);
+        this.templateEngine = templateEngine;
+        this.template = template;
+        this.context = context;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        render(templateEngine, template, context, writer);
+        metrics.stage(EmailMetrics.Stage.RENDER, template, start);
+        // flushed, not closed: the stream belongs to JavaMail
+        writer.flush();
+    }
+
+    private static void render(TemplateEngine templateEngine, String template, Context context, Writer writer)
+            throws IOException {
+        try {
+            templateEngine.process(template, context, writer);
+        } catch (TemplateEngineException exception) {
+            // reported by JavaMail as a MessagingException, which makes it drop the half-written connection
+            throw new IOException("Failed to render email template " + template, exception);
+        }
+    }
+
+    /**
+     * Renders into memory; only used when the content is read back, e.g. by {@code getContent()}.
+     */
+    private record RenderedSource(TemplateEngine templateEngine, String template, Context context)
+            implements DataSource {
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            StringWriter writer = new StringWriter();
+            render(templateEngine, template, context, writer);
+            return new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException("Rendered email body is read-only");
+        }
+
+        @Override
+        public String getContentType() {
+            return CONTENT_TYPE;
+        }
+
+        @Override
+        public String getName() {
+            return template;
+        }
+    }
+}
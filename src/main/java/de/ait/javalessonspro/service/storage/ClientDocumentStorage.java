@@ -0,0 +1,28 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.StorageTier;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Read access to the content of client documents in one {@link StorageTier}.
+ * Callers pick the implementation by the document's current tier.
+ */
+public interface ClientDocumentStorage {
+
+    StorageTier tier();
+
+    /**
+     * Writes {@code length} bytes of the document's content, starting at {@code start}, to {@code out}.
+     *
+     * @throws IllegalStateException if the content is missing or corrupt
+     */
+    void copyRange(ClientDocumentDb doc, long start, long length, OutputStream out) throws IOException;
+}
@@ -0,0 +1,318 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.StorageTier;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Hot/cold tiering of client documents between the database and the blob store.
+ * <p>
+ * Downloads {@link #recordAccess record} every read and go through
+ * {@link #copyRange}, which resolves the document's current tier. Reads are
+ * counted in memory and {@link #flushAccesses flushed} to the document rows in
+ * one transaction every few seconds, so a download does not write. A scheduled
+ * job moves documents nobody has read for {@code cold-after-days} out of the
+ * database and, if promotion is enabled, moves documents that are read often
+ * again back in. The job handles a limited number of documents and bytes per
+ * run and pauses between documents, so it never competes with user traffic.
+ * <p>
+ * Each move runs in one transaction that locks the document row, writes the
+ * content to the new tier, re-points the row and removes the old content. A
+ * download that started before the move keeps reading the old tier; one that
+ * finds its tier gone continues once from the new one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClientDocumentTiering {
+
+    private final ClientDocumentDbRepository repository;
+
+    private final DatabaseClientDocumentStorage databaseStorage;
+
+    private final DocumentBlobStore blobStore;
+
+    private final List<ClientDocumentStorage> storages;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.storage.tiering.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.storage.tiering.cold-after-days:30}")
+    private int coldAfterDays;
+
+    @Value("${app.storage.tiering.promote-enabled:false}")
+    private boolean promoteEnabled;
+
+    @Value("${app.storage.tiering.promote-min-accesses:10}")
+    private long promoteMinAccesses;
+
+    @Value("${app.storage.tiering.promote-window-days:7}")
+    private int promoteWindowDays;
+
+    @Value("${app.storage.tiering.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.storage.tiering.max-bytes-per-run:268435456}")
+    private long maxBytesPerRun;
+
+    @Value("${app.storage.tiering.pause-ms:200}")
+    private long pauseMs;
+
+    private Map<StorageTier, ClientDocumentStorage> storageByTier;
+
+    private final Map<Long, PendingAccess> pendingAccesses = new ConcurrentHashMap<>();
+
+    private record PendingAccess(long count, LocalDateTime lastAccessedAt) {
+
+        PendingAccess plus(PendingAccess other) {
+            return new PendingAccess(count + other.count,
+                    lastAccessedAt.isAfter(other.lastAccessedAt) ? lastAccessedAt : other.lastAccessedAt);
+        }
+    }
+
+    @PostConstruct
+    void indexStorages() {
+        storageByTier = storages.stream()
+                .collect(Collectors.toMap(ClientDocumentStorage::tier, Function.identity()));
+    }
+
+    /**
+     * Writes a range of the document's content from whichever tier holds it.
+     */
+    public void copyRange(ClientDocumentDb doc, long start, long length, OutputStream out) throws IOException {
+        CountingOutputStream counted = new CountingOutputStream(out);
+        try {
+            storageOf(doc.getStorageTier()).copyRange(doc, start, length, counted);
+        } catch (IllegalStateException missing) {
+            // the document may have changed tier after its metadata was read. The old tier
+            // may have sent part of the range before its content went away, so continue after it.
+            ClientDocumentDb current = repository.findById(doc.getId()).orElseThrow(() -> missing);
+            if (current.getStorageTier() == doc.getStorageTier()) {
+                throw missing;
+            }
+            long written = counted.count;
+            log.debug("Client document {} moved to {} during download, continuing after {} byte(s)",
+                    doc.getId(), current.getStorageTier(), written);
+            storageOf(current.getStorageTier()).copyRange(current, start + written, length - written, out);
+        }
+    }
+
+    /**
+     * Counts a read of the document; written to its row by the next {@link #flushAccesses}.
+     */
+    public void recordAccess(Long id) {
+        pendingAccesses.merge(id, new PendingAccess(1, LocalDateTime.now()), PendingAccess::plus);
+    }
+
+    /**
+     * Writes the reads counted since the last flush, one update per document, in one
+     * transaction. Reads counted on a node that dies before its flush are lost; they
+     * only steer the tiering.
+     */
+    @Scheduled(fixedDelayString = "${app.storage.tiering.access-flush-ms:10000}")
+    @PreDestroy
+    public void flushAccesses() {
+        if (pendingAccesses.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingAccess> batch = new HashMap<>();
+        for (Long id : pendingAccesses.keySet()) {
+            PendingAccess access = pendingAccesses.remove(id);
+            if (access != null) {
+                batch.put(id, access);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach((id, access) ->
+                    repository.recordAccesses(id, access.count(), access.lastAccessedAt())));
+        } catch (RuntimeException exception) {
+            // put them back for the next flush
+            batch.forEach((id, access) -> pendingAccesses.merge(id, access, PendingAccess::plus));
+            log.warn("Failed to record reads of {} client document(s): {}", batch.size(), exception.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering.interval-ms:3600000}",
+            initialDelayString = "${app.storage.tiering.interval-ms:3600000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        long budget = maxBytesPerRun;
+        int demoted = 0;
+        List<ClientDocumentDb> cold = repository.findByStorageTierAndLastAccessedAtBeforeOrderByLastAccessedAtAsc(
+                StorageTier.DATABASE, LocalDateTime.now().minusDays(coldAfterDays), PageRequest.of(0, batchSize));
+        for (ClientDocumentDb doc : cold) {
+            if (doc.getSize() > budget || !pause()) {
+                break;
+            }
+            budget -= doc.getSize();
+            demoted += moveQuietly(doc.getId(), StorageTier.FILESYSTEM) ? 1 : 0;
+        }
+
+        int promoted = 0;
+        if (promoteEnabled) {
+            List<ClientDocumentDb> hot = repository
+                    .findByStorageTierAndAccessCountGreaterThanEqualAndLastAccessedAtAfterOrderByAccessCountDesc(
+                            StorageTier.FILESYSTEM, promoteMinAccesses,
+                            LocalDateTime.now().minusDays(promoteWindowDays), PageRequest.of(0, batchSize));
+            for (ClientDocumentDb doc : hot) {
+                if (doc.getSize() > budget || !pause()) {
+                    break;
+                }
+                budget -= doc.getSize();
+                promoted += moveQuietly(doc.getId(), StorageTier.DATABASE) ? 1 : 0;
+            }
+        }
+        if (demoted > 0 || promoted > 0) {
+            log.info("Client document tiering: {} moved to the file system, {} back to the database",
+                    demoted, promoted);
+        }
+    }
+
+    /**
+     * Moves a database document into the blob store. The content is verified
+     * chunk by chunk while it is copied to a temporary file.
+     *
+     * @return false if the document is not in the database tier (anymore)
+     */
+    public boolean demote(Long id) throws IOException {
+        ClientDocumentDb doc = repository.findById(id).orElse(null);
+        if (doc == null || doc.getStorageTier() != StorageTier.DATABASE) {
+            return false;
+        }
+        Path tempFile = Files.createTempFile("client-document-" + id + "-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                databaseStorage.copyRange(doc, 0, doc.getSize(), out);
+            }
+            DocumentBlobStore.BlobUpload upload;
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                upload = blobStore.upload(in, Long.MAX_VALUE, null);
+            }
+            return blobStore.attach(upload, doc.getDocType(), blob -> {
+                ClientDocumentDb current = repository.findForUpdate(id)
+                        .filter(locked -> locked.getStorageTier() == StorageTier.DATABASE)
+                        // rolls back the blob reference taken above
+                        .orElseThrow(() -> new IllegalStateException("Client document " + id
+                                + " changed while it was moved"));
+                databaseStorage.remove(current);
+                current.setStorageTier(StorageTier.FILESYSTEM);
+                current.setStoragePath(blob.getStoragePath());
+                current.setChecksumSha256(blob.getSha256());
+                current.setAccessCount(0);
+                return true;
+            });
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Moves a blob store document back into database chunks and drops its blob reference.
+     *
+     * @return false if the document is not in the file system tier (anymore)
+     */
+    public boolean promote(Long id) {
+        Boolean promoted = transactionTemplate.execute(status -> {
+            ClientDocumentDb doc = repository.findForUpdate(id).orElse(null);
+            if (doc == null || doc.getStorageTier() != StorageTier.FILESYSTEM) {
+                return false;
+            }
+            BlobSlice content = blobStore.locate(doc.getChecksumSha256(), doc.getStoragePath());
+            try (InputStream in = content.openStream()) {
+                databaseStorage.store(doc, in);
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Failed to read blob of client document " + id, exception);
+            }
+            String sha256 = doc.getChecksumSha256();
+            doc.setStorageTier(StorageTier.DATABASE);
+            doc.setStoragePath(null);
+            doc.setChecksumSha256(null);
+            doc.setAccessCount(0);
+            // the blob file is only deleted after commit, and only if nothing else uses it
+            blobStore.release(sha256);
+            return true;
+        });
+        return Boolean.TRUE.equals(promoted);
+    }
+
+    private boolean moveQuietly(Long id, StorageTier target) {
+        try {
+            return target == StorageTier.FILESYSTEM ? demote(id) : promote(id);
+        } catch (IOException | RuntimeException exception) {
+            log.error("Failed to move client document {} to {}", id, target, exception);
+            return false;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            out.write(value);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            count += length;
+        }
+    }
+
+    private ClientDocumentStorage storageOf(StorageTier tier) {
+        ClientDocumentStorage storage = storageByTier.get(tier);
+        if (storage == null) {
+            throw new IllegalStateException("No storage for tier " + tier);
+        }
+        return storage;
+    }
+}
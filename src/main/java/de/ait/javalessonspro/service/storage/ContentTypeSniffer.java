@@ -0,0 +1,56 @@
+package de.ait.javalessonspro.service.storage;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Detects the real file type from its leading magic bytes instead of
+ * trusting the Content-Type sent by the client.
+ */
+public final class ContentTypeSniffer {
+
+    /** Number of leading bytes needed to recognise every supported type. */
+    public static final int HEAD_LENGTH = 12;
+
+    private static final byte[] PDF = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    private ContentTypeSniffer() {
+    }
+
+    /**
+     * @return the detected MIME type or {@code null} if the type is not recognised
+     */
+    public static String detect(byte[] head, int length) {
+        if (startsWith(head, length, 0, PDF)) {
+            return "application/pdf";
+        }
+        if (startsWith(head, length, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, RIFF) && startsWith(head, length, 8, WEBP)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, byte[] magic) {
+        if (length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head[offset + i] != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
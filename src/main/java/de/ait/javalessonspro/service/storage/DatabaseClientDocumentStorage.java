@@ -0,0 +1,113 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.StorageTier;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.repositories.ClientDocumentChunkRepository;
+import de.ait.javalessonspro.repositories.ClientDocumentContentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Client document content in the database: checksummed chunks, or the single
+ * {@code client_document_data} row of documents not migrated to chunks yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseClientDocumentStorage implements ClientDocumentStorage {
+
+    private final ClientDocumentChunkRepository chunkRepository;
+
+    private final ClientDocumentContentRepository contentRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.upload.client-doc-chunk-size:262144}")
+    private int chunkSize;
+
+    @Override
+    public StorageTier tier() {
+        return StorageTier.DATABASE;
+    }
+
+    /**
+     * Chunks run in a transaction of their own, so that PostgreSQL fetches them one by one.
+     */
+    @Override
+    public void copyRange(ClientDocumentDb doc, long start, long length, OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (doc.getChunkSize() != null) {
+                chunkRepository.copyRange(doc.getId(), doc.getChunkSize(), start, length, out);
+                return;
+            }
+            boolean found = contentRepository.read(doc.getId(), content -> {
+                content.skipNBytes(start);
+                copy(content, out, length);
+            });
+            if (!found) {
+                throw new IllegalStateException("Content of client document " + doc.getId() + " is missing");
+            }
+        });
+    }
+
+    /**
+     * Stores the content as chunks and sets the document's chunk size. Must run
+     * in the transaction that writes the document row.
+     *
+     * @throws IllegalStateException if the content does not have the document's size
+     */
+    public void store(ClientDocumentDb doc, InputStream content) throws IOException {
+        doc.setChunkSize(chunkSize);
+        long written = chunkRepository.write(doc.getId(), content, chunkSize);
+        if (written != doc.getSize()) {
+            throw new IllegalStateException("Client document " + doc.getId() + " has " + written
+                    + " bytes, expected " + doc.getSize());
+        }
+    }
+
+    /**
+     * Moves a document's single content row into chunks. Must run in a transaction.
+     *
+     * @return false if the document has no single content row
+     */
+    public boolean migrateToChunks(ClientDocumentDb doc) {
+        boolean found = contentRepository.read(doc.getId(), content -> store(doc, content));
+        if (found) {
+            contentRepository.delete(doc.getId());
+        }
+        return found;
+    }
+
+    /**
+     * Removes the content of a document that moved to another tier. Must run in
+     * the transaction that updates the document row.
+     */
+    public void remove(ClientDocumentDb doc) {
+        chunkRepository.deleteByDocumentId(doc.getId());
+        contentRepository.delete(doc.getId());
+        doc.setChunkSize(null);
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Content ended before the requested range was sent");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
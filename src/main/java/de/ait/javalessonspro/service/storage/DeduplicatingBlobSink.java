@@ -0,0 +1,178 @@
+package de.ait.javalessonspro.service.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Upload sink that detects duplicates while the bytes are still arriving.
+ * <p>
+ * The first {@link #PREFIX_SIZE} bytes are held back and hashed. If a stored blob
+ * starts with the same prefix, the following chunks are only compared against
+ * that blob instead of being written. When the whole upload matches, nothing is
+ * written at all. On the first differing byte the already matched part is copied
+ * from the existing blob into the staging file and writing continues from there.
+ */
+public class DeduplicatingBlobSink implements UploadSink {
+
+    public static final int PREFIX_SIZE = 64 * 1024;
+
+    private final Function<String, Optional<BlobSlice>> candidateLookup;
+    private final FileChannelSink staging;
+    private final byte[] prefix = new byte[PREFIX_SIZE];
+    private final ByteBuffer compareBuffer = ByteBuffer.allocate(64 * 1024);
+
+    private int prefixLength;
+    private String prefixSha256;
+    private FileChannel candidate;
+    private BlobSlice candidateSlice;
+    private long matched;
+    private boolean writing;
+
+    /**
+     * @param candidateLookup resolves a prefix hash to an existing blob with the same prefix
+     * @param stagingFile     file the upload is written to if it turns out to be new content
+     */
+    public DeduplicatingBlobSink(Function<String, Optional<BlobSlice>> candidateLookup, Path stagingFile) {
+        this.candidateLookup = candidateLookup;
+        this.staging = new FileChannelSink(stagingFile);
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        if (prefixSha256 == null) {
+            int count = Math.min(length, PREFIX_SIZE - prefixLength);
+            System.arraycopy(data, offset, prefix, prefixLength, count);
+            prefixLength += count;
+            offset += count;
+            length -= count;
+            if (prefixLength < PREFIX_SIZE) {
+                return;
+            }
+            resolvePrefix();
+        }
+        if (length > 0) {
+            accept(data, offset, length);
+        }
+    }
+
+    /**
+     * Completes the upload once the stream is exhausted.
+     *
+     * @return the existing blob whose content equals the upload, or empty if
+     * the upload was written to the staging file
+     */
+    public Optional<BlobSlice> finish() throws IOException {
+        if (prefixSha256 == null) {
+            resolvePrefix();
+        }
+        if (candidate != null) {
+            if (candidateSlice.length() == matched) {
+                BlobSlice duplicate = candidateSlice;
+                closeCandidate();
+                return Optional.of(duplicate);
+            }
+            divergeFromCandidate();
+        }
+        return Optional.empty();
+    }
+
+    public String getPrefixSha256() {
+        return prefixSha256;
+    }
+
+    public Path getStagingFile() {
+        return staging.getTarget();
+    }
+
+    private void resolvePrefix() throws IOException {
+        MessageDigest digest = UploadPipeline.sha256();
+        digest.update(prefix, 0, prefixLength);
+        prefixSha256 = HexFormat.of().formatHex(digest.digest());
+
+        Optional<BlobSlice> existing = candidateLookup.apply(prefixSha256);
+        if (existing.isPresent()) {
+            try {
+                candidate = FileChannel.open(existing.get().file(), StandardOpenOption.READ);
+                candidateSlice = existing.get();
+            } catch (IOException exception) {
+                // blob vanished in the meantime, fall back to writing
+                candidate = null;
+            }
+        }
+        accept(prefix, 0, prefixLength);
+    }
+
+    private void accept(byte[] data, int offset, int length) throws IOException {
+        if (candidate != null && !writing) {
+            int equal = compare(data, offset, length);
+            if (equal == length) {
+                return;
+            }
+            divergeFromCandidate();
+            offset += equal;
+            length -= equal;
+        }
+        writing = true;
+        staging.write(data, offset, length);
+    }
+
+    private int compare(byte[] data, int offset, int length) throws IOException {
+        int equal = 0;
+        while (equal < length) {
+            long candidateRemaining = candidateSlice.length() - matched;
+            if (candidateRemaining <= 0) {
+                return equal;
+            }
+            compareBuffer.clear().limit((int) Math.min(Math.min(compareBuffer.capacity(), length - equal),
+                    candidateRemaining));
+            int read = candidate.read(compareBuffer, candidateSlice.offset() + matched);
+            if (read <= 0) {
+                return equal;
+            }
+            for (int i = 0; i < read; i++) {
+                if (compareBuffer.get(i) != data[offset + equal]) {
+                    return equal;
+                }
+                equal++;
+                matched++;
+            }
+        }
+        return equal;
+    }
+
+    private void divergeFromCandidate() throws IOException {
+        writing = true;
+        if (matched > 0) {
+            staging.transferFrom(candidate, candidateSlice.offset(), matched);
+        }
+        closeCandidate();
+    }
+
+    private void closeCandidate() throws IOException {
+        if (candidate != null) {
+            candidate.close();
+            candidate = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeCandidate();
+        } finally {
+            staging.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.CandidateDocumentOs;
+import de.ait.javalessonspro.model.CarDocumentOs;
+import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * One-off migration of documents stored before the blob store existed.
+ * Every legacy file is pushed through the blob store (identical files end up
+ * as one blob), the document row is re-pointed and the old file removed.
+ * <p>
+ * Enable once with {@code app.storage.blob-migration.enabled=true}; documents
+ * that are already in the blob store are skipped, so a rerun is harmless.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.blob-migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBlobMigration implements ApplicationRunner {
+
+    private final DocumentBlobStore blobStore;
+
+    private final CarDocumentOsRepository carDocumentOsRepository;
+
+    private final CandidateDocumentOsRepository candidateDocumentOsRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting document blob migration into {}", blobStore.getRoot());
+        int cars = migrateCarDocuments();
+        int candidates = migrateCandidateDocuments();
+        log.info("Document blob migration finished: {} car and {} candidate document(s) migrated", cars, candidates);
+    }
+
+    private int migrateCarDocuments() {
+        int migrated = 0;
+        long lastId = 0;
+        List<CarDocumentOs> batch;
+        while (!(batch = carDocumentOsRepository.findTop100ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            for (CarDocumentOs doc : batch) {
+                lastId = doc.getId();
+                if (blobStore.isBlobPath(doc.getStoragePath())) {
+                    continue;
+                }
+                Path legacyFile = Paths.get(doc.getStoragePath());
+                try {
+                    DocumentBlobStore.BlobUpload upload = upload(legacyFile);
+                    blobStore.attach(upload, doc.getDocType(), blob -> {
+                        doc.setStoragePath(blob.getStoragePath());
+                        doc.setStoredFileName(blob.getSha256());
+                        doc.setChecksumSha256(blob.getSha256());
+                        doc.setDetectedContentType(upload.result().detectedContentType());
+                        return carDocumentOsRepository.save(doc);
+                    });
+                    Files.deleteIfExists(legacyFile);
+                    migrated++;
+                } catch (IOException | RuntimeException exception) {
+                    log.error("Failed to migrate car document {} ({})", doc.getId(), legacyFile, exception);
+                }
+            }
+        }
+        return migrated;
+    }
+
+    private int migrateCandidateDocuments() {
+        int migrated = 0;
+        long lastId = 0;
+        List<CandidateDocumentOs> batch;
+        while (!(batch = candidateDocumentOsRepository.findTop100ByIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+            for (CandidateDocumentOs doc : batch) {
+                lastId = doc.getId();
+                if (blobStore.isBlobPath(doc.getStoragePath())) {
+                    continue;
+                }
+                Path legacyFile = Paths.get(doc.getStoragePath());
+                try {
+                    DocumentBlobStore.BlobUpload upload = upload(legacyFile);
+                    blobStore.attach(upload, doc.getDocType(), blob -> {
+                        doc.setStoragePath(blob.getStoragePath());
+                        doc.setStoredFileName(blob.getSha256());
+                        doc.setChecksumSha256(blob.getSha256());
+                        doc.setDetectedContentType(upload.result().detectedContentType());
+                        return candidateDocumentOsRepository.save(doc);
+                    });
+                    Files.deleteIfExists(legacyFile);
+                    migrated++;
+                } catch (IOException | RuntimeException exception) {
+                    log.error("Failed to migrate candidate document {} ({})", doc.getId(), legacyFile, exception);
+                }
+            }
+        }
+        return migrated;
+    }
+
+    private DocumentBlobStore.BlobUpload upload(Path legacyFile) throws IOException {
+        try (InputStream in = Files.newInputStream(legacyFile)) {
+            // legacy files were accepted under the old rules, do not re-validate them
+            return blobStore.upload(in, Long.MAX_VALUE, null);
+        }
+    }
+}
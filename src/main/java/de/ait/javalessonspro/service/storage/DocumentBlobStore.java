@@ -0,0 +1,442 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.DocumentBlob;
+import de.ait.javalessonspro.repositories.DocumentBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Content-addressed, reference-counted store for document files.
+ * <p>
+ * Uploading is split in two steps so that no DB connection is held while the
+ * bytes arrive: {@link #upload} streams the content through the upload pipeline
+ * into a staging file (or only compares it with an identical blob), and
+ * {@link #attach} registers the blob and writes the caller's metadata row in one
+ * short transaction.
+ * <p>
+ * Blobs are stored one file each, except for small blobs of the document types
+ * configured for the {@link PackBlobBackend}, which are appended to pack segments.
+ * Readers get a {@link BlobSlice} either way.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBlobStore {
+
+    private final DocumentBlobRepository blobRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final StoragePathStrategy pathStrategy;
+
+    private final PackBlobBackend packBackend;
+
+    private static final String DERIVED_DIR = "derived";
+
+    @Value("${app.upload.blob-dir}")
+    private String blobDir;
+
+    public record BlobUpload(UploadPipeline.UploadResult result,
+                             String prefixSha256,
+                             Path stagingFile,
+                             BlobSlice duplicateOf) {
+
+        public String sha256() {
+            return result.sha256();
+        }
+
+        public boolean isDuplicate() {
+            return duplicateOf != null;
+        }
+    }
+
+    /**
+     * Streams the content through the upload pipeline. Content identical to an
+     * existing blob is detected on the fly and not written again.
+     */
+    public BlobUpload upload(InputStream content, long maxBytes, Set<String> allowedTypes) throws IOException {
+        Path stagingDir = getRoot().resolve("staging");
+        Files.createDirectories(stagingDir);
+        Path stagingFile = stagingDir.resolve(UUID.randomUUID() + ".part");
+
+        try (DeduplicatingBlobSink sink = new DeduplicatingBlobSink(this::findByPrefix, stagingFile)) {
+            UploadPipeline.UploadResult result = UploadPipeline.process(content, sink, maxBytes, allowedTypes);
+            Optional<BlobSlice> duplicate = sink.finish();
+            if (duplicate.isPresent()) {
+                log.debug("Upload {} matches existing blob {}, nothing written", result.sha256(),
+                        duplicate.get().file());
+            }
+            return new BlobUpload(result, sink.getPrefixSha256(), duplicate.isPresent() ? null : stagingFile,
+                    duplicate.orElse(null));
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(stagingFile);
+            throw exception;
+        }
+    }
+
+    /**
+     * Registers the uploaded blob (or takes another reference on an identical one)
+     * and runs {@code metadataWriter} in the same transaction. The staging file is
+     * removed if the transaction fails.
+     */
+    public <T> T attach(BlobUpload upload, Function<DocumentBlob, T> metadataWriter) {
+        return attach(upload, null, metadataWriter);
+    }
+
+    /**
+     * Like {@link #attach(BlobUpload, Function)}; a new blob is packed if the
+     * pack backend is configured for {@code docType}.
+     */
+    public <T> T attach(BlobUpload upload, Enum<?> docType, Function<DocumentBlob, T> metadataWriter) {
+        try {
+            try {
+                return transactionTemplate.execute(status -> metadataWriter.apply(reference(upload, docType)));
+            } catch (DataIntegrityViolationException concurrentInsert) {
+                // another upload of the same content registered the blob first
+                log.debug("Blob {} was registered concurrently, retrying", upload.sha256());
+                return transactionTemplate.execute(status -> metadataWriter.apply(reference(upload, docType)));
+            }
+        } finally {
+            discard(upload);
+        }
+    }
+
+    /**
+     * Registers several uploads and writes their metadata in one transaction. Blob rows
+     * are locked in hash order so that concurrent batches cannot deadlock.
+     * <p>
+     * All or nothing: if anything fails the exception is rethrown and the staging
+     * files are kept, so the caller can fall back to {@link #attach} per upload
+     * (which also cleans them up).
+     *
+     * @return the writer's results in the order of {@code uploads}
+     */
+    public <T> List<T> attachAll(List<BlobUpload> uploads, Enum<?> docType,
+                                 BiFunction<BlobUpload, DocumentBlob, T> metadataWriter) {
+        List<Integer> lockOrder = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            lockOrder.add(i);
+        }
+        lockOrder.sort(Comparator.comparing(i -> uploads.get(i).sha256()));
+
+        List<T> results = transactionTemplate.execute(status -> {
+            List<T> written = new ArrayList<>(Collections.nCopies(uploads.size(), null));
+            for (int index : lockOrder) {
+                BlobUpload upload = uploads.get(index);
+                written.set(index, metadataWriter.apply(upload, reference(upload, docType)));
+            }
+            return written;
+        });
+        uploads.forEach(this::discard);
+        return results;
+    }
+
+    /**
+     * Drops one reference. The file is deleted after commit when no document uses it anymore.
+     */
+    public void release(String sha256) {
+        transactionTemplate.executeWithoutResult(status ->
+                blobRepository.findForUpdate(sha256).ifPresent(blob -> {
+                    if (blob.getRefCount() > 1) {
+                        blob.setRefCount(blob.getRefCount() - 1);
+                        return;
+                    }
+                    blobRepository.delete(blob);
+                    String storagePath = blob.getStoragePath();
+                    afterCompletion(committed -> {
+                        if (committed) {
+                            if (PackBlobBackend.isPackPath(storagePath)) {
+                                packBackend.delete(sha256);
+                            } else {
+                                deleteQuietly(Paths.get(storagePath));
+                            }
+                            deleteDerivedFiles(sha256);
+                            log.info("Deleted unreferenced blob {}", sha256);
+                        }
+                    });
+                }));
+    }
+
+    /**
+     * Resolves a document's bytes. If the stored path went stale because the blob
+     * was relocated in the meantime, the blob's current location is looked up again.
+     * A missing blob yields a slice whose {@link BlobSlice#exists()} is {@code false}.
+     */
+    public BlobSlice locate(String sha256, String storagePath) {
+        Optional<BlobSlice> slice = slice(storagePath);
+        if (slice.isPresent() || sha256 == null) {
+            return slice.orElseGet(() -> missing(storagePath));
+        }
+        return blobRepository.findById(sha256)
+                .flatMap(blob -> slice(blob.getStoragePath()))
+                .orElseGet(() -> missing(storagePath));
+    }
+
+    /**
+     * Moves a blob to the location the current layout expects. The file is hard
+     * linked (or copied) first, then the blob row and, through {@code referenceUpdater},
+     * the document rows are re-pointed in one transaction; the old file is only
+     * removed after commit, so readers of the old path are never cut off.
+     *
+     * @param referenceUpdater receives the old and the new storage path inside the transaction
+     * @return {@code true} if the blob was moved
+     */
+    public boolean relocate(String sha256, BiConsumer<String, String> referenceUpdater) {
+        Boolean moved = transactionTemplate.execute(status -> {
+            DocumentBlob blob = blobRepository.findForUpdate(sha256).orElse(null);
+            if (blob == null || PackBlobBackend.isPackPath(blob.getStoragePath())) {
+                // packed blobs are not part of the file layout
+                return false;
+            }
+            Path current = Paths.get(blob.getStoragePath()).toAbsolutePath().normalize();
+            Path target = resolveBlobPath(sha256);
+            if (current.equals(target)) {
+                return false;
+            }
+            try {
+                boolean created = linkOrCopy(current, target);
+                String oldPath = blob.getStoragePath();
+                blob.setStoragePath(target.toString());
+                referenceUpdater.accept(oldPath, target.toString());
+                afterCompletion(committed -> deleteQuietly(committed ? current : created ? target : null));
+                return true;
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Failed to relocate blob " + sha256, exception);
+            }
+        });
+        return Boolean.TRUE.equals(moved);
+    }
+
+    /**
+     * Location of a file derived from a blob (e.g. a rendition). Derived files are
+     * removed together with the blob.
+     */
+    public Path resolveDerivedPath(String variant, String sha256) {
+        return pathStrategy.resolve(getRoot().resolve(DERIVED_DIR).resolve(variant), sha256);
+    }
+
+    public boolean isBlobPath(String storagePath) {
+        return PackBlobBackend.isPackPath(storagePath)
+                || storagePath != null && Paths.get(storagePath).toAbsolutePath().normalize().startsWith(getRoot());
+    }
+
+    public Path getRoot() {
+        return Paths.get(blobDir).toAbsolutePath().normalize();
+    }
+
+    private DocumentBlob reference(BlobUpload upload, Enum<?> docType) {
+        Optional<DocumentBlob> existing = blobRepository.findForUpdate(upload.sha256());
+        try {
+            if (existing.isPresent()) {
+                DocumentBlob blob = existing.get();
+                if (PackBlobBackend.isPackPath(blob.getStoragePath())) {
+                    if (!packBackend.contains(upload.sha256())) {
+                        placePackedBlob(upload);
+                    }
+                } else {
+                    Path blobFile = Paths.get(blob.getStoragePath());
+                    if (!Files.exists(blobFile)) {
+                        // repair a blob whose file went missing
+                        placeBlobFile(upload, blobFile);
+                    }
+                }
+                blob.setRefCount(blob.getRefCount() + 1);
+                return blob;
+            }
+
+            boolean packed = packBackend.accepts(docType, upload.result().size());
+            Path target = packed ? null : resolveBlobPath(upload.sha256());
+            // insert first: the new row locks the hash, so no concurrent upload places this file meanwhile
+            DocumentBlob blob = blobRepository.saveAndFlush(new DocumentBlob(
+                    upload.sha256(),
+                    upload.result().size(),
+                    upload.result().detectedContentType(),
+                    packed ? PackBlobBackend.storagePath(upload.sha256()) : target.toString(),
+                    upload.prefixSha256()));
+            if (packed) {
+                placePackedBlob(upload);
+            } else {
+                placeBlobFile(upload, target);
+            }
+            return blob;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to store blob " + upload.sha256(), exception);
+        }
+    }
+
+    private void deleteDerivedFiles(String sha256) {
+        Path derivedRoot = getRoot().resolve(DERIVED_DIR);
+        if (!Files.isDirectory(derivedRoot)) {
+            return;
+        }
+        try (Stream<Path> variants = Files.list(derivedRoot)) {
+            variants.forEach(variant -> deleteQuietly(pathStrategy.resolve(variant, sha256)));
+        } catch (IOException exception) {
+            log.warn("Failed to clean up derived files of blob {}", sha256, exception);
+        }
+    }
+
+    private void placeBlobFile(BlobUpload upload, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path staging = upload.stagingFile();
+        if (staging != null && Files.exists(staging)) {
+            Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // hand the bytes back to the upload on rollback, a retry still needs them
+            afterCompletion(committed -> {
+                if (!committed) {
+                    try {
+                        Files.move(target, staging, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException exception) {
+                        log.warn("Failed to return {} to staging after rollback", target, exception);
+                        deleteQuietly(target);
+                    }
+                }
+            });
+        } else if (upload.duplicateOf() != null && !upload.duplicateOf().file().equals(target)) {
+            try (InputStream in = upload.duplicateOf().openStream()) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            afterCompletion(committed -> {
+                if (!committed) {
+                    deleteQuietly(target);
+                }
+            });
+        }
+    }
+
+    private void placePackedBlob(BlobUpload upload) throws IOException {
+        Path staging = upload.stagingFile();
+        BlobSlice source = staging != null && Files.exists(staging) ? BlobSlice.of(staging) : upload.duplicateOf();
+        if (source == null) {
+            throw new IllegalStateException("No content to pack for blob " + upload.sha256());
+        }
+        packBackend.put(upload.sha256(), source);
+        // the staging file stays in place until discard(), a rollback only needs the tombstone
+        afterCompletion(committed -> {
+            if (!committed) {
+                packBackend.delete(upload.sha256());
+            }
+        });
+    }
+
+    private Path resolveBlobPath(String sha256) {
+        return pathStrategy.resolve(getRoot(), sha256);
+    }
+
+    /**
+     * @return {@code true} if the target file was created by this call
+     */
+    private static boolean linkOrCopy(Path source, Path target) throws IOException {
+        if (Files.exists(target) && Files.size(target) == Files.size(source)) {
+            // left over from an interrupted relocation, content-addressed so it is the same file
+            return false;
+        }
+        if (!Files.exists(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.createLink(target, source);
+            return true;
+        } catch (FileAlreadyExistsException exception) {
+            Files.delete(target);
+            Files.createLink(target, source);
+            return true;
+        } catch (UnsupportedOperationException | IOException exception) {
+            // different file system or no hard links: copy, then move into place atomically
+            Path part = target.resolveSibling(target.getFileName() + ".part");
+            Files.copy(source, part, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            log.error("Failed to delete blob file {}", file, exception);
+        }
+    }
+
+    private Optional<BlobSlice> findByPrefix(String prefixSha256) {
+        return blobRepository.findFirstByPrefixSha256(prefixSha256)
+                .flatMap(blob -> slice(blob.getStoragePath()));
+    }
+
+    private Optional<BlobSlice> slice(String storagePath) {
+        if (PackBlobBackend.isPackPath(storagePath)) {
+            return packBackend.slice(storagePath.substring(PackBlobBackend.PATH_PREFIX.length()));
+        }
+        try {
+            Path path = Paths.get(storagePath);
+            return Files.isRegularFile(path) ? Optional.of(BlobSlice.of(path)) : Optional.empty();
+        } catch (IOException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private static BlobSlice missing(String storagePath) {
+        return new BlobSlice(Paths.get(storagePath), 0, 0);
+    }
+
+    private void discard(BlobUpload upload) {
+        if (upload.stagingFile() == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(upload.stagingFile());
+        } catch (IOException exception) {
+            log.warn("Failed to remove staging file {}", upload.stagingFile(), exception);
+        }
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package de.ait.javalessonspro.service.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Writes upload chunks into a new file through a FileChannel.
+ * The file is only created when the first chunk arrives.
+ */
+public class FileChannelSink implements UploadSink {
+
+    private final Path target;
+    private FileChannel channel;
+
+    public FileChannelSink(Path target) {
+        this.target = target;
+    }
+
+    @Override
+    public void write(byte[] data, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data, offset, length);
+        FileChannel out = channel();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /**
+     * Copies a region of another file without passing it through the heap.
+     */
+    public void transferFrom(FileChannel source, long position, long count) throws IOException {
+        FileChannel out = channel();
+        long done = 0;
+        while (done < count) {
+            done += source.transferTo(position + done, count - done, out);
+        }
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.FileDeletionTask;
+import de.ait.javalessonspro.repositories.FileDeletionTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Durable queue of files to remove once their metadata rows are deleted.
+ * <p>
+ * Callers {@link #enqueue} the paths in the same transaction that deletes the
+ * rows, so the request never waits for disk I/O and no file is forgotten if
+ * the application stops. A scheduled worker removes the files in batches,
+ * together with document directories that became empty, and retries failures
+ * with exponential backoff.
+ * <p>
+ * Blob store files are not queued: a content-addressed path can be taken again
+ * by a new upload at any time, so those are removed by the blob store itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileDeletionQueue {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final FileDeletionTaskRepository repository;
+
+    @Value("${app.upload.car-docs-dir}")
+    private String carDocsDir;
+
+    @Value("${app.upload.candidate-docs-dir}")
+    private String candidateDocsDir;
+
+    @Value("${app.storage.deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.storage.deletion.retry-base-ms:10000}")
+    private long retryBaseMs;
+
+    /**
+     * Queues files for removal; must run in the transaction that deletes their rows.
+     */
+    public void enqueue(Collection<Path> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<FileDeletionTask> tasks = new ArrayList<>(files.size());
+        for (Path file : files) {
+            tasks.add(new FileDeletionTask(file.toAbsolutePath().normalize().toString()));
+        }
+        repository.saveAll(tasks);
+        log.debug("Queued {} file(s) for deletion", tasks.size());
+    }
+
+    /**
+     * Removes the due files of one batch. Runs on the scheduler thread, outside any transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.storage.deletion.interval-ms:5000}")
+    public void processBatch() {
+        List<FileDeletionTask> due = repository.findTop100ByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime.now());
+        if (due.isEmpty()) {
+            return;
+        }
+        List<FileDeletionTask> finished = new ArrayList<>();
+        List<FileDeletionTask> failed = new ArrayList<>();
+        for (FileDeletionTask task : due) {
+            Path file = Paths.get(task.getPath());
+            try {
+                Files.deleteIfExists(file);
+                removeEmptyParents(file.getParent());
+                finished.add(task);
+            } catch (IOException | SecurityException exception) {
+                task.setAttempts(task.getAttempts() + 1);
+                if (task.getAttempts() >= maxAttempts) {
+                    log.error("Giving up deleting {} after {} attempts", file, task.getAttempts(), exception);
+                    finished.add(task);
+                    continue;
+                }
+                long delayMs = retryBaseMs << Math.min(task.getAttempts() - 1, 16);
+                task.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+                task.setLastError(truncate(exception.toString()));
+                failed.add(task);
+                log.warn("Deleting {} failed (attempt {}), retrying in {} ms: {}",
+                        file, task.getAttempts(), delayMs, exception.getMessage());
+            }
+        }
+        repository.deleteAllInBatch(finished);
+        repository.saveAll(failed);
+        log.debug("Deletion queue: {} file(s) removed, {} to retry", finished.size(), failed.size());
+    }
+
+    /**
+     * Removes empty directories upwards, stopping at the document roots. A
+     * directory that gets a new file in the meantime is simply left in place.
+     */
+    private void removeEmptyParents(Path directory) throws IOException {
+        Path root = documentRootOf(directory);
+        Path current = directory;
+        while (root != null && current != null && !current.equals(root) && current.startsWith(root)) {
+            try {
+                Files.delete(current);
+                log.debug("Deleted empty directory: {}", current);
+            } catch (DirectoryNotEmptyException | NoSuchFileException stop) {
+                return;
+            }
+            current = current.getParent();
+        }
+    }
+
+    private Path documentRootOf(Path directory) {
+        if (directory == null) {
+            return null;
+        }
+        for (String dir : List.of(candidateDocsDir, carDocsDir)) {
+            Path root = Paths.get(dir).toAbsolutePath().normalize();
+            if (directory.startsWith(root)) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,55 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.StorageTier;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Client document content moved to the document blob store. The blob is
+ * shared with identical car or candidate documents and reference counted
+ * like theirs.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileSystemClientDocumentStorage implements ClientDocumentStorage {
+
+    private final DocumentBlobStore blobStore;
+
+    @Override
+    public StorageTier tier() {
+        return StorageTier.FILESYSTEM;
+    }
+
+    @Override
+    public void copyRange(ClientDocumentDb doc, long start, long length, OutputStream out) throws IOException {
+        BlobSlice content = blobStore.locate(doc.getChecksumSha256(), doc.getStoragePath());
+        if (!content.exists()) {
+            throw new IllegalStateException("Blob of client document " + doc.getId() + " is missing");
+        }
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(content.file(), StandardOpenOption.READ)) {
+            long position = content.offset() + start;
+            long done = 0;
+            while (done < length) {
+                long sent = channel.transferTo(position + done, length - done, target);
+                if (sent <= 0) {
+                    throw new IOException("Blob ended before the requested range was sent");
+                }
+                done += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * All blobs directly in the storage root: {@code <root>/<sha256>}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.layout", havingValue = "flat")
+public class FlatStoragePathStrategy implements StoragePathStrategy {
+
+    @Override
+    public Path resolve(Path root, String sha256) {
+        return root.resolve(sha256);
+    }
+}
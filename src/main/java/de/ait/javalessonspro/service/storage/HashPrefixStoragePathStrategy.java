@@ -0,0 +1,37 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Two levels of hash-prefix directories: {@code <root>/ab/cd/<sha256>}.
+ * <p>
+ * SHA-256 is uniformly distributed, so each of the 65,536 leaf directories
+ * holds roughly 1/65,536 of all blobs and stays small even with millions of files.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.layout", havingValue = "sharded", matchIfMissing = true)
+public class HashPrefixStoragePathStrategy implements StoragePathStrategy {
+
+    private static final int LEVELS = 2;
+    private static final int WIDTH = 2;
+
+    @Override
+    public Path resolve(Path root, String sha256) {
+        if (sha256 == null || sha256.length() < LEVELS * WIDTH) {
+            throw new IllegalArgumentException("Invalid blob hash: " + sha256);
+        }
+        Path dir = root;
+        for (int level = 0; level < LEVELS; level++) {
+            dir = dir.resolve(sha256.substring(level * WIDTH, (level + 1) * WIDTH));
+        }
+        return dir.resolve(sha256);
+    }
+}
@@ -0,0 +1,137 @@
+package de.ait.javalessonspro.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Storage backend that keeps small blobs of selected document types in a
+ * {@link PackFileStore} instead of one file each. A packed blob's storage path
+ * is {@code pack:<sha256>}; the segment and offset are only known to the pack index.
+ */
+@Component
+@Slf4j
+public class PackBlobBackend {
+
+    public static final String PATH_PREFIX = "pack:";
+
+    /**
+     * Document type names (e.g. {@code CV,COVER_LETTER}) whose blobs go into packs.
+     */
+    @Value("${app.storage.pack.doc-types:}")
+    private Set<String> docTypes;
+
+    @Value("${app.storage.pack.max-blob-size:1048576}")
+    private long maxBlobSize;
+
+    @Value("${app.storage.pack.dir:${app.upload.blob-dir}/packs}")
+    private String packDir;
+
+    @Value("${app.storage.pack.segment-size:67108864}")
+    private long segmentSize;
+
+    @Value("${app.storage.pack.sync-on-write:false}")
+    private boolean syncOnWrite;
+
+    @Value("${app.storage.pack.compaction.interval-ms:600000}")
+    private long compactionIntervalMs;
+
+    @Value("${app.storage.pack.compaction.min-dead-ratio:0.4}")
+    private double minDeadRatio;
+
+    @Value("${app.storage.pack.compaction.grace-ms:60000}")
+    private long graceMs;
+
+    private PackFileStore store;
+
+    private ScheduledExecutorService compactor;
+
+    @PostConstruct
+    void start() throws IOException {
+        store = new PackFileStore(Paths.get(packDir).toAbsolutePath().normalize(), segmentSize, syncOnWrite, graceMs);
+        store.open();
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pack-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compact, compactionIntervalMs, compactionIntervalMs,
+                TimeUnit.MILLISECONDS);
+        if (!docTypes.isEmpty()) {
+            log.info("Packing blobs up to {} bytes for document types {}", maxBlobSize, docTypes);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        compactor.shutdownNow();
+        store.close();
+    }
+
+    /**
+     * @return {@code true} if a new blob of this document type and size belongs in a pack
+     */
+    public boolean accepts(Enum<?> docType, long size) {
+        return docType != null && size <= maxBlobSize && docTypes.contains(docType.name());
+    }
+
+    public static boolean isPackPath(String storagePath) {
+        return storagePath != null && storagePath.startsWith(PATH_PREFIX);
+    }
+
+    public static String storagePath(String sha256) {
+        return PATH_PREFIX + sha256;
+    }
+
+    public boolean contains(String sha256) {
+        return store.contains(sha256);
+    }
+
+    public Optional<BlobSlice> slice(String sha256) {
+        return store.slice(sha256);
+    }
+
+    public void put(String sha256, BlobSlice content) {
+        try {
+            store.put(sha256, content);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to pack blob " + sha256, exception);
+        }
+    }
+
+    public void delete(String sha256) {
+        try {
+            store.delete(sha256);
+        } catch (IOException exception) {
+            log.error("Failed to write tombstone for packed blob {}", sha256, exception);
+        }
+    }
+
+    private void compact() {
+        try {
+            int compacted = store.compact(minDeadRatio);
+            if (compacted > 0) {
+                log.info("Pack compaction rewrote {} segment(s), dead ratio now {}", compacted,
+                        String.format("%.2f", store.deadRatio()));
+            }
+        } catch (IOException | RuntimeException exception) {
+            log.error("Pack compaction failed", exception);
+        }
+    }
+}
@@ -0,0 +1,624 @@
+package de.ait.javalessonspro.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Append-only store that packs many small blobs into large segment files.
+ * <p>
+ * Every change is a record appended to the active segment:
+ * <pre>
+ * PUT    magic:int type:byte keyLength:byte key length:long data crc:int
+ * DELETE magic:int type:byte keyLength:byte key segment:int offset:long crc:int
+ * </pre>
+ * The key-to-location index lives in memory and is rebuilt by scanning the
+ * segments on {@link #open()}; a torn record at the end of the last segment is
+ * cut off. A DELETE (tombstone) names the exact record it kills, so replay order
+ * does not matter for it and it can be dropped once that segment is gone.
+ * <p>
+ * Downloads serve a blob through its {@link BlobSlice} with sendfile or
+ * {@link java.nio.channels.FileChannel#transferTo}, which needs no mapping. A
+ * sealed segment is memory-mapped on the first {@link #read} from it, and later
+ * reads are slices of that mapping.
+ * {@link #compact} rewrites the live records of mostly-dead segments into the
+ * active segment; the old file is deleted after a grace period, so readers that
+ * resolved a {@link BlobSlice} shortly before can still open it.
+ * <p>
+ * Writes and compaction are serialised on the store; reads are lock-free.
+ */
+@Slf4j
+public class PackFileStore implements Closeable {
+
+    private static final int MAGIC = 0x504B4231;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_LENGTH = 6;
+    private static final int CRC_LENGTH = 4;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".pack";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean syncOnWrite;
+    private final long retireGraceMillis;
+
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    private final List<Retired> retired = new ArrayList<>();
+    private final ByteBuffer copyBuffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+    private Segment active;
+
+    /**
+     * Position of one PUT record.
+     */
+    public record Location(int segment, long recordOffset, long recordLength, long dataOffset, long length) {
+    }
+
+    private record Retired(Segment segment, long retiredAt) {
+    }
+
+    /**
+     * @param segmentSize       a segment is sealed once it grows beyond this size (max 1 GB)
+     * @param syncOnWrite       force every record to disk before returning
+     * @param retireGraceMillis how long a compacted segment file is kept for in-flight readers
+     */
+    public PackFileStore(Path directory, long segmentSize, boolean syncOnWrite, long retireGraceMillis) {
+        if (segmentSize <= 0 || segmentSize > (1L << 30)) {
+            throw new IllegalArgumentException("Segment size must be between 1 byte and 1 GB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncOnWrite = syncOnWrite;
+        this.retireGraceMillis = retireGraceMillis;
+    }
+
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Integer> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(ids::add);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            Segment segment = Segment.open(segmentPath(ids.get(i)), ids.get(i));
+            segments.put(segment.id, segment);
+            replay(segment, i == ids.size() - 1);
+        }
+
+        if (segments.isEmpty()) {
+            active = createSegment(1);
+        } else {
+            active = segments.lastEntry().getValue();
+            for (Segment segment : segments.headMap(active.id).values()) {
+                segment.seal();
+            }
+            if (active.size >= segmentSize) {
+                roll();
+            }
+        }
+        log.info("Pack store {} opened: {} segment(s), {} blob(s)", directory, segments.size(), index.size());
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Optional<Location> locate(String key) {
+        return Optional.ofNullable(index.get(key));
+    }
+
+    public synchronized Location put(String key, byte[] data) throws IOException {
+        return put(key, data.length, target -> {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            long position = target.position();
+            while (buffer.hasRemaining()) {
+                position += target.channel().write(buffer, position);
+            }
+            return crc;
+        });
+    }
+
+    /**
+     * Appends the whole content of {@code source} under {@code key}.
+     */
+    public Location put(String key, Path source) throws IOException {
+        return put(key, BlobSlice.of(source));
+    }
+
+    /**
+     * Appends the bytes of {@code source} (a file or a region of one) under {@code key}.
+     */
+    public synchronized Location put(String key, BlobSlice source) throws IOException {
+        try (FileChannel in = FileChannel.open(source.file(), StandardOpenOption.READ)) {
+            long length = source.length();
+            return put(key, length, target -> {
+                CRC32 crc = new CRC32();
+                long position = target.position();
+                long done = 0;
+                while (done < length) {
+                    copyBuffer.clear().limit((int) Math.min(COPY_BUFFER_SIZE, length - done));
+                    int read = in.read(copyBuffer, source.offset() + done);
+                    if (read < 0) {
+                        throw new IOException("Source " + source.file() + " shrank while being packed");
+                    }
+                    copyBuffer.flip();
+                    crc.update(copyBuffer.duplicate());
+                    while (copyBuffer.hasRemaining()) {
+                        position += target.channel().write(copyBuffer, position);
+                    }
+                    done += read;
+                }
+                return crc;
+            });
+        }
+    }
+
+    /**
+     * Location of the bytes stored under {@code key}, for zero-copy readers.
+     */
+    public Optional<BlobSlice> slice(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new BlobSlice(segmentPath(location.segment()), location.dataOffset(), location.length()));
+    }
+
+    /**
+     * Read-only view of the bytes stored under {@code key}, backed by the memory mapping.
+     */
+    public Optional<ByteBuffer> read(String key) throws IOException {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Location location = index.get(key);
+            if (location == null) {
+                return Optional.empty();
+            }
+            Segment segment = segments.get(location.segment());
+            if (segment != null) {
+                return Optional.of(segment.map(location.dataOffset(), location.length()));
+            }
+            // compacted away between the two lookups, the index already points elsewhere
+        }
+        return Optional.empty();
+    }
+
+    public synchronized boolean delete(String key) throws IOException {
+        Location location = index.get(key);
+        if (location == null) {
+            return false;
+        }
+        appendTombstone(key, location.segment(), location.recordOffset());
+        index.remove(key);
+        markDead(location.segment(), location.recordLength());
+        return true;
+    }
+
+    /**
+     * Rewrites every sealed segment whose dead share is at least {@code minDeadRatio}
+     * and deletes retired segment files whose grace period has passed.
+     *
+     * @return number of segments compacted
+     */
+    public int compact(double minDeadRatio) throws IOException {
+        deleteRetiredSegments();
+        int compacted = 0;
+        for (Segment segment : List.copyOf(segments.values())) {
+            if (segment == active || segment.deadRatio() < minDeadRatio) {
+                continue;
+            }
+            compactSegment(segment);
+            compacted++;
+        }
+        return compacted;
+    }
+
+    /**
+     * Share of bytes in sealed segments that belong to deleted or overwritten records.
+     */
+    public double deadRatio() {
+        long total = 0;
+        long dead = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.size;
+            dead += segment.deadBytes.get();
+        }
+        return total == 0 ? 0 : (double) dead / total;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            if (segment == active) {
+                segment.channel.force(false);
+            }
+            segment.channel.close();
+        }
+        for (Retired entry : retired) {
+            entry.segment().channel.close();
+        }
+        segments.clear();
+        index.clear();
+    }
+
+    @FunctionalInterface
+    private interface DataWriter {
+        CRC32 write(WriteTarget target) throws IOException;
+    }
+
+    private record WriteTarget(FileChannel channel, long position) {
+    }
+
+    private Location put(String key, long length, DataWriter dataWriter) throws IOException {
+        byte[] keyBytes = keyBytes(key);
+        int headerLength = HEADER_LENGTH + keyBytes.length + Long.BYTES;
+        long recordLength = headerLength + length + CRC_LENGTH;
+        ensureCapacity(recordLength);
+
+        Segment segment = active;
+        long recordOffset = segment.size;
+        ByteBuffer header = ByteBuffer.allocate(headerLength)
+                .putInt(MAGIC).put(PUT).put((byte) keyBytes.length).put(keyBytes).putLong(length);
+        header.flip();
+        writeFully(segment.channel, header.duplicate(), recordOffset);
+
+        try {
+            CRC32 crc = dataWriter.write(new WriteTarget(segment.channel, recordOffset + headerLength));
+            crc.update(header.position(Integer.BYTES));
+            writeFully(segment.channel, ByteBuffer.allocate(CRC_LENGTH).putInt((int) crc.getValue()).flip(),
+                    recordOffset + headerLength + length);
+        } catch (IOException | RuntimeException exception) {
+            // drop the partial record so the next append does not leave garbage behind it
+            segment.channel.truncate(recordOffset);
+            throw exception;
+        }
+
+        commitAppend(segment, recordLength);
+        Location location = new Location(segment.id, recordOffset, recordLength, recordOffset + headerLength, length);
+        Location previous = index.put(key, location);
+        if (previous != null) {
+            markDead(previous.segment(), previous.recordLength());
+        }
+        return location;
+    }
+
+    private void appendTombstone(String key, int targetSegment, long targetOffset) throws IOException {
+        byte[] keyBytes = keyBytes(key);
+        int bodyLength = HEADER_LENGTH + keyBytes.length + Integer.BYTES + Long.BYTES;
+        ensureCapacity(bodyLength + CRC_LENGTH);
+
+        ByteBuffer record = ByteBuffer.allocate(bodyLength + CRC_LENGTH)
+                .putInt(MAGIC).put(DELETE).put((byte) keyBytes.length).put(keyBytes)
+                .putInt(targetSegment).putLong(targetOffset);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, bodyLength - Integer.BYTES);
+        record.putInt((int) crc.getValue()).flip();
+
+        Segment segment = active;
+        writeFully(segment.channel, record, segment.size);
+        commitAppend(segment, bodyLength + CRC_LENGTH);
+        // a tombstone is never live data
+        markDead(segment.id, bodyLength + CRC_LENGTH);
+    }
+
+    private void compactSegment(Segment segment) throws IOException {
+        long position = 0;
+        long end = segment.size;
+        int moved = 0;
+        while (position < end) {
+            RecordHeader record = readHeader(segment, position, false);
+            if (record == null) {
+                break;
+            }
+            synchronized (this) {
+                if (record.type == PUT) {
+                    Location current = index.get(record.key);
+                    if (current != null && current.segment() == segment.id && current.recordOffset() == position) {
+                        long newOffset = copyRecord(segment, position, record.length);
+                        index.put(record.key, new Location(active.id, newOffset, record.length,
+                                newOffset + (current.dataOffset() - current.recordOffset()), current.length()));
+                        moved++;
+                    }
+                } else if (record.targetSegment != segment.id && Files.exists(segmentPath(record.targetSegment))) {
+                    // the killed record still exists on disk (possibly in a retired file), keep the tombstone
+                    long newOffset = copyRecord(segment, position, record.length);
+                    markDead(active.id, record.length);
+                    log.trace("Tombstone for {} moved to {}:{}", record.key, active.id, newOffset);
+                }
+            }
+            position += record.length;
+        }
+        synchronized (this) {
+            segments.remove(segment.id);
+            retired.add(new Retired(segment, System.currentTimeMillis()));
+        }
+        log.info("Compacted pack segment {}: {} live blob(s) moved", segment.id, moved);
+    }
+
+    private long copyRecord(Segment source, long position, long length) throws IOException {
+        ensureCapacity(length);
+        Segment target = active;
+        long offset = target.size;
+        long done = 0;
+        while (done < length) {
+            done += source.channel.transferTo(position + done, length - done,
+                    target.channel.position(offset + done));
+        }
+        commitAppend(target, length);
+        return offset;
+    }
+
+    private void replay(Segment segment, boolean last) throws IOException {
+        long position = 0;
+        long size = segment.channel.size();
+        segment.size = size;
+        while (position < size) {
+            RecordHeader record = readHeader(segment, position, last);
+            if (record == null) {
+                if (last) {
+                    log.warn("Pack segment {} has a torn record at {}, truncating", segment.id, position);
+                    segment.channel.truncate(position);
+                    segment.size = position;
+                } else {
+                    log.error("Pack segment {} is corrupt at {}, ignoring the rest", segment.id, position);
+                    segment.deadBytes.addAndGet(size - position);
+                }
+                return;
+            }
+            if (record.type == PUT) {
+                Location location = new Location(segment.id, position, record.length,
+                        record.dataOffset, record.dataLength);
+                Location previous = index.put(record.key, location);
+                if (previous != null) {
+                    markDead(previous.segment(), previous.recordLength());
+                }
+            } else {
+                segment.deadBytes.addAndGet(record.length);
+                Location current = index.get(record.key);
+                if (current != null && current.segment() == record.targetSegment
+                        && current.recordOffset() == record.targetOffset) {
+                    index.remove(record.key);
+                    markDead(current.segment(), current.recordLength());
+                }
+            }
+            position += record.length;
+        }
+    }
+
+    private record RecordHeader(byte type, String key, long length, long dataOffset, long dataLength,
+                                int targetSegment, long targetOffset) {
+    }
+
+    /**
+     * Parses the record at {@code position}; {@code null} if it is incomplete or invalid.
+     * The data CRC is only checked when {@code verify} is set (the tail segment on open).
+     */
+    private RecordHeader readHeader(Segment segment, long position, boolean verify) throws IOException {
+        long available = segment.channel.size() - position;
+        if (available < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer fixed = readFully(segment.channel, position, HEADER_LENGTH);
+        if (fixed.getInt() != MAGIC) {
+            return null;
+        }
+        byte type = fixed.get();
+        int keyLength = fixed.get() & 0xFF;
+        if (type != PUT && type != DELETE) {
+            return null;
+        }
+        int tailLength = keyLength + (type == PUT ? Long.BYTES : Integer.BYTES + Long.BYTES);
+        if (available < HEADER_LENGTH + tailLength + CRC_LENGTH) {
+            return null;
+        }
+        ByteBuffer variable = readFully(segment.channel, position + HEADER_LENGTH, tailLength);
+        byte[] keyBytes = new byte[keyLength];
+        variable.get(keyBytes);
+        String key = new String(keyBytes, StandardCharsets.US_ASCII);
+
+        if (type == DELETE) {
+            int targetSegment = variable.getInt();
+            long targetOffset = variable.getLong();
+            long length = HEADER_LENGTH + tailLength + CRC_LENGTH;
+            if (verify) {
+                CRC32 crc = new CRC32();
+                crc.update(fixed.position(Integer.BYTES));
+                crc.update(variable.flip());
+                if (!crcMatches(segment, position + HEADER_LENGTH + tailLength, crc)) {
+                    return null;
+                }
+            }
+            return new RecordHeader(type, key, length, -1, 0, targetSegment, targetOffset);
+        }
+
+        long dataLength = variable.getLong();
+        long dataOffset = position + HEADER_LENGTH + tailLength;
+        long length = HEADER_LENGTH + tailLength + dataLength + CRC_LENGTH;
+        if (dataLength < 0 || available < length) {
+            return null;
+        }
+        if (verify) {
+            CRC32 crc = new CRC32();
+            long done = 0;
+            while (done < dataLength) {
+                int chunk = (int) Math.min(COPY_BUFFER_SIZE, dataLength - done);
+                crc.update(readFully(segment.channel, dataOffset + done, chunk));
+                done += chunk;
+            }
+            crc.update(fixed.position(Integer.BYTES));
+            crc.update(variable.flip());
+            if (!crcMatches(segment, dataOffset + dataLength, crc)) {
+                return null;
+            }
+        }
+        return new RecordHeader(type, key, length, dataOffset, dataLength, -1, -1);
+    }
+
+    private static boolean crcMatches(Segment segment, long position, CRC32 crc) throws IOException {
+        return readFully(segment.channel, position, CRC_LENGTH).getInt() == (int) crc.getValue();
+    }
+
+    private void ensureCapacity(long recordLength) throws IOException {
+        if (active.size > 0 && active.size + recordLength > segmentSize) {
+            roll();
+        }
+    }
+
+    private void roll() throws IOException {
+        Segment previous = active;
+        previous.channel.force(false);
+        active = createSegment(previous.id + 1);
+        previous.seal();
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        Segment segment = Segment.open(segmentPath(id), id);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void commitAppend(Segment segment, long length) throws IOException {
+        if (syncOnWrite) {
+            segment.channel.force(false);
+        }
+        segment.size += length;
+    }
+
+    private void markDead(int segmentId, long bytes) {
+        Segment segment = segments.get(segmentId);
+        if (segment != null) {
+            segment.deadBytes.addAndGet(bytes);
+        }
+    }
+
+    private synchronized void deleteRetiredSegments() {
+        long now = System.currentTimeMillis();
+        Iterator<Retired> iterator = retired.iterator();
+        while (iterator.hasNext()) {
+            Retired entry = iterator.next();
+            if (now - entry.retiredAt() < retireGraceMillis) {
+                continue;
+            }
+            try {
+                entry.segment().channel.close();
+                Files.deleteIfExists(entry.segment().path);
+                iterator.remove();
+            } catch (IOException exception) {
+                log.warn("Failed to delete retired pack segment {}", entry.segment().path, exception);
+            }
+        }
+    }
+
+    private Path segmentPath(int id) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] keyBytes(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length == 0 || bytes.length > 255) {
+            throw new IllegalArgumentException("Pack key must be 1 to 255 ASCII characters");
+        }
+        return bytes;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of pack segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static final class Segment {
+
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final AtomicLong deadBytes = new AtomicLong();
+        volatile long size;
+        volatile boolean sealed;
+        volatile MappedByteBuffer mapping;
+
+        private Segment(int id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        static Segment open(Path path, int id) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            Segment segment = new Segment(id, path, channel);
+            segment.size = channel.size();
+            return segment;
+        }
+
+        void seal() {
+            sealed = true;
+        }
+
+        ByteBuffer map(long offset, long length) throws IOException {
+            if (sealed) {
+                MappedByteBuffer whole = mapping;
+                if (whole == null) {
+                    synchronized (this) {
+                        if (mapping == null) {
+                            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                        }
+                        whole = mapping;
+                    }
+                }
+                return whole.slice((int) offset, (int) length).asReadOnlyBuffer();
+            }
+            // active segment: map just this record's data
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        }
+
+        double deadRatio() {
+            return size == 0 ? 0 : (double) deadBytes.get() / size;
+        }
+    }
+}
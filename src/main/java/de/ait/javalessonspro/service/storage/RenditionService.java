@@ -0,0 +1,261 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.RenditionSize;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Produces downscaled JPEG renditions of photo blobs on a small, bounded worker pool.
+ * <p>
+ * Renditions are keyed by the blob's SHA-256, so identical photos share them and
+ * they never change once written. Concurrent requests for the same rendition
+ * join one in-flight job instead of decoding the original several times.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RenditionService {
+
+    /**
+     * Types the JDK's ImageIO can decode. WebP photos are stored and served, but
+     * have no renditions.
+     */
+    public static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png");
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final DocumentBlobStore blobStore;
+
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.renditions.threads:2}")
+    private int threads;
+
+    @Value("${app.renditions.queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rendition-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues all renditions of a freshly uploaded photo. If the pool is saturated
+     * the work is skipped; the rendition is then created on first request.
+     */
+    public void scheduleAll(String sha256, BlobSlice original) {
+        for (RenditionSize size : RenditionSize.values()) {
+            getRendition(sha256, original, size).exceptionally(failure -> {
+                log.warn("Pre-generating {} rendition of {} failed: {}", size, sha256, failure.getMessage());
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Returns the rendition file if it has been generated already, without
+     * generating it.
+     */
+    public Optional<Path> findRendition(String sha256, RenditionSize size) {
+        Path target = blobStore.resolveDerivedPath(size.name().toLowerCase(Locale.ROOT), sha256);
+        return Files.exists(target) ? Optional.of(target) : Optional.empty();
+    }
+
+    /**
+     * Returns the rendition file, generating it if necessary. The future fails with
+     * {@link RejectedExecutionException} when the pool is saturated and with
+     * {@link IllegalArgumentException} when the original cannot be decoded.
+     */
+    public CompletableFuture<Path> getRendition(String sha256, BlobSlice original, RenditionSize size) {
+        Path target = blobStore.resolveDerivedPath(size.name().toLowerCase(Locale.ROOT), sha256);
+        if (Files.exists(target)) {
+            return CompletableFuture.completedFuture(target);
+        }
+
+        String key = sha256 + ":" + size;
+        CompletableFuture<Path> job = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, job);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    job.complete(render(original, target, size));
+                } catch (Throwable failure) {
+                    job.completeExceptionally(failure);
+                } finally {
+                    inFlight.remove(key, job);
+                }
+            });
+        } catch (RejectedExecutionException rejected) {
+            inFlight.remove(key, job);
+            job.completeExceptionally(rejected);
+        }
+        return job;
+    }
+
+    private Path render(BlobSlice original, Path target, RenditionSize size) {
+        if (Files.exists(target)) {
+            return target;
+        }
+        try {
+            BufferedImage source = decode(original, size.getMaxEdge());
+            BufferedImage scaled = scale(source, size.getMaxEdge());
+            Files.createDirectories(target.getParent());
+            Path part = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".part");
+            try {
+                writeJpeg(scaled, part);
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(part);
+            }
+            log.debug("Rendition {} written to {}", size, target);
+            return target;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to render " + original.file(), exception);
+        }
+    }
+
+    /**
+     * Decodes the original with source subsampling, so a 24 MP photo destined for a
+     * thumbnail is never fully materialised in memory.
+     */
+    private static BufferedImage decode(BlobSlice original, int maxEdge) throws IOException {
+        if (original.isWholeFile()) {
+            try (ImageInputStream input = ImageIO.createImageInputStream(original.file().toFile())) {
+                return decode(input, original, maxEdge);
+            }
+        }
+        // packed blob: read only its region of the segment file
+        try (InputStream stream = original.openStream();
+             ImageInputStream input = new MemoryCacheImageInputStream(stream)) {
+            return decode(input, original, maxEdge);
+        }
+    }
+
+    private static BufferedImage decode(ImageInputStream input, BlobSlice original, int maxEdge) throws IOException {
+        Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+        if (readers == null || !readers.hasNext()) {
+            throw new IllegalArgumentException("No image decoder available for " + original.file().getFileName());
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(input, true, true);
+            int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+            // keep at least twice the target size for a clean final downscale
+            int subsampling = Math.max(1, longEdge / (maxEdge * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        // halve step by step, a single bilinear pass over a large ratio looks jagged
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight
+                || current.getType() != BufferedImage.TYPE_INT_RGB) {
+            current = draw(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // transparent PNG areas become white instead of black
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
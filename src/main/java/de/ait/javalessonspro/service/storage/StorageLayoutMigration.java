@@ -0,0 +1,107 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.DocumentBlob;
+import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
+import de.ait.javalessonspro.repositories.DocumentBlobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Online move of existing blobs into the layout selected by {@code app.storage.layout}.
+ * <p>
+ * Runs in a background thread after startup and works in batches of 100 blobs with
+ * a pause in between, so the disk is not saturated while the application serves
+ * traffic. Each blob is moved in its own short transaction (see
+ * {@link DocumentBlobStore#relocate}); downloads that still hold the old path fall
+ * back to the blob's new location. Blobs already in place are skipped, so the job
+ * can be stopped and restarted at any time.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.layout-migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StorageLayoutMigration implements ApplicationRunner {
+
+    private final DocumentBlobStore blobStore;
+
+    private final DocumentBlobRepository blobRepository;
+
+    private final CarDocumentOsRepository carDocumentOsRepository;
+
+    private final CandidateDocumentOsRepository candidateDocumentOsRepository;
+
+    private final ClientDocumentDbRepository clientDocumentDbRepository;
+
+    @Value("${app.storage.layout-migration.batch-pause-ms:500}")
+    private long batchPauseMs;
+
+    private volatile Thread worker;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        worker = Thread.ofPlatform()
+                .name("storage-layout-migration")
+                .daemon(true)
+                .start(this::migrate);
+    }
+
+    @PreDestroy
+    void stop() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    void migrate() {
+        log.info("Starting storage layout migration in {}", blobStore.getRoot());
+        int moved = 0;
+        int failed = 0;
+        String lastSha = "";
+        List<DocumentBlob> batch;
+        while (!(batch = blobRepository.findTop100BySha256GreaterThanOrderBySha256Asc(lastSha)).isEmpty()) {
+            for (DocumentBlob blob : batch) {
+                String sha256 = blob.getSha256();
+                lastSha = sha256;
+                try {
+                    if (blobStore.relocate(sha256, (oldPath, newPath) -> updateReferences(sha256, oldPath, newPath))) {
+                        moved++;
+                    }
+                } catch (RuntimeException exception) {
+                    failed++;
+                    log.error("Failed to relocate blob {}", sha256, exception);
+                }
+            }
+            log.info("Storage layout migration: {} blob(s) moved, {} failed so far", moved, failed);
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                log.info("Storage layout migration interrupted after {} blob(s), rerun to continue", moved);
+                return;
+            }
+        }
+        log.info("Storage layout migration finished: {} blob(s) moved, {} failed", moved, failed);
+    }
+
+    private void updateReferences(String sha256, String oldPath, String newPath) {
+        carDocumentOsRepository.updateStoragePath(sha256, oldPath, newPath);
+        candidateDocumentOsRepository.updateStoragePath(sha256, oldPath, newPath);
+        clientDocumentDbRepository.updateStoragePath(sha256, oldPath, newPath);
+    }
+}
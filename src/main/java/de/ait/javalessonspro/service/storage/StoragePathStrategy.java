@@ -0,0 +1,17 @@
+package de.ait.javalessonspro.service.storage;
+
+import java.nio.file.Path;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Decides where a blob file lives below the storage root.
+ * Selected with {@code app.storage.layout} ({@code flat} or {@code sharded}).
+ */
+public interface StoragePathStrategy {
+
+    Path resolve(Path root, String sha256);
+}
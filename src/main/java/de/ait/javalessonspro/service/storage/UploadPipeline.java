@@ -0,0 +1,95 @@
+package de.ait.javalessonspro.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Single-pass upload stage. While the upload stream is copied into its target
+ * file through a FileChannel, the same chunks are fed into a SHA-256 digest,
+ * the leading bytes are sniffed for the real file type and the size limit is
+ * checked before the chunk is handed to the sink. Any violation aborts the upload.
+ */
+public final class UploadPipeline {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private UploadPipeline() {
+    }
+
+    public record UploadResult(long size, String sha256, String detectedContentType) {
+    }
+
+    /**
+     * Runs the checks and writes the stream into a new file. The partial file is
+     * removed if any check fails.
+     */
+    public static UploadResult process(InputStream in, Path target, long maxBytes,
+                                       Set<String> allowedTypes) throws IOException {
+        try (FileChannelSink sink = new FileChannelSink(target)) {
+            return process(in, sink, maxBytes, allowedTypes);
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(target);
+            throw exception;
+        }
+    }
+
+    /**
+     * @param allowedTypes MIME types accepted after magic-byte detection, {@code null} accepts any content
+     * @throws IllegalArgumentException if the stream is empty, too large or of a type that is not allowed
+     */
+    public static UploadResult process(InputStream in, UploadSink sink, long maxBytes,
+                                       Set<String> allowedTypes) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] chunk = new byte[CHUNK_SIZE];
+
+        // collect enough leading bytes to recognise the type before anything is written
+        int headLength = 0;
+        int read;
+        while (headLength < ContentTypeSniffer.HEAD_LENGTH
+                && (read = in.read(chunk, headLength, chunk.length - headLength)) != -1) {
+            headLength += read;
+        }
+        if (headLength == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+
+        String detectedType = ContentTypeSniffer.detect(chunk, headLength);
+        if (allowedTypes != null && (detectedType == null || !allowedTypes.contains(detectedType))) {
+            throw new IllegalArgumentException(
+                    "File content does not match an allowed type (" + String.join(", ", allowedTypes) + ")");
+        }
+
+        long total = 0;
+        int length = headLength;
+        while (length != -1) {
+            total += length;
+            if (total > maxBytes) {
+                throw new IllegalArgumentException(
+                        "The file should not exceed " + maxBytes / (1024 * 1024) + " MB");
+            }
+            digest.update(chunk, 0, length);
+            sink.write(chunk, 0, length);
+            length = in.read(chunk);
+        }
+        return new UploadResult(total, HexFormat.of().formatHex(digest.digest()), detectedType);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+}
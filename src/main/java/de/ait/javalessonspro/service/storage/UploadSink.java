@@ -0,0 +1,17 @@
+package de.ait.javalessonspro.service.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Destination of the chunks that passed the upload pipeline checks.
+ */
+public interface UploadSink extends Closeable {
+
+    void write(byte[] data, int offset, int length) throws IOException;
+}
@@ -0,0 +1,126 @@
+package de.ait.javalessonspro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Bloom filter of strings: {@link #mightContain} never misses a value that was
+ * {@link #put}, and wrongly reports an absent value with about the configured
+ * false-positive rate as long as no more than {@code expectedInsertions}
+ * values are added. Values cannot be removed.
+ * <p>
+ * Bits are set with compare-and-set, so {@code put} and {@code mightContain}
+ * may run concurrently without locking.
+ */
+public class BloomFilter {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray words;
+
+    private final int bitCount;
+
+    private final int hashCount;
+
+    private final long expectedInsertions;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive and the false-positive rate in (0, 1)");
+        }
+        // optimal size and hash count: m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Math.max(bits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((bitCount + 63) / 64);
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * @return true if a bit changed, i.e. the value was certainly not in the filter before
+     */
+    public boolean put(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+            changed |= (current & mask) == 0;
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+        return changed;
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bitCount);
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Number of {@link #put} calls that changed the filter; a value put twice is counted once.
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public int bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 chars
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer, spreads FNV's weak low bits over the whole word
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
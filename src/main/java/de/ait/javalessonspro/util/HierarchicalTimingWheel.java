@@ -0,0 +1,147 @@
+package de.ait.javalessonspro.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Hierarchical timing wheel: O(1) scheduling of many timers with a fixed
+ * resolution of {@code tickMs}.
+ * <p>
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs}; every further level
+ * has buckets as wide as the whole level below it. When the clock reaches the
+ * start of a higher-level bucket its entries are cascaded into the levels
+ * below, so an entry is moved at most once per level. {@link #advance} returns
+ * an item once the clock has passed its expiration, at most one tick late.
+ * <p>
+ * All methods are synchronized, so a loader and a ticker thread can share one wheel.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+
+    private final int wheelSize;
+
+    private final long[] levelTickMs;
+
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+
+    // all entries expiring before this time have been returned
+    private long currentTime;
+
+    private int size;
+
+    private record Entry<T>(T item, long expiration) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startMs) {
+        if (tickMs < 1 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levelTickMs = new long[levelCount];
+        long levelTick = tickMs;
+        for (int level = 0; level < levelCount; level++) {
+            levelTickMs[level] = levelTick;
+            List<Entry<T>>[] buckets = new List[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            levels.add(buckets);
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+        this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+    }
+
+    /**
+     * Latest expiration that can be scheduled right now.
+     */
+    public synchronized long horizon() {
+        int top = levelTickMs.length - 1;
+        return floor(currentTime, levelTickMs[top]) + levelTickMs[top] * wheelSize - 1;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Schedules {@code item} for {@code expirationMs}.
+     *
+     * @return false if the item is already due; it is then not scheduled and the caller should run it
+     * @throws IllegalArgumentException if the expiration lies beyond {@link #horizon()}
+     */
+    public synchronized boolean schedule(T item, long expirationMs) {
+        if (expirationMs > horizon()) {
+            throw new IllegalArgumentException("Expiration " + expirationMs + " is beyond the wheel horizon " + horizon());
+        }
+        if (!place(new Entry<>(item, expirationMs))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Moves the clock to {@code nowMs} tick by tick and returns the items that expired on the way.
+     */
+    public synchronized List<T> advance(long nowMs) {
+        List<T> due = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            long previousTick = currentTime;
+            currentTime += tickMs;
+            // cascade higher levels first, so their entries can expire in this same tick
+            for (int level = levelTickMs.length - 1; level > 0; level--) {
+                if (currentTime % levelTickMs[level] == 0) {
+                    drain(level, currentTime, due);
+                }
+            }
+            drain(0, previousTick, due);
+        }
+        return due;
+    }
+
+    private void drain(int level, long bucketStart, List<T> due) {
+        List<Entry<T>> bucket = levels.get(level)[index(level, bucketStart)];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        for (Entry<T> entry : entries) {
+            // entries of a later round that share the bucket are simply put back
+            if (!place(entry)) {
+                size--;
+                due.add(entry.item());
+            }
+        }
+    }
+
+    private boolean place(Entry<T> entry) {
+        if (entry.expiration() < currentTime) {
+            return false;
+        }
+        for (int level = 0; level < levelTickMs.length; level++) {
+            long levelTick = levelTickMs[level];
+            if (entry.expiration() < floor(currentTime, levelTick) + levelTick * wheelSize) {
+                levels.get(level)[index(level, entry.expiration())].add(entry);
+                return true;
+            }
+        }
+        throw new IllegalStateException("Entry beyond the wheel horizon");
+    }
+
+    private int index(int level, long time) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTickMs[level]), (long) wheelSize);
+    }
+
+    private static long floor(long time, long unit) {
+        return time - Math.floorMod(time, unit);
+    }
+}
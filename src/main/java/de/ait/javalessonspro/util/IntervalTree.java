@@ -0,0 +1,195 @@
+package de.ait.javalessonspro.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Interval tree of half-open intervals {@code [start, end)}, each carrying a
+ * unique item: {@link #add}, {@link #remove} and {@link #firstOverlap} take
+ * O(log n) expected time.
+ * <p>
+ * The tree is a treap ordered by start; every node also keeps the largest end
+ * in its subtree, which lets {@code firstOverlap} skip every subtree that ends
+ * before the queried interval starts. Intervals may overlap each other.
+ * <p>
+ * All methods are synchronized; callers that check and add atomically
+ * synchronize on the tree themselves.
+ */
+public class IntervalTree<T> {
+
+    public record Interval<T>(T item, long start, long end) {
+    }
+
+    private static final class Node<T> {
+        private final Interval<T> interval;
+        // breaks ties between equal starts, so every node has a distinct key
+        private final long sequence;
+        private final int priority;
+        private long maxEnd;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(Interval<T> interval, long sequence, int priority) {
+            this.interval = interval;
+            this.sequence = sequence;
+            this.priority = priority;
+            this.maxEnd = interval.end();
+        }
+    }
+
+    private final Map<T, Node<T>> nodes = new HashMap<>();
+
+    private Node<T> root;
+
+    private long nextSequence;
+
+    /**
+     * Adds {@code item} with the interval {@code [start, end)}.
+     *
+     * @throws IllegalArgumentException if the interval is empty or the item is already in the tree
+     */
+    public synchronized void add(T item, long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end " + end + " must be after its start " + start);
+        }
+        if (nodes.containsKey(item)) {
+            throw new IllegalArgumentException("Item " + item + " is already in the tree");
+        }
+        Node<T> node = new Node<>(new Interval<>(item, start, end), nextSequence++,
+                ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        nodes.put(item, node);
+    }
+
+    /**
+     * @return false if the item was not in the tree
+     */
+    public synchronized boolean remove(T item) {
+        Node<T> node = nodes.remove(item);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node);
+        return true;
+    }
+
+    public synchronized boolean contains(T item) {
+        return nodes.containsKey(item);
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Interval with the smallest start that overlaps {@code [start, end)}, or null if none does.
+     */
+    public synchronized Interval<T> firstOverlap(long start, long end) {
+        Node<T> node = root;
+        while (node != null) {
+            // an overlap on the left is always the first one; and if the left subtree reaches past
+            // start without overlapping, everything from this node on starts at or after end
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else if (node.interval.start() < end && node.interval.end() > start) {
+                return node.interval;
+            } else if (node.interval.start() >= end) {
+                return null;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private Node<T> insert(Node<T> parent, Node<T> node) {
+        if (parent == null) {
+            return node;
+        }
+        if (before(node, parent)) {
+            parent.left = insert(parent.left, node);
+            if (parent.left.priority > parent.priority) {
+                parent = rotateRight(parent);
+            }
+        } else {
+            parent.right = insert(parent.right, node);
+            if (parent.right.priority > parent.priority) {
+                parent = rotateLeft(parent);
+            }
+        }
+        update(parent);
+        return parent;
+    }
+
+    private Node<T> delete(Node<T> parent, Node<T> node) {
+        if (parent == node) {
+            return merge(node.left, node.right);
+        }
+        if (before(node, parent)) {
+            parent.left = delete(parent.left, node);
+        } else {
+            parent.right = delete(parent.right, node);
+        }
+        update(parent);
+        return parent;
+    }
+
+    // all keys of left are before all keys of right
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static boolean before(Node<?> node, Node<?> other) {
+        long start = node.interval.start();
+        long otherStart = other.interval.start();
+        return start < otherStart || start == otherStart && node.sequence < other.sequence;
+    }
+
+    private static void update(Node<?> node) {
+        long maxEnd = node.interval.end();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+}
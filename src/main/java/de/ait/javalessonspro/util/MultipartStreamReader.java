@@ -0,0 +1,312 @@
+package de.ait.javalessonspro.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Incremental multipart/form-data parser (RFC 7578).
+ * <p>
+ * Parts are handed out one by one while the request body is still being read,
+ * so a file part can be piped straight to its final location without being
+ * spooled by the servlet container first. A part's stream must be consumed
+ * before the next part is requested; any unread rest is skipped.
+ */
+public class MultipartStreamReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_LINE = 8 * 1024;
+    private static final int MAX_HEADERS_PER_PART = 16;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean finished;
+    private PartInputStream current;
+
+    public MultipartStreamReader(InputStream in, String boundary) {
+        if (boundary == null || boundary.isBlank()) {
+            throw new IllegalArgumentException("Multipart boundary is missing");
+        }
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        // the first boundary is not preceded by CRLF, pretend it is
+        this.buffer[0] = '\r';
+        this.buffer[1] = '\n';
+        this.limit = 2;
+    }
+
+    /**
+     * Extracts the boundary parameter from a multipart Content-Type header.
+     */
+    public static String extractBoundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            throw new IllegalArgumentException("Request is not multipart");
+        }
+        String boundary = parseParameters(contentType).get("boundary");
+        if (boundary == null || boundary.isBlank()) {
+            throw new IllegalArgumentException("Multipart boundary is missing");
+        }
+        return boundary;
+    }
+
+    /**
+     * Returns the next part or {@code null} once the closing boundary is reached.
+     */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (current == null) {
+            current = new PartInputStream();
+        }
+        // skip the preamble or whatever the caller left unread of the previous part
+        current.drain();
+
+        if (!ensure(2)) {
+            throw new EOFException("Multipart stream ended unexpectedly");
+        }
+        if (buffer[pos] == '-' && buffer[pos + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        // rest of the boundary line (transport padding)
+        readLine();
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            if (headers.size() >= MAX_HEADERS_PER_PART) {
+                throw new IOException("Too many headers in multipart part");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        line.substring(colon + 1).trim());
+            }
+        }
+
+        Map<String, String> disposition = parseParameters(headers.getOrDefault("content-disposition", ""));
+        current = new PartInputStream();
+        return new Part(disposition.get("name"), disposition.get("filename"),
+                headers.get("content-type"), current);
+    }
+
+    /**
+     * Reads form fields until the first file part and returns that part,
+     * or {@code null} if the body contains no file.
+     */
+    public Part nextFilePart(Map<String, String> formFields, int maxFieldLength) throws IOException {
+        Part part;
+        while ((part = nextPart()) != null) {
+            if (part.isFile()) {
+                return part;
+            }
+            if (part.getName() != null) {
+                formFields.put(part.getName(), part.readString(maxFieldLength));
+            }
+        }
+        return null;
+    }
+
+    private boolean ensure(int count) throws IOException {
+        while (limit - pos < count && !eof) {
+            fill();
+        }
+        return limit - pos >= count;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read == -1) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = pos; i < limit - 1; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            if (limit - pos > MAX_HEADER_LINE) {
+                throw new IOException("Multipart header line is too long");
+            }
+            if (eof) {
+                throw new EOFException("Multipart stream ended inside part headers");
+            }
+            fill();
+        }
+    }
+
+    private int indexOfDelimiter() {
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    static Map<String, String> parseParameters(String headerValue) {
+        Map<String, String> params = new LinkedHashMap<>();
+        int i = headerValue.indexOf(';');
+        while (i >= 0 && i < headerValue.length()) {
+            int eq = headerValue.indexOf('=', i);
+            if (eq < 0) {
+                break;
+            }
+            String key = headerValue.substring(i + 1, eq).trim().toLowerCase(Locale.ROOT);
+            int valueStart = eq + 1;
+            String value;
+            if (valueStart < headerValue.length() && headerValue.charAt(valueStart) == '"') {
+                StringBuilder sb = new StringBuilder();
+                int j = valueStart + 1;
+                while (j < headerValue.length() && headerValue.charAt(j) != '"') {
+                    char c = headerValue.charAt(j);
+                    if (c == '\\' && j + 1 < headerValue.length() && headerValue.charAt(j + 1) == '"') {
+                        c = headerValue.charAt(++j);
+                    }
+                    sb.append(c);
+                    j++;
+                }
+                value = sb.toString();
+                i = headerValue.indexOf(';', j);
+            } else {
+                int end = headerValue.indexOf(';', valueStart);
+                value = (end < 0 ? headerValue.substring(valueStart) : headerValue.substring(valueStart, end)).trim();
+                i = end;
+            }
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    /**
+     * A single part of the multipart body. Its stream ends at the next boundary.
+     */
+    public static final class Part {
+        private final String name;
+        private final String filename;
+        private final String contentType;
+        private final InputStream inputStream;
+
+        private Part(String name, String filename, String contentType, InputStream inputStream) {
+            this.name = name;
+            this.filename = filename;
+            this.contentType = contentType;
+            this.inputStream = inputStream;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+
+        public boolean isFile() {
+            return filename != null;
+        }
+
+        public String readString(int maxLength) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[256];
+            int read;
+            while ((read = inputStream.read(chunk)) != -1) {
+                if (out.size() + read > maxLength) {
+                    throw new IllegalArgumentException("Form field '" + name + "' is too long");
+                }
+                out.write(chunk, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            while (true) {
+                int index = indexOfDelimiter();
+                if (index == pos) {
+                    pos += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                // bytes before a (possibly partial) delimiter are safe to hand out
+                int available = index >= 0 ? index - pos : limit - pos - (delimiter.length - 1);
+                if (available > 0) {
+                    int count = Math.min(length, available);
+                    System.arraycopy(buffer, pos, target, offset, count);
+                    pos += count;
+                    return count;
+                }
+                if (eof) {
+                    throw new EOFException("Multipart stream ended before the closing boundary");
+                }
+                fill();
+            }
+        }
+
+        void drain() throws IOException {
+            byte[] skip = new byte[8192];
+            while (read(skip, 0, skip.length) != -1) {
+                // discard
+            }
+        }
+    }
+}
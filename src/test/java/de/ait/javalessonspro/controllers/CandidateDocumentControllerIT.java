@@ -60,7 +60,7 @@ public class CandidateDocumentControllerIT {
     private static final String TEST_EMAIL = "test.candidate@upload.com";
     private static final CandidateDocType TEST_DOC_TYPE = CandidateDocType.CV;
     private static final String TEST_FILENAME = "test-resume.pdf";
-    private static final byte[] TEST_CONTENT = "Test PDF content for candidate document".getBytes();
+    private static final byte[] TEST_CONTENT = "%PDF-1.4 Test PDF content for candidate document".getBytes();
 
     /**
      * Before each test:
@@ -166,7 +166,7 @@ public class CandidateDocumentControllerIT {
                 "file",
                 "flow-test.pdf",
                 "application/pdf",
-                "Flow test content for complete flow".getBytes()
+                "%PDF-1.4 Flow test content for complete flow".getBytes()
         );
 
         String uploadResponse = mockMvc.perform(
@@ -207,7 +207,7 @@ public class CandidateDocumentControllerIT {
                 .getResponse()
                 .getContentAsByteArray();
 
-        assertThat(downloadedBytes).isEqualTo("Flow test content for complete flow".getBytes());
+        assertThat(downloadedBytes).isEqualTo("%PDF-1.4 Flow test content for complete flow".getBytes());
 
         // ---------- Step 4: Verify file exists ----------
         assertThat(Files.exists(filePath)).isTrue();
@@ -221,4 +221,37 @@ public class CandidateDocumentControllerIT {
         assertThat(Files.exists(filePath)).isFalse();
     }
 
+    // -------------------------------------------------------------------------
+    // TEST 3
+    // -------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("Test 3: Packed document type → stored in a pack segment, downloadable with Range")
+    void testPackedDocumentShouldBeServedFromItsSegment() throws Exception {
+        byte[] content = "%PDF-1.4 Cover letter stored inside a pack segment".getBytes();
+        MockMultipartFile uploadFile = new MockMultipartFile("file", "cover-letter.pdf", "application/pdf", content);
+
+        String uploadResponse = mockMvc.perform(
+                        multipart("/api/candidates/documents/os")
+                                .file(uploadFile)
+                                .param("candidateEmail", TEST_EMAIL)
+                                .param("docType", CandidateDocType.COVER_LETTER.name())
+                                .contentType(MediaType.MULTIPART_FORM_DATA_VALUE))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Long documentId = objectMapper.readTree(uploadResponse).get("id").asLong();
+        assertThat(repository.findById(documentId).orElseThrow().getStoragePath()).startsWith("pack:");
+
+        mockMvc.perform(get("/api/candidates/documents/os/{id}/download", documentId))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().bytes(content));
+
+        mockMvc.perform(get("/api/candidates/documents/os/{id}/download", documentId)
+                        .header("Range", "bytes=9-14"))
+                .andExpect(status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.content().bytes("Cover ".getBytes()));
+    }
 }
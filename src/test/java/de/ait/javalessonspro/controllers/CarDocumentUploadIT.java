@@ -31,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.MethodName.class)
 public class CarDocumentUploadIT {
 
     @Autowired
@@ -89,7 +90,7 @@ public class CarDocumentUploadIT {
         Car saved = carRepository.saveAndFlush(car);
         Long carId = saved.getId();
 
-        byte[] fileContent = "test-file-content".getBytes();
+        byte[] fileContent = "%PDF-1.4 test-file-content".getBytes();
 
         MockMultipartFile multipartFile = new MockMultipartFile("file",
                 "test-file.pdf",
@@ -124,6 +125,8 @@ public class CarDocumentUploadIT {
         assertThat(doc.getId()).isEqualTo(1);
         assertThat(doc.getOriginalFileName()).isEqualTo("test-file.pdf");
         assertThat(doc.getContentType()).isEqualTo("application/pdf");
+        assertThat(doc.getDetectedContentType()).isEqualTo("application/pdf");
+        assertThat(doc.getChecksumSha256()).hasSize(64);
 
         Path storedPath = Paths.get(doc.getStoragePath());
 
@@ -133,4 +136,78 @@ public class CarDocumentUploadIT {
 
         assertThat(storedBytes).isEqualTo(fileContent);
     }
+
+    @Test
+    void testUploadViaStreamingEndpointShouldWriteFileWithoutMultipartResolver() throws Exception {
+        Car saved = carRepository.saveAndFlush(createCar());
+
+        byte[] fileContent = "%PDF-1.4 streamed-file-content".getBytes();
+        String boundary = "----StreamBoundary";
+        byte[] body = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"docType\"\r\n\r\n"
+                + CarDocumentType.TECH_PASSPORT.name() + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"passport.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n"
+                + new String(fileContent) + "\r\n"
+                + "--" + boundary + "--\r\n").getBytes();
+
+        mockMvc.perform(post("/api/cars/{carId}/documents/os/stream", saved.getId())
+                        .contentType("multipart/form-data; boundary=" + boundary)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        List<CarDocumentOs> docs = carDocumentOsRepository.findAllByCarId(saved.getId());
+        assertThat(docs).hasSize(1);
+        assertThat(docs.getFirst().getSize()).isEqualTo(fileContent.length);
+        assertThat(Files.readAllBytes(Paths.get(docs.getFirst().getStoragePath()))).isEqualTo(fileContent);
+    }
+
+    @Test
+    void testUploadViaBatchEndpointShouldReportOutcomePerFile() throws Exception {
+        Car saved = carRepository.saveAndFlush(createCar());
+
+        MockMultipartFile first = new MockMultipartFile("files", "front.pdf", "application/pdf",
+                "%PDF-1.4 front".getBytes());
+        MockMultipartFile second = new MockMultipartFile("files", "back.pdf", "application/pdf",
+                "%PDF-1.4 back".getBytes());
+        MockMultipartFile rejected = new MockMultipartFile("files", "notes.txt", "text/plain",
+                "plain text".getBytes());
+
+        String responseJson = mockMvc.perform(multipart("/api/cars/{carId}/documents/os/batch", saved.getId())
+                        .file(first)
+                        .file(second)
+                        .file(rejected)
+                        .param("docType", CarDocumentType.CONTRACT.name()))
+                .andExpect(status().isMultiStatus())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        JsonNode results = objectMapper.readTree(responseJson);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("success").asBoolean()).isTrue();
+        assertThat(results.get(1).get("success").asBoolean()).isTrue();
+        assertThat(results.get(2).get("success").asBoolean()).isFalse();
+        assertThat(results.get(2).get("filename").asText()).isEqualTo("notes.txt");
+
+        List<CarDocumentOs> docs = carDocumentOsRepository.findAllByCarId(saved.getId());
+        assertThat(docs).extracting(CarDocumentOs::getOriginalFileName)
+                .containsExactlyInAnyOrder("front.pdf", "back.pdf");
+    }
+
+    private Car createCar() {
+        Car car = new Car();
+        car.setBrand("BMW");
+        car.setModel("X5");
+        car.setProductionYear(2020);
+        car.setMileage(100000);
+        car.setPrice(BigDecimal.valueOf(50000));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setColor("red");
+        car.setFuelType(FuelType.DIESEL);
+        car.setHorsepower(150);
+        car.setTransmission(Transmission.AUTOMATIC);
+        return car;
+    }
 }
@@ -0,0 +1,148 @@
+package de.ait.javalessonspro.controllers;
+
+import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository.DocumentSummary;
+import de.ait.javalessonspro.service.ClientDocumentDbService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientDocumentControllerTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String DOWNLOAD = "/api/clients/documents/db/1/download";
+
+    @Mock
+    private ClientDocumentDbService service;
+
+    private MockMvc mockMvc;
+
+    private ClientDocumentDb doc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ClientDocumentController(service)).build();
+
+        doc = new ClientDocumentDb();
+        doc.setId(1L);
+        doc.setClientEmail("anna@example.com");
+        doc.setDocType(ClientDocumentType.PASSPORT);
+        doc.setContentType("application/pdf");
+        doc.setOriginalFileName("passport.pdf");
+        doc.setSize((long) CONTENT.length);
+    }
+
+    @Test
+    void downloadsWholeDocument() throws Exception {
+        serveContent();
+
+        mockMvc.perform(get(DOWNLOAD))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().longValue("Content-Length", CONTENT.length))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void downloadsSingleRange() throws Exception {
+        serveContent();
+
+        mockMvc.perform(get(DOWNLOAD).header("Range", "bytes=9-12"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 9-12/" + CONTENT.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 9, 13)));
+    }
+
+    @Test
+    void rejectsRangeBeyondTheEnd() throws Exception {
+        when(service.getClientDocument(1L)).thenReturn(doc);
+
+        mockMvc.perform(get(DOWNLOAD).header("Range", "bytes=500-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + CONTENT.length));
+        verify(service, never()).writeContent(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void answersMultipleRangesWithWholeDocument() throws Exception {
+        serveContent();
+
+        mockMvc.perform(get(DOWNLOAD).header("Range", "bytes=0-3,9-12"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void answersConditionalRangeWithWholeDocument() throws Exception {
+        serveContent();
+
+        mockMvc.perform(get(DOWNLOAD).header("Range", "bytes=0-3").header("If-Range", "\"abc\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void listsDocumentSummaries() throws Exception {
+        DocumentSummary summary = new SpelAwareProxyProjectionFactory().createProjection(DocumentSummary.class, Map.of(
+                "id", 1L,
+                "clientEmail", "anna@example.com",
+                "docType", ClientDocumentType.PASSPORT,
+                "contentType", "application/pdf",
+                "size", (long) CONTENT.length,
+                "originalFileName", "passport.pdf"));
+        when(service.getAllClientDocuments("anna@example.com")).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/api/clients/documents/db").param("clientEmail", "anna@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].docType").value("PASSPORT"))
+                .andExpect(jsonPath("$[0].originalFileName").value("passport.pdf"))
+                .andExpect(jsonPath("$[0].size").value(CONTENT.length))
+                .andExpect(jsonPath("$[0].data").doesNotExist());
+    }
+
+    // writes the requested part of CONTENT, as the storage tiers do
+    private void serveContent() throws Exception {
+        when(service.getClientDocument(1L)).thenReturn(doc);
+        doAnswer(invocation -> {
+            int start = (int) invocation.<Long>getArgument(1).longValue();
+            int length = (int) invocation.<Long>getArgument(2).longValue();
+            invocation.<OutputStream>getArgument(3).write(CONTENT, start, length);
+            return null;
+        }).when(service).writeContent(eq(doc), anyLong(), anyLong(), any());
+    }
+}
@@ -0,0 +1,200 @@
+package de.ait.javalessonspro.controllers.support;
+
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class FileDownloadWriterTest {
+
+    private static final String CONTENT = "%PDF-1.4 0123456789abcdefghij";
+    private static final String CHECKSUM = "abc123";
+
+    private final FileDownloadWriter writer = new FileDownloadWriter();
+
+    @TempDir
+    Path tempDir;
+
+    private FileDownloadWriter.DownloadableFile file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path path = Files.writeString(tempDir.resolve("blob"), CONTENT, StandardCharsets.US_ASCII);
+        file = new FileDownloadWriter.DownloadableFile(BlobSlice.of(path), "report.pdf", "application/pdf", CHECKSUM);
+    }
+
+    @Test
+    void servesWholeFileWithChecksumEtag() throws Exception {
+        MockHttpServletResponse response = download(new MockHttpServletRequest("GET", "/download"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/pdf");
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + CHECKSUM + "\"");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("Content-Disposition")).contains("report.pdf");
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesSingleRangeAsPartialContent() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=9-12");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 9-12/" + CONTENT.length());
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("0123");
+    }
+
+    @Test
+    void servesSuffixRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("hij");
+    }
+
+    @Test
+    void servesMultipleRangesAsByteranges() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-3,9-10");
+
+        MockHttpServletResponse response = download(request);
+        String body = response.getContentAsString();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        assertThat(response.getContentLengthLong()).isEqualTo(response.getContentAsByteArray().length);
+        assertThat(body).contains("Content-Range: bytes 0-3/" + CONTENT.length() + "\r\n\r\n%PDF\r\n");
+        assertThat(body).contains("Content-Range: bytes 9-10/" + CONTENT.length() + "\r\n\r\n01\r\n");
+    }
+
+    @Test
+    void answersNotModifiedWhenEtagMatches() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("If-None-Match", "\"other\", \"" + CHECKSUM + "\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-3");
+        request.addHeader("If-Range", "\"stale\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void servesRangeWhenIfRangeMatchesStrongly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-3");
+        request.addHeader("If-Range", "\"" + CHECKSUM + "\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("%PDF");
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeIsWeak() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-3");
+        request.addHeader("If-Range", "W/\"" + CHECKSUM + "\"");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ignoresRangeWhenOnlyAWeakEtagIsKnown() throws Exception {
+        file = new FileDownloadWriter.DownloadableFile(file.content(), "report.pdf", "application/pdf", null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=0-3");
+        String etag = download(new MockHttpServletRequest("GET", "/download")).getHeader("ETag");
+        request.addHeader("If-Range", etag.substring(2));
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=500-600");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */" + CONTENT.length());
+    }
+
+    @Test
+    void handsFileToSendfileWhenContainerSupportsIt() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=9-");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(9L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo((long) CONTENT.length());
+    }
+
+    @Test
+    void servesBlobInsideSegmentFileFromItsOffset() throws Exception {
+        Path segment = Files.writeString(tempDir.resolve("segment"), "HEADER" + CONTENT + "TRAILER",
+                StandardCharsets.US_ASCII);
+        file = new FileDownloadWriter.DownloadableFile(new BlobSlice(segment, 6, CONTENT.length()),
+                "report.pdf", "application/pdf", CHECKSUM);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/download");
+        request.addHeader("Range", "bytes=-3");
+
+        MockHttpServletResponse response = download(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 26-28/" + CONTENT.length());
+        assertThat(response.getContentAsString()).isEqualTo("hij");
+    }
+
+    private MockHttpServletResponse download(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(request, response, file);
+        return response;
+    }
+}
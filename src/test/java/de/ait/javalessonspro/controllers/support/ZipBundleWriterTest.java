@@ -0,0 +1,68 @@
+package de.ait.javalessonspro.controllers.support;
+
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class ZipBundleWriterTest {
+
+    private final ZipBundleWriter writer = new ZipBundleWriter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamsAllFilesAndRenamesDuplicates() throws Exception {
+        Path first = Files.writeString(tempDir.resolve("a"), "%PDF-1.4 first", StandardCharsets.US_ASCII);
+        Path second = Files.writeString(tempDir.resolve("b"), "%PDF-1.4 second", StandardCharsets.US_ASCII);
+        Path missing = tempDir.resolve("missing");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(List.of(
+                new ZipBundleWriter.BundleEntry("CV/cv.pdf", BlobSlice.of(first), "application/pdf"),
+                new ZipBundleWriter.BundleEntry("CV/cv.pdf", new BlobSlice(second, 0, 15), "application/pdf"),
+                new ZipBundleWriter.BundleEntry("CV/gone.pdf", new BlobSlice(missing, 0, 10), "application/pdf")
+        )).writeTo(out);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+        }
+
+        assertThat(entries).containsExactly(
+                Map.entry("CV/cv.pdf", "%PDF-1.4 first"),
+                Map.entry("CV/cv (2).pdf", "%PDF-1.4 second"));
+    }
+
+    @Test
+    void sanitizesEntryNames() {
+        assertThat(ZipBundleWriter.uniqueName("/../etc/passwd", new HashSet<>()))
+                .isEqualTo("_/etc/passwd");
+        assertThat(ZipBundleWriter.uniqueName("PHOTO/..\\evil.jpg", new HashSet<>()))
+                .isEqualTo("PHOTO/__evil.jpg");
+    }
+}
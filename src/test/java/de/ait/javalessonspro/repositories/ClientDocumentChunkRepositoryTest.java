@@ -0,0 +1,99 @@
+package de.ait.javalessonspro.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class ClientDocumentChunkRepositoryTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private JdbcTemplate jdbcTemplate;
+    private ClientDocumentChunkRepository repository;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table client_document_chunks (
+                    document_id bigint not null,
+                    seq int not null,
+                    size int not null,
+                    crc32c bigint not null,
+                    data bytea not null,
+                    primary key (document_id, seq))
+                """);
+        repository = new ClientDocumentChunkRepository(jdbcTemplate);
+
+        content = new byte[CHUNK_SIZE * 3 + 5];
+        new Random(7).nextBytes(content);
+        assertThat(repository.write(1L, new ByteArrayInputStream(content), CHUNK_SIZE)).isEqualTo(content.length);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // DB_CLOSE_DELAY keeps the database between the per-statement connections
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void contentIsSplitIntoFixedSizeChunks() {
+        assertThat(jdbcTemplate.queryForList(
+                "select size from client_document_chunks where document_id = 1 order by seq", Integer.class))
+                .containsExactly(CHUNK_SIZE, CHUNK_SIZE, CHUNK_SIZE, 5);
+    }
+
+    @Test
+    void rangesAcrossChunkBoundariesAreReassembled() {
+        assertThat(read(0, content.length)).isEqualTo(content);
+        assertThat(read(10, 30)).isEqualTo(Arrays.copyOfRange(content, 10, 40));
+        assertThat(read(CHUNK_SIZE * 3, 5)).isEqualTo(Arrays.copyOfRange(content, CHUNK_SIZE * 3, content.length));
+    }
+
+    @Test
+    void corruptChunkIsDetected() {
+        jdbcTemplate.update("update client_document_chunks set crc32c = crc32c + 1 where document_id = 1 and seq = 2");
+
+        assertThat(read(0, CHUNK_SIZE * 2)).isEqualTo(Arrays.copyOf(content, CHUNK_SIZE * 2));
+        assertThatThrownBy(() -> read(0, content.length))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Chunk 2")
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void missingChunkIsDetected() {
+        jdbcTemplate.update("delete from client_document_chunks where document_id = 1 and seq = 3");
+
+        assertThatThrownBy(() -> read(CHUNK_SIZE * 2, CHUNK_SIZE + 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Chunk 3 of client document 1 is missing");
+    }
+
+    private byte[] read(long start, long length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        repository.copyRange(1L, CHUNK_SIZE, start, length, out);
+        return out.toByteArray();
+    }
+}
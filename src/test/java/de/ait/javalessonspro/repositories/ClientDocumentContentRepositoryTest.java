@@ -0,0 +1,129 @@
+package de.ait.javalessonspro.repositories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class ClientDocumentContentRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ClientDocumentContentRepository repository;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // the schema before changelog 017: content inline in the metadata row
+        jdbcTemplate.execute("""
+                create table client_documents_db (
+                    id bigint primary key,
+                    client_email varchar(255) not null,
+                    data bytea not null)
+                """);
+        repository = new ClientDocumentContentRepository(jdbcTemplate);
+
+        content = new byte[300_000];
+        new Random(11).nextBytes(content);
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("insert into client_documents_db (id, client_email, data) values (?, ?, ?)",
+                    id, "anna@example.com", id == 2 ? content : new byte[]{(byte) id});
+        }
+        splitContent();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // DB_CLOSE_DELAY keeps the database between the per-statement connections
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void splitMovesTheContentOutOfTheMetadataRow() {
+        assertThat(jdbcTemplate.queryForList(
+                "select column_name from information_schema.columns where table_name = 'CLIENT_DOCUMENTS_DB'",
+                String.class)).doesNotContain("DATA");
+        assertThat(repository.findDocumentIdsAfter(0, 10)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void contentIsStreamedToTheReader() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] reads = new int[1];
+
+        boolean found = repository.read(2L, stream -> {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                reads[0]++;
+            }
+        });
+
+        assertThat(found).isTrue();
+        assertThat(out.toByteArray()).isEqualTo(content);
+        assertThat(reads[0]).isGreaterThan(1);
+    }
+
+    @Test
+    void documentWithoutContentRowIsReported() {
+        repository.delete(2L);
+
+        assertThat(repository.read(2L, InputStream::readAllBytes)).isFalse();
+        assertThat(repository.findDocumentIdsAfter(0, 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void idsArePagedAfterTheLastOne() {
+        assertThat(repository.findDocumentIdsAfter(0, 2)).containsExactly(1L, 2L);
+        assertThat(repository.findDocumentIdsAfter(2, 2)).containsExactly(3L);
+        assertThat(repository.findDocumentIdsAfter(3, 2)).isEmpty();
+    }
+
+    @Test
+    void deletingTheDocumentRemovesItsContentRow() {
+        jdbcTemplate.update("delete from client_documents_db where id = 2");
+
+        assertThat(repository.findDocumentIdsAfter(0, 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void readerFailureIsRethrownUnchecked() {
+        assertThatThrownBy(() -> repository.read(1L, stream -> {
+            throw new IOException("client went away");
+        })).isInstanceOf(UncheckedIOException.class).hasRootCauseMessage("client went away");
+    }
+
+    // the statements of changelog 017
+    private void splitContent() {
+        jdbcTemplate.execute("""
+                create table client_document_data (
+                    document_id bigint primary key,
+                    data bytea not null,
+                    constraint fk_client_document_data_document foreign key (document_id)
+                        references client_documents_db (id) on delete cascade)
+                """);
+        jdbcTemplate.execute("insert into client_document_data (document_id, data) select id, data from client_documents_db");
+        jdbcTemplate.execute("alter table client_documents_db drop column data");
+    }
+}
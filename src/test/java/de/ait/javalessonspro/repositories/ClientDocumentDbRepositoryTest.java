@@ -0,0 +1,65 @@
+package de.ait.javalessonspro.repositories;
+
+import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository.DocumentSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ClientDocumentDbRepositoryTest {
+
+    @Autowired
+    private ClientDocumentDbRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void summariesListTheMetadataOfOneClientInIdOrder() {
+        ClientDocumentDb passport = repository.save(document("anna@example.com", ClientDocumentType.PASSPORT, "passport.pdf"));
+        repository.save(document("ben@example.com", ClientDocumentType.PASSPORT, "ben.pdf"));
+        ClientDocumentDb license = repository.save(document("anna@example.com", ClientDocumentType.DRIVING_LICENSE, "license.pdf"));
+
+        List<DocumentSummary> summaries = repository.findSummariesByClientEmailOrderByIdAsc("anna@example.com");
+
+        assertThat(summaries)
+                .extracting(DocumentSummary::getId, DocumentSummary::getDocType, DocumentSummary::getOriginalFileName,
+                        DocumentSummary::getContentType, DocumentSummary::getSize)
+                .containsExactly(
+                        tuple(passport.getId(), ClientDocumentType.PASSPORT, "passport.pdf", "application/pdf", 1024L),
+                        tuple(license.getId(), ClientDocumentType.DRIVING_LICENSE, "license.pdf", "application/pdf", 1024L));
+        // a projection, not the entity
+        assertThat(summaries).allSatisfy(summary -> assertThat(summary).isNotInstanceOf(ClientDocumentDb.class));
+    }
+
+    @Test
+    void metadataTableHasNoContentColumn() {
+        assertThat(jdbcTemplate.queryForList(
+                "select column_name from information_schema.columns where table_name = 'CLIENT_DOCUMENTS_DB'",
+                String.class)).isNotEmpty().doesNotContain("DATA");
+        assertThat(jdbcTemplate.queryForList(
+                "select column_name from information_schema.columns where table_name = 'CLIENT_DOCUMENT_DATA'",
+                String.class)).containsExactlyInAnyOrder("DOCUMENT_ID", "DATA");
+    }
+
+    private static ClientDocumentDb document(String clientEmail, ClientDocumentType docType, String fileName) {
+        return new ClientDocumentDb(clientEmail, docType, "application/pdf", 1024L, fileName);
+    }
+}
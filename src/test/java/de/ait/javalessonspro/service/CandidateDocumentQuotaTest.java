@@ -0,0 +1,199 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class CandidateDocumentQuotaTest {
+
+    private static final String EMAIL = "anna@example.com";
+
+    private static final String OTHER_EMAIL = "ben@example.com";
+
+    @Mock
+    private CandidateDocumentOsRepository repository;
+
+    @InjectMocks
+    private CandidateDocumentQuota quota;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(quota, "maxDocuments", 10);
+        ReflectionTestUtils.setField(quota, "maxTotalSizeMb", 1L);
+        ReflectionTestUtils.setField(quota, "idleMs", 3_600_000L);
+    }
+
+    @Test
+    void parallelUploadsCannotExceedTheDocumentLimit() throws Exception {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(8, 0));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> uploads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                uploads.add(() -> {
+                    try {
+                        quota.reserve(EMAIL, 0);
+                        return true;
+                    } catch (IllegalStateException rejected) {
+                        return false;
+                    }
+                });
+            }
+            int accepted = 0;
+            for (Future<Boolean> result : executor.invokeAll(uploads)) {
+                accepted += result.get() ? 1 : 0;
+            }
+            assertThat(accepted).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void releasedReservationFreesTheSlotAndCommittedOneKeepsIt() {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(9, 0));
+
+        CandidateDocumentQuota.Reservation failed = quota.reserve(EMAIL, 0);
+        failed.release();
+        CandidateDocumentQuota.Reservation saved = quota.reserve(EMAIL, 0);
+        saved.commit();
+        saved.release();
+
+        assertThatThrownBy(() -> quota.reserve(EMAIL, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Maximum number of documents");
+    }
+
+    @Test
+    void resizeRejectsUploadsBeyondTheByteQuota() {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(0, 700 * 1024));
+
+        CandidateDocumentQuota.Reservation reservation = quota.reserve(EMAIL, 0);
+
+        assertThatThrownBy(() -> reservation.resize(400 * 1024))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Storage quota");
+        reservation.release();
+        quota.reserve(EMAIL, 300 * 1024).resize(300 * 1024);
+    }
+
+    @Test
+    void reconcileReplacesDriftedCounters() {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(10, 0));
+        assertThatThrownBy(() -> quota.reserve(EMAIL, 0)).isInstanceOf(IllegalStateException.class);
+
+        // documents were removed behind the quota's back
+        when(repository.sumUsageByCandidateEmails(List.of(EMAIL))).thenReturn(List.of(usage(EMAIL, 8, 0)));
+        quota.reconcile();
+
+        quota.reserve(EMAIL, 0).commit();
+        quota.reserve(EMAIL, 0).commit();
+        assertThatThrownBy(() -> quota.reserve(EMAIL, 0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reconcileSkipsCandidatesWithUploadsInProgress() {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(8, 0));
+        CandidateDocumentQuota.Reservation reservation = quota.reserve(EMAIL, 0);
+
+        // the document row is committed, the reservation not yet
+        quota.reconcile();
+        reservation.commit();
+
+        verify(repository, never()).sumUsageByCandidateEmails(anyCollection());
+        quota.reserve(EMAIL, 0).commit();
+        assertThatThrownBy(() -> quota.reserve(EMAIL, 0)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reconcileQueriesAllCachedCandidatesAtOnce() {
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(1, 0));
+        when(repository.sumUsageByCandidateEmail(OTHER_EMAIL)).thenReturn(usage(2, 0));
+        quota.reserve(EMAIL, 0).commit();
+        quota.reserve(OTHER_EMAIL, 0).commit();
+        when(repository.sumUsageByCandidateEmails(anyCollection()))
+                .thenReturn(List.of(usage(EMAIL, 2, 0), usage(OTHER_EMAIL, 3, 0)));
+
+        quota.reconcile();
+
+        verify(repository).sumUsageByCandidateEmails(anyCollection());
+    }
+
+    @Test
+    void idleCandidatesAreDroppedAndReloadedOnTheNextUpload() {
+        ReflectionTestUtils.setField(quota, "idleMs", 0L);
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(8, 0));
+        quota.reserve(EMAIL, 0).commit();
+
+        quota.reconcile();
+        // gives nothing back for a dropped candidate; the database already reflects the delete
+        quota.documentsDeleted(EMAIL, 1, 0);
+        when(repository.sumUsageByCandidateEmail(EMAIL)).thenReturn(usage(10, 0));
+
+        assertThatThrownBy(() -> quota.reserve(EMAIL, 0)).isInstanceOf(IllegalStateException.class);
+        verify(repository, times(2)).sumUsageByCandidateEmail(EMAIL);
+        verify(repository, never()).sumUsageByCandidateEmails(anyCollection());
+    }
+
+    private static CandidateDocumentOsRepository.CandidateUsage usage(String email, long count, long totalSize) {
+        return new CandidateDocumentOsRepository.CandidateUsage() {
+            @Override
+            public String getCandidateEmail() {
+                return email;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public long getTotalSize() {
+                return totalSize;
+            }
+        };
+    }
+
+    private static CandidateDocumentOsRepository.DocumentUsage usage(long count, long totalSize) {
+        return new CandidateDocumentOsRepository.DocumentUsage() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public long getTotalSize() {
+                return totalSize;
+            }
+        };
+    }
+}
@@ -6,8 +6,10 @@ import de.ait.javalessonspro.model.Car;
 import de.ait.javalessonspro.model.TestDriveBooking;
 import de.ait.javalessonspro.repositories.CarRepository;
 import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import de.ait.javalessonspro.service.mail.EmailMetrics;
+import de.ait.javalessonspro.service.mail.EmailOutbox;
+import de.ait.javalessonspro.service.mail.SuppressionList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +17,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,10 +40,7 @@ import static org.mockito.Mockito.*;
 class TestDriveEmailServiceTest {
 
     @Mock
-    private JavaMailSender javaMailSender;
-
-    @Mock
-    private TemplateEngine templateEngine;
+    private EmailOutbox emailOutbox;
 
     @Mock
     private CarRepository carRepository;
@@ -49,12 +48,24 @@ class TestDriveEmailServiceTest {
     @Mock
     private TestDriveBookingRepository testDriveBookingRepository;
 
+    @Spy
+    private EmailMetrics emailMetrics = new EmailMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private SuppressionList suppressionList;
+
+    @Mock
+    private TestDriveSlotEngine testDriveSlotEngine;
+
     @InjectMocks
     private TestDriveEmailService testDriveEmailService;
 
     @Captor
     private ArgumentCaptor<TestDriveBooking> bookingCaptor;
 
+    @Captor
+    private ArgumentCaptor<Map<String, Object>> templateDataCaptor;
+
     private TestDriveConfirmationEmailRequest confirmationRequest;
     private TestDriveReminderEmailRequest reminderRequest;
     private Car testCar;
@@ -79,16 +90,15 @@ class TestDriveEmailServiceTest {
                 .testDriveDateTime(futureDateTime)
                 .build();
 
-/*        testCar = Car.builder()
-                .id(1L)
-                .brand("TestBrand")
-                .model("TestModel")
-                .productionYear(2023)
-                .color("Black")
-                .horsepower(200)
-                .price(new BigDecimal("50000.00"))
-                .mileage(10000L)
-                .build();*/
+        testCar = new Car();
+        testCar.setId(1L);
+        testCar.setBrand("TestBrand");
+        testCar.setModel("TestModel");
+        testCar.setProductionYear(2023);
+        testCar.setColor("Black");
+        testCar.setHorsepower(200);
+        testCar.setPrice(new BigDecimal("50000.00"));
+        testCar.setMileage(10000L);
 
         existingBooking = TestDriveBooking.builder()
                 .id(1L)
@@ -101,15 +111,10 @@ class TestDriveEmailServiceTest {
     }
 
     @Test
-    void sendConfirmationEmail_Success() throws MessagingException {
+    void sendConfirmationEmail_Success() {
         when(testDriveBookingRepository.existsByClientEmailAndCarIdAndTestDriveDateTime(
                 any(), any(), any())).thenReturn(false);
         when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
-        when(templateEngine.process(eq("test-drive-confirmation-email"), any(Context.class)))
-                .thenReturn("<html>Email Content</html>");
-
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         testDriveEmailService.sendConfirmationEmail(confirmationRequest);
 
@@ -119,7 +124,11 @@ class TestDriveEmailServiceTest {
         assertThat(savedBooking.getClientEmail()).isEqualTo("test@example.com");
         assertThat(savedBooking.getCarId()).isEqualTo(1L);
         assertThat(savedBooking.getConfirmationId()).isNotNull();
-        verify(javaMailSender).send(any(MimeMessage.class));
+        verify(emailOutbox).enqueue(eq("test@example.com"), contains("TestBrand TestModel"),
+                eq("test-drive-confirmation-email"), templateDataCaptor.capture());
+        assertThat(templateDataCaptor.getValue())
+                .containsEntry("confirmationId", savedBooking.getConfirmationId())
+                .containsEntry("carId", 1L);
     }
 
     @Test
@@ -133,6 +142,21 @@ class TestDriveEmailServiceTest {
                 .hasMessage("There is already a test drive record for this time.");
     }
 
+    @Test
+    void sendConfirmationEmail_SlotTaken_ThrowsException() {
+        when(testDriveBookingRepository.existsByClientEmailAndCarIdAndTestDriveDateTime(
+                any(), any(), any())).thenReturn(false);
+        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        doThrow(new IllegalArgumentException("The car is already booked for a test drive at " + futureDateTime + "."))
+                .when(testDriveSlotEngine).reserve(any(TestDriveBooking.class));
+
+        assertThatThrownBy(() ->
+                testDriveEmailService.sendConfirmationEmail(confirmationRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already booked");
+        verifyNoInteractions(emailOutbox);
+    }
+
     @Test
     void sendConfirmationEmail_CarNotFound_ThrowsException() {
         when(testDriveBookingRepository.existsByClientEmailAndCarIdAndTestDriveDateTime(
@@ -146,21 +170,16 @@ class TestDriveEmailServiceTest {
     }
 
     @Test
-    void sendReminderEmail_Success() throws MessagingException {
+    void sendReminderEmail_Success() {
         when(testDriveBookingRepository.findByClientEmailAndCarIdAndTestDriveDateTime(
                 any(), any(), any())).thenReturn(Optional.of(existingBooking));
         when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
-        when(templateEngine.process(eq("test-drive-reminder-email"), any(Context.class)))
-                .thenReturn("<html>Reminder Content</html>");
-
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
 
         testDriveEmailService.sendReminderEmail(reminderRequest);
 
         assertThat(existingBooking.getReminderSent()).isTrue();
         assertThat(existingBooking.getReminderId()).isNotNull();
-        verify(javaMailSender).send(any(MimeMessage.class));
+        verify(emailOutbox).enqueue(eq("test@example.com"), anyString(), eq("test-drive-reminder-email"), anyMap());
     }
 
     @Test
@@ -187,35 +206,48 @@ class TestDriveEmailServiceTest {
     }
 
     @Test
-    void sendCancellationEmail_Success() throws MessagingException {
-        when(templateEngine.process(eq("test-drive-cancellation-email"), any(Context.class)))
-                .thenReturn("<html>Cancellation Content</html>");
-
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-
+    void sendCancellationEmail_Success() {
         testDriveEmailService.sendCancellationEmail(existingBooking);
 
-        verify(javaMailSender).send(any(MimeMessage.class));
+        verify(emailOutbox).enqueue(eq("test@example.com"), anyString(),
+                eq("test-drive-cancellation-email"), anyMap());
     }
 
     @Test
-    void sendEmail_MessagingException_WrappedInRuntimeException() throws MessagingException {
+    void sendConfirmationEmail_OutboxFailure_PropagatesSoTheBookingRollsBack() {
         when(testDriveBookingRepository.existsByClientEmailAndCarIdAndTestDriveDateTime(
                 any(), any(), any())).thenReturn(false);
         when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
-        when(templateEngine.process(eq("test-drive-confirmation-email"), any(Context.class)))
-                .thenReturn("<html>Content</html>");
-
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(javaMailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doThrow(new MessagingException("SMTP error")).when(javaMailSender).send((MimeMessage) any());
+        when(emailOutbox.enqueue(any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Template data is not serializable"));
 
         assertThatThrownBy(() ->
                 testDriveEmailService.sendConfirmationEmail(confirmationRequest))
-                .isInstanceOf(RuntimeException.class)
-                .hasMessage("Failed to send confirmation email")
-                .hasRootCauseInstanceOf(MessagingException.class);
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Template data is not serializable");
+    }
+
+    @Test
+    void sendConfirmationEmail_SuppressedAddress_SavesBookingWithoutEmail() {
+        when(testDriveBookingRepository.existsByClientEmailAndCarIdAndTestDriveDateTime(
+                any(), any(), any())).thenReturn(false);
+        when(carRepository.findById(1L)).thenReturn(Optional.of(testCar));
+        when(suppressionList.isSuppressed("test@example.com")).thenReturn(true);
+
+        testDriveEmailService.sendConfirmationEmail(confirmationRequest);
+
+        verify(testDriveBookingRepository).save(any(TestDriveBooking.class));
+        verifyNoInteractions(emailOutbox);
+    }
+
+    @Test
+    void sendScheduledReminder_SuppressedAddress_IsNotPickedUpAgain() {
+        when(suppressionList.isSuppressed("test@example.com")).thenReturn(true);
+
+        assertThat(testDriveEmailService.sendScheduledReminder(existingBooking)).isFalse();
+
+        assertThat(existingBooking.getReminderLeaseUntil()).isEqualTo(futureDateTime);
+        verifyNoInteractions(emailOutbox);
     }
 
 /*    @Test
@@ -0,0 +1,93 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.enums.BookingStatus;
+import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import de.ait.javalessonspro.service.TestDriveReminderScheduler.PendingReminder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class TestDriveReminderSchedulerTest {
+
+    private static final long ID = 7L;
+
+    @Mock
+    private TestDriveBookingRepository bookingRepository;
+
+    @Mock
+    private TestDriveEmailService emailService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TestDriveReminderScheduler scheduler;
+
+    private final LocalDateTime testDriveDateTime = LocalDateTime.now().plusDays(1);
+
+    private TestDriveBooking booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = new TestDriveBooking();
+        booking.setId(ID);
+        booking.setTestDriveDateTime(testDriveDateTime);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setReminderSent(false);
+        booking.setReminderLeaseUntil(testDriveDateTime.minusHours(23));
+
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookingRepository.findAllByIdForUpdate(Set.of(ID))).thenReturn(List.of(booking));
+    }
+
+    @Test
+    void dueBookingGetsReminder() {
+        scheduler.send(List.of(new PendingReminder(ID, testDriveDateTime)));
+
+        verify(emailService).sendScheduledReminder(booking);
+    }
+
+    @Test
+    void bookingWithReminderAlreadySentIsSkipped() {
+        booking.setReminderSent(true);
+
+        scheduler.send(List.of(new PendingReminder(ID, testDriveDateTime)));
+
+        verify(emailService, never()).sendScheduledReminder(any());
+    }
+
+    @Test
+    void rescheduledBookingIsReleasedForTheNextScan() {
+        booking.setTestDriveDateTime(testDriveDateTime.plusHours(3));
+
+        scheduler.send(List.of(new PendingReminder(ID, testDriveDateTime)));
+
+        verify(emailService, never()).sendScheduledReminder(any());
+        assertThat(booking.getReminderLeaseUntil()).isNull();
+    }
+}
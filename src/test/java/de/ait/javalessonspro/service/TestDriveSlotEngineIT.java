@@ -0,0 +1,166 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.enums.BookingStatus;
+import de.ait.javalessonspro.enums.CarStatus;
+import de.ait.javalessonspro.enums.FuelType;
+import de.ait.javalessonspro.enums.Transmission;
+import de.ait.javalessonspro.model.Car;
+import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Two bookings of one car in concurrent transactions against the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TestDriveSlotEngineIT {
+
+    private static final LocalDateTime SLOT = LocalDate.now().plusDays(2).atTime(10, 0);
+
+    @Autowired
+    private TestDriveSlotEngine engine;
+
+    @Autowired
+    private TestDriveBookingRepository bookingRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private Car car;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        engine.rebuild();
+
+        car = new Car();
+        car.setBrand("BMW");
+        car.setModel("X5");
+        car.setProductionYear(2020);
+        car.setMileage(100000);
+        car.setPrice(BigDecimal.valueOf(50000));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setColor("red");
+        car.setFuelType(FuelType.DIESEL);
+        car.setHorsepower(150);
+        car.setTransmission(Transmission.AUTOMATIC);
+        car = carRepository.saveAndFlush(car);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void overlappingBookingWaitsForTheFirstAndIsRejected() throws Exception {
+        CountDownLatch firstReserved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> book("first@example.com", SLOT, () -> {
+            firstReserved.countDown();
+            await(commitFirst);
+        }));
+        assertThat(firstReserved.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // a rebuild while the first booking is uncommitted must not lose its slot
+        engine.rebuild();
+
+        Future<?> second = executor.submit(() -> book("second@example.com", SLOT.plusMinutes(30), () -> {
+        }));
+        Thread.sleep(200);
+        assertThat(second.isDone()).as("second booking waits for the car lock").isFalse();
+
+        commitFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(bookingRepository.findAll())
+                .extracting(TestDriveBooking::getClientEmail)
+                .containsExactly("first@example.com");
+        assertThat(engine.findFreeSlots(car.getId(), SLOT.minusHours(1), 3))
+                .doesNotContain(SLOT, SLOT.plusMinutes(30));
+    }
+
+    @Test
+    void rolledBackBookingFreesItsSlot() {
+        assertThatThrownBy(() -> book("first@example.com", SLOT, () -> {
+            throw new IllegalStateException("rolled back");
+        })).isInstanceOf(IllegalStateException.class);
+
+        book("second@example.com", SLOT, () -> {
+        });
+
+        assertThat(bookingRepository.findAll())
+                .extracting(TestDriveBooking::getClientEmail)
+                .containsExactly("second@example.com");
+    }
+
+    // saves and reserves a booking in its own transaction, running beforeCommit before it commits
+    private void book(String clientEmail, LocalDateTime dateTime, Runnable beforeCommit) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TestDriveBooking booking = new TestDriveBooking();
+            booking.setClientEmail(clientEmail);
+            booking.setClientName("Client");
+            booking.setCarId(car.getId());
+            booking.setCarBrand(car.getBrand());
+            booking.setCarModel(car.getModel());
+            booking.setCarYear(car.getProductionYear());
+            booking.setCarColor(car.getColor());
+            booking.setCarHorsepower(car.getHorsepower());
+            booking.setCarTransmission(car.getTransmission());
+            booking.setCarFuelType(car.getFuelType());
+            booking.setCarMileage(car.getMileage());
+            booking.setCarPrice("50000.00 €");
+            booking.setTestDriveDateTime(dateTime);
+            booking.setDealerAddress("Hauptstrasse 1");
+            booking.setDealerPhone("+49 30 123456");
+            booking.setStatus(BookingStatus.CONFIRMED);
+            bookingRepository.saveAndFlush(booking);
+            engine.reserve(booking);
+            beforeCommit.run();
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
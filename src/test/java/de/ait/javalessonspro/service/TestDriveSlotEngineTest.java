@@ -0,0 +1,155 @@
+package de.ait.javalessonspro.service;
+
+import de.ait.javalessonspro.enums.BookingStatus;
+import de.ait.javalessonspro.model.TestDriveBooking;
+import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository.BookedSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class TestDriveSlotEngineTest {
+
+    private static final Long CAR_ID = 1L;
+
+    @Mock
+    private TestDriveBookingRepository repository;
+
+    @Mock
+    private CarRepository carRepository;
+
+    @InjectMocks
+    private TestDriveSlotEngine slotEngine;
+
+    private final LocalDate day = LocalDate.now().plusDays(2);
+
+    private record Slot(Long getId, Long getCarId, LocalDateTime getTestDriveDateTime) implements BookedSlot {
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(slotEngine, "durationMinutes", 60L);
+        ReflectionTestUtils.setField(slotEngine, "bufferMinutes", 15L);
+        ReflectionTestUtils.setField(slotEngine, "openingTime", LocalTime.of(9, 0));
+        ReflectionTestUtils.setField(slotEngine, "closingTime", LocalTime.of(18, 0));
+        ReflectionTestUtils.setField(slotEngine, "slotStepMinutes", 30L);
+        ReflectionTestUtils.setField(slotEngine, "searchDays", 30L);
+
+        when(repository.findBookedSlotsAfter(any(), eq(BookingStatus.CANCELLED)))
+                .thenReturn(List.of(new Slot(10L, CAR_ID, day.atTime(10, 0))));
+        slotEngine.init();
+    }
+
+    @Test
+    void freeSlotsSkipBookedTimesAndKeepTheBuffer() {
+        assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(9, 0), 3))
+                .containsExactly(day.atTime(11, 30), day.atTime(12, 0), day.atTime(12, 30));
+    }
+
+    @Test
+    void freeSlotsStayWithinOpeningHours() {
+        assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(17, 10), 2))
+                .containsExactly(day.plusDays(1).atTime(9, 0), day.plusDays(1).atTime(9, 30));
+    }
+
+    @Test
+    void otherCarsAreNotAffected() {
+        assertThat(slotEngine.findFreeSlots(2L, day.atTime(10, 0), 1)).containsExactly(day.atTime(10, 0));
+    }
+
+    @Test
+    void overlappingBookingIsRejected() {
+        assertThatThrownBy(() -> slotEngine.reserve(booking(11L, day.atTime(11, 0))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already booked");
+    }
+
+    @Test
+    void bookingMadeOnAnotherNodeIsFoundInTheTable() {
+        LocalDateTime start = day.atTime(14, 0);
+        when(repository.existsOtherBookingBetween(CAR_ID, 11L, BookingStatus.CANCELLED,
+                start.minusMinutes(75), start.plusMinutes(75))).thenReturn(true);
+
+        assertThatThrownBy(() -> slotEngine.reserve(booking(11L, start)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(slotEngine.findFreeSlots(CAR_ID, start, 1)).containsExactly(start);
+    }
+
+    @Test
+    void reservedSlotIsTakenUntilReleased() {
+        TestDriveBooking booking = booking(11L, day.atTime(14, 0));
+
+        slotEngine.reserve(booking);
+        assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(14, 0), 1)).containsExactly(day.atTime(15, 30));
+
+        slotEngine.release(booking);
+        assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(14, 0), 1)).containsExactly(day.atTime(14, 0));
+    }
+
+    @Test
+    void reservationLocksTheCarBeforeCheckingTheTable() {
+        LocalDateTime start = day.atTime(14, 0);
+
+        slotEngine.reserve(booking(11L, start));
+
+        InOrder inOrder = inOrder(carRepository, repository);
+        inOrder.verify(carRepository).findForUpdate(CAR_ID);
+        inOrder.verify(repository).existsOtherBookingBetween(CAR_ID, 11L, BookingStatus.CANCELLED,
+                start.minusMinutes(75), start.plusMinutes(75));
+    }
+
+    @Test
+    void uncommittedReservationSurvivesARebuild() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            slotEngine.reserve(booking(11L, day.atTime(14, 0)));
+
+            // the table does not return the uncommitted booking yet
+            slotEngine.rebuild();
+            assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(14, 0), 1)).containsExactly(day.atTime(15, 30));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertThat(slotEngine.findFreeSlots(CAR_ID, day.atTime(14, 0), 1)).containsExactly(day.atTime(14, 0));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static TestDriveBooking booking(Long id, LocalDateTime testDriveDateTime) {
+        TestDriveBooking booking = new TestDriveBooking();
+        booking.setId(id);
+        booking.setCarId(CAR_ID);
+        booking.setTestDriveDateTime(testDriveDateTime);
+        return booking;
+    }
+}
@@ -0,0 +1,190 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailCampaign;
+import de.ait.javalessonspro.model.EmailCampaignRecipient;
+import de.ait.javalessonspro.repositories.EmailCampaignRecipientRepository;
+import de.ait.javalessonspro.repositories.EmailCampaignRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class CampaignDispatcherTest {
+
+    private static final long TOKEN_NANOS = 200_000_000;
+
+    @Mock
+    private EmailCampaignRecipientRepository recipientRepository;
+
+    @Mock
+    private EmailCampaignRepository campaignRepository;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @Mock
+    private EmailComposer emailComposer;
+
+    @Spy
+    private EmailMetrics emailMetrics = new EmailMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private SuppressionList suppressionList;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private DomainRateLimiter rateLimiter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CampaignDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 300_000L);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void throttledRecipientsOfADomainAreSpreadOverItsTokens() {
+        List<EmailCampaignRecipient> due = List.of(
+                recipient(1L, "a@gmail.com"), recipient(2L, "b@gmail.com"), recipient(3L, "c@gmail.com"),
+                recipient(4L, "d@web.de"));
+        when(recipientRepository.findDueForUpdate(anyCollection(), any(), any(Pageable.class))).thenReturn(due);
+        when(rateLimiter.tryAcquire("gmail.com")).thenReturn(TOKEN_NANOS);
+        when(rateLimiter.tryAcquire("web.de")).thenReturn(0L);
+        when(rateLimiter.tokenIntervalNanos()).thenReturn(TOKEN_NANOS);
+        LocalDateTime before = LocalDateTime.now();
+
+        List<EmailOutboxDispatcher.Claim> claims = dispatcher.claim(2);
+
+        assertThat(claims).extracting(EmailOutboxDispatcher.Claim::id).containsExactly(4L);
+        assertThat(due.get(3).getStatus()).isEqualTo(EmailStatus.SENDING);
+        for (int i = 0; i < 3; i++) {
+            assertThat(due.get(i).getStatus()).isEqualTo(EmailStatus.PENDING);
+            assertThat(due.get(i).getNextAttemptAt())
+                    .isAfterOrEqualTo(before.plusNanos((i + 1) * TOKEN_NANOS))
+                    .isBefore(before.plusNanos((i + 1) * TOKEN_NANOS).plusSeconds(1));
+        }
+        assertThat(Duration.between(due.get(0).getNextAttemptAt(), due.get(2).getNextAttemptAt()))
+                .isEqualTo(Duration.ofNanos(2 * TOKEN_NANOS));
+    }
+
+    @Test
+    void outcomeIsNotRecordedOnceAnotherDispatcherClaimedTheRecipient() throws Exception {
+        EmailCampaignRecipient recipient = recipient(1L, "a@gmail.com");
+        EmailOutboxDispatcher.Claim claim = claimed(recipient);
+        when(recipientRepository.findById(1L)).thenReturn(Optional.of(recipient));
+        when(campaignRepository.findById(7L)).thenReturn(Optional.of(campaign()));
+        when(emailComposer.compose(eq("a@gmail.com"), eq("Offer"), eq("car-offer-mail"), any()))
+                .thenReturn(new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            // the lease ran out during the send and another node claimed the recipient
+            recipient.setNextAttemptAt(claim.lease().plusMinutes(5));
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage.class));
+        when(recipientRepository.recordOutcome(eq(1L), eq(claim.lease()), eq(EmailStatus.SENT), any(), any(), any()))
+                .thenAnswer(invocation -> claim.lease().equals(recipient.getNextAttemptAt()) ? 1 : 0);
+
+        dispatcher.deliver(claim);
+
+        assertThat(recipient.getStatus()).isEqualTo(EmailStatus.SENDING);
+        assertThat(recipient.getSentAt()).isNull();
+    }
+
+    @Test
+    void recipientWithExpiredLeaseIsNotSent() {
+        EmailCampaignRecipient recipient = recipient(1L, "a@gmail.com");
+        recipient.setStatus(EmailStatus.SENDING);
+        recipient.setNextAttemptAt(LocalDateTime.now().minusSeconds(1).truncatedTo(ChronoUnit.MILLIS));
+        when(recipientRepository.findById(1L)).thenReturn(Optional.of(recipient));
+
+        dispatcher.deliver(new EmailOutboxDispatcher.Claim(1L, recipient.getNextAttemptAt()));
+
+        verify(javaMailSender, times(0)).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void finishedCampaignsAreEvictedFromTheCache() {
+        Map<Long, EmailCampaign> campaigns = cachedCampaigns();
+        campaigns.put(7L, campaign());
+        campaigns.put(8L, campaign());
+        when(recipientRepository.existsByCampaignIdAndStatusIn(eq(7L), anyCollection())).thenReturn(false);
+        when(recipientRepository.existsByCampaignIdAndStatusIn(eq(8L), anyCollection())).thenReturn(true);
+
+        dispatcher.evictFinishedCampaigns();
+
+        assertThat(campaigns).containsOnlyKeys(8L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, EmailCampaign> cachedCampaigns() {
+        return (Map<Long, EmailCampaign>) ReflectionTestUtils.getField(dispatcher, "campaigns");
+    }
+
+    private static EmailOutboxDispatcher.Claim claimed(EmailCampaignRecipient recipient) {
+        LocalDateTime lease = LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS);
+        recipient.setStatus(EmailStatus.SENDING);
+        recipient.setAttempts(1);
+        recipient.setNextAttemptAt(lease);
+        return new EmailOutboxDispatcher.Claim(recipient.getId(), lease);
+    }
+
+    private static EmailCampaignRecipient recipient(Long id, String email) {
+        EmailCampaignRecipient recipient = new EmailCampaignRecipient();
+        recipient.setId(id);
+        recipient.setCampaignId(7L);
+        recipient.setEmail(email);
+        recipient.setClientName("Client " + id);
+        recipient.setDomain(email.substring(email.indexOf('@') + 1));
+        return recipient;
+    }
+
+    private static EmailCampaign campaign() {
+        return new EmailCampaign(3L, "Offer", "car-offer-mail", "{\"carId\":3}", 1);
+    }
+}
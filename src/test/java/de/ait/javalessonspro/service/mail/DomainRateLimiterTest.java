@@ -0,0 +1,63 @@
+package de.ait.javalessonspro.service.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class DomainRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private DomainRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new DomainRateLimiter();
+        ReflectionTestUtils.setField(limiter, "ratePerSecond", 2.0);
+        ReflectionTestUtils.setField(limiter, "burst", 3);
+    }
+
+    @Test
+    void burstIsAllowedThenCallersAreToldHowLongToWait() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("gmail.com", 0)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("gmail.com", 0)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire("gmail.com", SECOND / 2)).isZero();
+    }
+
+    @Test
+    void domainsHaveIndependentBuckets() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("gmail.com", 0);
+        }
+
+        assertThat(limiter.tryAcquire("gmail.com", 0)).isPositive();
+        assertThat(limiter.tryAcquire("web.de", 0)).isZero();
+    }
+
+    @Test
+    void tokensRefillUpToTheBurstOnly() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("gmail.com", 0);
+        }
+
+        long later = 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("gmail.com", later)).isZero();
+        }
+        assertThat(limiter.tryAcquire("gmail.com", later)).isPositive();
+    }
+}
@@ -0,0 +1,107 @@
+package de.ait.javalessonspro.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailComposerTest {
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    @Mock
+    private EmailImageAssets imageAssets;
+
+    @Spy
+    private EmailMetrics emailMetrics = new EmailMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private EmailComposer emailComposer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailComposer, "emailSender", "noreply@example.com");
+        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+    }
+
+    @Test
+    void carImageIsAttachedInlineByContentId() throws Exception {
+        when(imageAssets.carImage(7L)).thenReturn(
+                new EmailImageAssets.InlineImage("image/png", "iVBORw0KGgo=".getBytes(StandardCharsets.US_ASCII)));
+
+        MimeMessage message = emailComposer.compose("client@example.com", "Your test drive",
+                "test-drive-confirmation-email", Map.of("carId", 7));
+
+        MimeMultipart related = (MimeMultipart) message.getContent();
+        assertThat(related.getCount()).isEqualTo(2);
+        assertThat(related.getBodyPart(1).getHeader("Content-ID")).containsExactly("<car-image>");
+        assertThat(related.getBodyPart(1).getDisposition()).isEqualTo("inline");
+    }
+
+    @Test
+    void bodyIsRenderedWhenTheMessageIsWritten() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Writer>getArgument(2).write("<html>Ваша запись</html>");
+            return null;
+        }).when(templateEngine).process(eq("test-drive-cancellation-email"), any(Context.class), any(Writer.class));
+
+        MimeMessage message = emailComposer.compose("client@example.com", "Cancelled",
+                "test-drive-cancellation-email", Map.of("carId", 7));
+        verifyNoInteractions(templateEngine);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+
+        verify(templateEngine).process(eq("test-drive-cancellation-email"), any(Context.class), any(Writer.class));
+        MimeMultipart related = (MimeMultipart) message.getContent();
+        assertThat(related.getBodyPart(0).getContentType()).isEqualTo("text/html; charset=UTF-8");
+        assertThat(out.toString(StandardCharsets.US_ASCII))
+                .contains("Content-Transfer-Encoding: quoted-printable")
+                .contains("=D0=92=D0=B0=D1=88=D0=B0");
+    }
+
+    @Test
+    void templatesWithoutCarImageGetNoAttachment() throws Exception {
+        MimeMessage message = emailComposer.compose("client@example.com", "Cancelled",
+                "test-drive-cancellation-email", Map.of("carId", 7));
+
+        assertThat(((MimeMultipart) message.getContent()).getCount()).isEqualTo(1);
+        verifyNoInteractions(imageAssets);
+    }
+}
@@ -0,0 +1,136 @@
+package de.ait.javalessonspro.service.mail;
+
+import de.ait.javalessonspro.enums.CarDocumentType;
+import de.ait.javalessonspro.enums.RenditionSize;
+import de.ait.javalessonspro.model.CarDocumentOs;
+import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
+import de.ait.javalessonspro.service.storage.BlobSlice;
+import de.ait.javalessonspro.service.storage.DocumentBlobStore;
+import de.ait.javalessonspro.service.storage.RenditionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailImageAssetsTest {
+
+    private static final String SHA256 = "ab12cd34";
+
+    private static final byte[] THUMB = {(byte) 0xFF, (byte) 0xD8, 1, 2, 3, (byte) 0xFF, (byte) 0xD9};
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private CarDocumentOsRepository carDocumentOsRepository;
+
+    @Mock
+    private RenditionService renditionService;
+
+    @Mock
+    private DocumentBlobStore blobStore;
+
+    @InjectMocks
+    private EmailImageAssets assets;
+
+    private CarDocumentOs photo;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(assets, "cacheSize", 4);
+        assets.start();
+
+        photo = new CarDocumentOs();
+        photo.setDocType(CarDocumentType.PHOTO);
+        photo.setChecksumSha256(SHA256);
+        photo.setDetectedContentType("image/jpeg");
+        photo.setStoragePath("/blobs/ab/12/" + SHA256);
+    }
+
+    @Test
+    void existingRenditionIsAttachedAndCached() throws Exception {
+        Path rendition = Files.write(tempDir.resolve("thumb"), THUMB);
+        when(carDocumentOsRepository.findFirstByCarIdAndDocTypeOrderByIdAsc(7L, CarDocumentType.PHOTO))
+                .thenReturn(Optional.of(photo));
+        when(renditionService.findRendition(SHA256, RenditionSize.THUMB)).thenReturn(Optional.of(rendition));
+
+        EmailImageAssets.InlineImage image = assets.carImage(7L);
+        Files.delete(rendition);
+
+        assertThat(image.contentType()).isEqualTo("image/jpeg");
+        assertThat(Base64.getMimeDecoder().decode(image.base64())).isEqualTo(THUMB);
+        assertThat(assets.carImage(7L)).isSameAs(image);
+        verify(renditionService, times(1)).findRendition(SHA256, RenditionSize.THUMB);
+        verify(renditionService, never()).getRendition(anyString(), any(), any());
+    }
+
+    @Test
+    void missingRenditionIsRequestedWithoutWaitingForIt() {
+        BlobSlice original = new BlobSlice(Path.of(photo.getStoragePath()), 0, 100);
+        when(carDocumentOsRepository.findFirstByCarIdAndDocTypeOrderByIdAsc(7L, CarDocumentType.PHOTO))
+                .thenReturn(Optional.of(photo));
+        when(renditionService.findRendition(SHA256, RenditionSize.THUMB)).thenReturn(Optional.empty());
+        when(blobStore.locate(SHA256, photo.getStoragePath())).thenReturn(original);
+        // a rendition that is never finished must not hold the email back
+        when(renditionService.getRendition(SHA256, original, RenditionSize.THUMB))
+                .thenReturn(new CompletableFuture<>());
+
+        assertThat(assets.carImage(7L)).isSameAs(assets.placeholder());
+
+        verify(renditionService).getRendition(SHA256, original, RenditionSize.THUMB);
+    }
+
+    @Test
+    void renditionIsUsedOnceItHasBeenGenerated() throws Exception {
+        when(carDocumentOsRepository.findFirstByCarIdAndDocTypeOrderByIdAsc(7L, CarDocumentType.PHOTO))
+                .thenReturn(Optional.of(photo));
+        when(renditionService.findRendition(SHA256, RenditionSize.THUMB))
+                .thenReturn(Optional.empty(), Optional.of(Files.write(tempDir.resolve("thumb"), THUMB)));
+        when(renditionService.getRendition(anyString(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("pool saturated")));
+
+        assertThat(assets.carImage(7L)).isSameAs(assets.placeholder());
+        assertThat(assets.carImage(7L)).isNotSameAs(assets.placeholder());
+    }
+
+    @Test
+    void carWithoutUsablePhotoGetsThePlaceholder() {
+        photo.setDetectedContentType("image/webp");
+        when(carDocumentOsRepository.findFirstByCarIdAndDocTypeOrderByIdAsc(7L, CarDocumentType.PHOTO))
+                .thenReturn(Optional.of(photo));
+        when(carDocumentOsRepository.findFirstByCarIdAndDocTypeOrderByIdAsc(8L, CarDocumentType.PHOTO))
+                .thenReturn(Optional.empty());
+
+        assertThat(assets.carImage(7L)).isSameAs(assets.placeholder());
+        assertThat(assets.carImage(8L)).isSameAs(assets.placeholder());
+        assertThat(assets.carImage(null)).isSameAs(assets.placeholder());
+
+        verify(renditionService, never()).findRendition(anyString(), any());
+    }
+}
@@ -0,0 +1,48 @@
+package de.ait.javalessonspro.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class EmailMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final EmailMetrics metrics = new EmailMetrics(registry);
+
+    @Test
+    void stageRecordsTheTimeSinceStartAndReturnsTheNextStart() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        long next = metrics.stage(EmailMetrics.Stage.LOOKUP, "car-offer-mail", start);
+        metrics.stage(EmailMetrics.Stage.PERSIST, "car-offer-mail", next);
+
+        assertThat(next).isGreaterThan(start);
+        assertThat(registry.get("email.stage").tag("stage", "lookup").tag("template", "car-offer-mail")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(registry.get("email.stage").tag("stage", "persist").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void outcomesAreCountedPerTemplate() {
+        metrics.delivered("car-offer-mail", EmailMetrics.Outcome.SUCCESS);
+        metrics.delivered("car-offer-mail", EmailMetrics.Outcome.SUCCESS);
+        metrics.delivered("car-offer-mail", EmailMetrics.Outcome.RETRY);
+        metrics.enqueued("test-drive-reminder-email", EmailMetrics.Outcome.FAILURE);
+
+        assertThat(registry.get("email.delivered").tag("outcome", "success").counter().count()).isEqualTo(2);
+        assertThat(registry.get("email.delivered").tag("outcome", "retry").counter().count()).isEqualTo(1);
+        assertThat(registry.get("email.enqueued").tag("template", "test-drive-reminder-email")
+                .tag("outcome", "failure").counter().count()).isEqualTo(1);
+    }
+}
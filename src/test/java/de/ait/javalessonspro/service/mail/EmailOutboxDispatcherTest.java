@@ -0,0 +1,192 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.model.EmailOutboxMessage;
+import de.ait.javalessonspro.repositories.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    private static final long ID = 42L;
+
+    @Mock
+    private EmailOutboxRepository repository;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    @Mock
+    private EmailComposer emailComposer;
+
+    @Spy
+    private EmailMetrics emailMetrics = new EmailMetrics(new SimpleMeterRegistry());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private SuppressionList suppressionList;
+
+    @InjectMocks
+    private EmailOutboxDispatcher dispatcher;
+
+    private EmailOutboxMessage message;
+
+    private EmailOutboxDispatcher.Claim claim;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseMs", 1000L);
+
+        message = new EmailOutboxMessage("client@example.com", "Your test drive",
+                "test-drive-confirmation-email", "{\"clientName\":\"Anna\",\"carId\":7}");
+        message.setId(ID);
+        message.setStatus(EmailStatus.SENDING);
+        message.setAttempts(1);
+        claim = new EmailOutboxDispatcher.Claim(ID, LocalDateTime.now().plusMinutes(5).truncatedTo(ChronoUnit.MILLIS));
+        message.setNextAttemptAt(claim.lease());
+
+        when(repository.findById(ID)).thenReturn(Optional.of(message));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // the guarded update, applied to the message as the database would
+        lenient().when(repository.recordOutcome(eq(ID), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            if (message.getStatus() != EmailStatus.SENDING
+                    || !message.getNextAttemptAt().equals(invocation.getArgument(1))) {
+                return 0;
+            }
+            message.setStatus(invocation.getArgument(2));
+            message.setNextAttemptAt(invocation.getArgument(3));
+            message.setSentAt(invocation.getArgument(4));
+            message.setLastError(invocation.getArgument(5));
+            return 1;
+        });
+        lenient().when(emailComposer.compose(eq("client@example.com"), eq("Your test drive"),
+                eq("test-drive-confirmation-email"), eq(Map.of("clientName", "Anna", "carId", 7))))
+                .thenReturn(new MimeMessage((Session) null));
+    }
+
+    @Test
+    void deliveredMessageIsMarkedSent() {
+        dispatcher.deliver(claim);
+
+        verify(javaMailSender).send(any(MimeMessage.class));
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(message.getSentAt()).isNotNull();
+        assertThat(message.getLastError()).isNull();
+    }
+
+    @Test
+    void failedMessageIsRescheduledWithBackoff() {
+        doThrow(new MailSendException("SMTP unavailable")).when(javaMailSender).send(any(MimeMessage.class));
+        message.setAttempts(2);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.deliver(claim);
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(message.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(2));
+        assertThat(message.getLastError()).contains("SMTP unavailable");
+    }
+
+    @Test
+    void messageIsGivenUpAfterMaxAttempts() {
+        doThrow(new MailSendException("Mailbox unavailable")).when(javaMailSender).send(any(MimeMessage.class));
+        message.setAttempts(3);
+
+        dispatcher.deliver(claim);
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(message.getLastError()).contains("Mailbox unavailable");
+    }
+
+    @Test
+    void permanentlyRejectedMessageIsSuppressedWithoutRetry() {
+        MailSendException rejected = new MailSendException("550 5.1.1 User unknown");
+        doThrow(rejected).when(javaMailSender).send(any(MimeMessage.class));
+        when(suppressionList.suppressRejected(rejected)).thenReturn(true);
+
+        dispatcher.deliver(claim);
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.SUPPRESSED);
+        assertThat(message.getLastError()).contains("User unknown");
+    }
+
+    @Test
+    void outcomeIsNotRecordedOnceAnotherDispatcherClaimedTheMessage() {
+        LocalDateTime otherLease = claim.lease().plusMinutes(5);
+        doAnswer(invocation -> {
+            // the lease ran out during the send and another node claimed the message
+            message.setNextAttemptAt(otherLease);
+            return null;
+        }).when(javaMailSender).send(any(MimeMessage.class));
+
+        dispatcher.deliver(claim);
+
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.SENDING);
+        assertThat(message.getNextAttemptAt()).isEqualTo(otherLease);
+        assertThat(message.getSentAt()).isNull();
+    }
+
+    @Test
+    void messageWithExpiredLeaseIsNotSent() {
+        claim = new EmailOutboxDispatcher.Claim(ID, LocalDateTime.now().minusSeconds(1).truncatedTo(ChronoUnit.MILLIS));
+        message.setNextAttemptAt(claim.lease());
+
+        dispatcher.deliver(claim);
+
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+        assertThat(message.getStatus()).isEqualTo(EmailStatus.SENDING);
+    }
+
+    @Test
+    void messageClaimedAgainBeforeDeliveryIsNotSent() {
+        message.setNextAttemptAt(claim.lease().plusMinutes(5));
+
+        dispatcher.deliver(claim);
+
+        verify(javaMailSender, never()).send(any(MimeMessage.class));
+    }
+}
@@ -0,0 +1,126 @@
+package de.ait.javalessonspro.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Per-email cost of building the template data, rendering the real
+ * cancellation template and writing the message. {@code stringBody} is the
+ * former path: formatter created per email, body rendered into a String and
+ * encoded from it. {@code streamedBody} uses the shared formatter and renders
+ * straight into the MIME part while the message is written. With
+ * {@code cacheable=false} every email parses the template again, which is what
+ * preloading the template cache avoids. Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=de.ait.javalessonspro.service.mail.EmailRenderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderBenchmark {
+
+    private static final String TEMPLATE = "test-drive-cancellation-email";
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    @Param({"true", "false"})
+    public boolean cacheable;
+
+    private EmailComposer emailComposer;
+    private LocalDateTime testDriveDateTime;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(cacheable);
+        TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        emailComposer = new EmailComposer(new JavaMailSenderImpl(), templateEngine, null,
+                new EmailMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(emailComposer, "emailSender", "noreply@example.com");
+        testDriveDateTime = LocalDateTime.of(2026, 11, 2, 14, 30);
+    }
+
+    @Benchmark
+    public MimeMessage stringBody() throws MessagingException, IOException {
+        Map<String, Object> variables = variables(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"));
+        String html = emailComposer.render(TEMPLATE, variables);
+        return write(emailComposer.build("anna@example.com", "Test drive cancelled", TEMPLATE, variables, html));
+    }
+
+    @Benchmark
+    public MimeMessage streamedBody() throws MessagingException, IOException {
+        Map<String, Object> variables = variables(DATE_TIME_FORMATTER);
+        return write(emailComposer.compose("anna@example.com", "Test drive cancelled", TEMPLATE, variables));
+    }
+
+    private Map<String, Object> variables(DateTimeFormatter formatter) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("clientName", "Anna Schmidt");
+        data.put("carBrand", "BMW");
+        data.put("carModel", "X5");
+        data.put("testDriveDateTime", testDriveDateTime.format(formatter));
+        data.put("cancellationDateTime", testDriveDateTime.minusDays(1).format(formatter));
+        data.put("cancellationReason", "Причина не указана");
+        data.put("dealerName", "AIT Gr.59 API");
+        data.put("dealerPhone", "+49 30 123456");
+        data.put("bookingId", "TD-1A2B3C4D");
+        return data;
+    }
+
+    private static MimeMessage write(MimeMessage message) throws MessagingException, IOException {
+        message.saveChanges();
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailRenderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
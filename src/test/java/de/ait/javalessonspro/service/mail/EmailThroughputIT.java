@@ -0,0 +1,340 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import de.ait.javalessonspro.dto.CarOfferEmailRequest;
+import de.ait.javalessonspro.dto.TestDriveConfirmationEmailRequest;
+import de.ait.javalessonspro.dto.TestDriveReminderEmailRequest;
+import de.ait.javalessonspro.enums.CarStatus;
+import de.ait.javalessonspro.enums.EmailStatus;
+import de.ait.javalessonspro.enums.FuelType;
+import de.ait.javalessonspro.enums.Transmission;
+import de.ait.javalessonspro.model.Car;
+import de.ait.javalessonspro.model.EmailOutboxMessage;
+import de.ait.javalessonspro.repositories.CarRepository;
+import de.ait.javalessonspro.repositories.EmailOutboxRepository;
+import de.ait.javalessonspro.repositories.TestDriveBookingRepository;
+import de.ait.javalessonspro.service.CarOfferEmailService;
+import de.ait.javalessonspro.service.TestDriveEmailService;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Email throughput of one node against a local GreenMail SMTP server. Not
+ * part of the regular test run; the numbers are printed, not asserted:
+ * <pre>
+ * mvn test -Dtest=EmailThroughputIT -Dperf.concurrency=1,2,4,8,16 -Dperf.messages=300
+ * </pre>
+ * {@code serviceThroughput} drives confirmations, reminders and car offers
+ * through {@link TestDriveEmailService} and {@link CarOfferEmailService} and
+ * waits until the outbox dispatcher has delivered all of them.
+ * {@code phaseSplit} sends the same messages straight from worker threads and
+ * times template rendering, MIME building and SMTP separately.
+ */
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "app.mail.outbox.dispatch-enabled=true",
+        "app.mail.outbox.poll-interval-ms=20",
+        "app.mail.outbox.batch-size=50"
+})
+@ActiveProfiles("test")
+class EmailThroughputIT {
+
+    private static final TypeReference<Map<String, Object>> TEMPLATE_DATA = new TypeReference<>() {
+    };
+
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofMinutes(5);
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication())
+            .withPerMethodLifecycle(false);
+
+    @Autowired
+    private TestDriveEmailService testDriveEmailService;
+
+    @Autowired
+    private CarOfferEmailService carOfferEmailService;
+
+    @Autowired
+    private EmailComposer emailComposer;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TestDriveBookingRepository bookingRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int[] concurrencyLevels = Arrays.stream(System.getProperty("perf.concurrency", "1,2,4,8").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+
+    private final int messagesPerLevel = Integer.getInteger("perf.messages", 150);
+
+    // keeps clients unique across levels
+    private final AtomicInteger client = new AtomicInteger();
+
+    private Car car;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        outboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        greenMail.purgeEmailFromAllMailboxes();
+
+        car = newCar();
+    }
+
+    @Test
+    void serviceThroughput() throws Exception {
+        System.out.printf("%nservice throughput, %d messages per level%n", messagesPerLevel);
+        System.out.printf("%6s %10s %12s %12s %12s %12s %12s%n",
+                "conc", "msg/s", "enqueue p50", "enqueue p99", "deliver p50", "deliver p95", "deliver p99");
+
+        for (int concurrency : concurrencyLevels) {
+            // reminders need a confirmed booking; created and delivered up front, outside the measurement
+            List<TestDriveConfirmationEmailRequest> reminderTargets = new ArrayList<>();
+            for (int i = 2; i < messagesPerLevel; i += 3) {
+                TestDriveConfirmationEmailRequest request = confirmation();
+                testDriveEmailService.sendConfirmationEmail(request);
+                reminderTargets.add(request);
+            }
+            awaitDelivered(reminderTargets.size());
+            outboxRepository.deleteAll();
+            greenMail.purgeEmailFromAllMailboxes();
+
+            List<Callable<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < messagesPerLevel; i++) {
+                Runnable call = switch (i % 3) {
+                    case 0 -> {
+                        TestDriveConfirmationEmailRequest request = confirmation();
+                        yield () -> testDriveEmailService.sendConfirmationEmail(request);
+                    }
+                    case 1 -> {
+                        CarOfferEmailRequest request = offer(i);
+                        yield () -> carOfferEmailService.sendCarOfferEmail(request);
+                    }
+                    default -> {
+                        TestDriveReminderEmailRequest request = reminder(reminderTargets.get(i / 3));
+                        yield () -> testDriveEmailService.sendReminderEmail(request);
+                    }
+                };
+                calls.add(timed(call));
+            }
+
+            long start = System.nanoTime();
+            long[] enqueueNanos = runAll(concurrency, calls);
+            awaitDelivered(messagesPerLevel);
+            long elapsed = System.nanoTime() - start;
+
+            List<EmailOutboxMessage> sent = outboxRepository.findAll();
+            assertThat(sent).allMatch(message -> message.getStatus() == EmailStatus.SENT);
+            long[] deliverNanos = sent.stream()
+                    .mapToLong(message -> Duration.between(message.getCreatedAt(), message.getSentAt()).toNanos())
+                    .sorted()
+                    .toArray();
+
+            System.out.printf("%6d %10.1f %12s %12s %12s %12s %12s%n",
+                    concurrency, messagesPerLevel * 1e9 / elapsed,
+                    millis(percentile(enqueueNanos, 50)), millis(percentile(enqueueNanos, 99)),
+                    millis(percentile(deliverNanos, 50)), millis(percentile(deliverNanos, 95)),
+                    millis(percentile(deliverNanos, 99)));
+
+            outboxRepository.deleteAll();
+            greenMail.purgeEmailFromAllMailboxes();
+        }
+    }
+
+    @Test
+    void phaseSplit() throws Exception {
+        // queue one of each kind and keep the rows as the message templates; nothing is delivered twice
+        TestDriveConfirmationEmailRequest booked = confirmation();
+        testDriveEmailService.sendConfirmationEmail(booked);
+        testDriveEmailService.sendReminderEmail(reminder(booked));
+        carOfferEmailService.sendCarOfferEmail(offer(0));
+        awaitDelivered(3);
+        List<EmailOutboxMessage> samples = outboxRepository.findAll();
+        greenMail.purgeEmailFromAllMailboxes();
+
+        System.out.printf("%nphase split, %d messages per level, mean / p99 per message%n", messagesPerLevel);
+        System.out.printf("%6s %10s %20s %20s %20s%n", "conc", "msg/s", "render", "mime", "smtp");
+
+        for (int concurrency : concurrencyLevels) {
+            long[][] phases = new long[3][messagesPerLevel];
+            List<Callable<Long>> calls = new ArrayList<>();
+            for (int i = 0; i < messagesPerLevel; i++) {
+                int index = i;
+                EmailOutboxMessage sample = samples.get(i % samples.size());
+                Map<String, Object> variables = objectMapper.readValue(sample.getTemplateData(), TEMPLATE_DATA);
+                calls.add(() -> {
+                    long t0 = System.nanoTime();
+                    String html = emailComposer.render(sample.getTemplate(), variables);
+                    long t1 = System.nanoTime();
+                    MimeMessage message = emailComposer.build("client" + index + "@example.com",
+                            sample.getSubject(), sample.getTemplate(), variables, html);
+                    message.saveChanges();
+                    long t2 = System.nanoTime();
+                    javaMailSender.send(message);
+                    long t3 = System.nanoTime();
+                    phases[0][index] = t1 - t0;
+                    phases[1][index] = t2 - t1;
+                    phases[2][index] = t3 - t2;
+                    return t3 - t0;
+                });
+            }
+
+            long start = System.nanoTime();
+            runAll(concurrency, calls);
+            long elapsed = System.nanoTime() - start;
+            assertThat(greenMail.getReceivedMessages()).hasSize(messagesPerLevel);
+
+            System.out.printf("%6d %10.1f %20s %20s %20s%n", concurrency, messagesPerLevel * 1e9 / elapsed,
+                    summary(phases[0]), summary(phases[1]), summary(phases[2]));
+
+            greenMail.purgeEmailFromAllMailboxes();
+        }
+    }
+
+    private TestDriveConfirmationEmailRequest confirmation() {
+        int n = client.incrementAndGet();
+        // a car of its own, as the slot engine keeps bookings of one car apart and
+        // concurrent confirmations of one car wait for each other
+        return TestDriveConfirmationEmailRequest.builder()
+                .clientEmail("client" + n + "@example.com")
+                .clientName("Client " + n)
+                .carId(newCar().getId())
+                .testDriveDateTime(LocalDate.now().plusDays(2).atTime(10, 0))
+                .dealerAddress("Hauptstrasse 1")
+                .dealerPhone("+49 30 123456")
+                .build();
+    }
+
+    private Car newCar() {
+        Car car = new Car();
+        car.setBrand("BMW");
+        car.setModel("X5");
+        car.setProductionYear(2020);
+        car.setMileage(100000);
+        car.setPrice(BigDecimal.valueOf(50000));
+        car.setStatus(CarStatus.AVAILABLE);
+        car.setColor("red");
+        car.setFuelType(FuelType.DIESEL);
+        car.setHorsepower(150);
+        car.setTransmission(Transmission.AUTOMATIC);
+        return carRepository.saveAndFlush(car);
+    }
+
+    private TestDriveReminderEmailRequest reminder(TestDriveConfirmationEmailRequest booked) {
+        return TestDriveReminderEmailRequest.builder()
+                .clientEmail(booked.getClientEmail())
+                .clientName(booked.getClientName())
+                .carId(booked.getCarId())
+                .testDriveDateTime(booked.getTestDriveDateTime())
+                .build();
+    }
+
+    private CarOfferEmailRequest offer(int n) {
+        CarOfferEmailRequest request = new CarOfferEmailRequest();
+        request.setEmail("lead" + n + "@example.com");
+        request.setClientName("Lead " + n);
+        request.setCarId(car.getId());
+        request.setOfferPrice(45000);
+        return request;
+    }
+
+    private static Callable<Long> timed(Runnable call) {
+        return () -> {
+            long start = System.nanoTime();
+            call.run();
+            return System.nanoTime() - start;
+        };
+    }
+
+    /**
+     * Runs the calls on {@code concurrency} threads and returns their durations, sorted.
+     */
+    private static long[] runAll(int concurrency, List<Callable<Long>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Long>> futures = executor.invokeAll(calls);
+            long[] nanos = new long[futures.size()];
+            for (int i = 0; i < nanos.length; i++) {
+                nanos[i] = futures.get(i).get();
+            }
+            Arrays.sort(nanos);
+            return nanos;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        assertThat(greenMail.waitForIncomingEmail(DELIVERY_TIMEOUT.toMillis(), count))
+                .as("%d emails delivered within %s", count, DELIVERY_TIMEOUT)
+                .isTrue();
+        // the dispatcher marks a message SENT just after the SMTP server has accepted it
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+        while (outboxRepository.countByStatus(EmailStatus.SENT) < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static String summary(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return millis((long) Arrays.stream(sorted).average().orElse(0)) + " / " + millis(percentile(sorted, 99));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f ms", nanos / 1e6);
+    }
+}
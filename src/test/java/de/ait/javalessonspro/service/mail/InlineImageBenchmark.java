@@ -0,0 +1,133 @@
+package de.ait.javalessonspro.service.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Rendering and encoding one email with the car image as a data URI vs. as a
+ * cached inline part referenced by {@code cid:}. Not a unit test; run with the
+ * GC profiler to see the allocation per email:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=de.ait.javalessonspro.service.mail.InlineImageBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InlineImageBenchmark {
+
+    private static final String BODY = """
+            <html><body>
+            <h2 th:text="${'Hello, ' + clientName}">Hello</h2>
+            <p th:text="${carBrand + ' ' + carModel}">Car</p>
+            %s
+            <p th:text="${confirmationId}">TD-1</p>
+            </body></html>
+            """;
+
+    private static final String DATA_URI_TEMPLATE = BODY.formatted("<img alt=\"Car\" th:src=\"${carImageUrl}\" />");
+
+    private static final String CID_TEMPLATE = BODY.formatted("<img alt=\"Car\" src=\"cid:car-image\" />");
+
+    private TemplateEngine templateEngine;
+    private Session session;
+    private Map<String, Object> variables;
+    private String dataUri;
+    private EmailImageAssets.InlineImage cachedImage;
+
+    @Setup
+    public void setUp() throws IOException {
+        templateEngine = new TemplateEngine();
+        StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.HTML);
+        templateEngine.setTemplateResolver(resolver);
+        session = Session.getInstance(new Properties());
+        variables = Map.of("clientName", "Anna", "carBrand", "BMW", "carModel", "X5", "confirmationId", "TD-123456");
+
+        byte[] image;
+        try (InputStream content = getClass().getResourceAsStream("/mail/car-placeholder.png")) {
+            image = content.readAllBytes();
+        }
+        dataUri = "data:image/png;base64," + Base64.getEncoder().encodeToString(image);
+        cachedImage = EmailImageAssets.InlineImage.encode("image/png", image);
+    }
+
+    @Benchmark
+    public MimeMessage dataUri() throws MessagingException, IOException {
+        Context context = new Context();
+        context.setVariables(variables);
+        context.setVariable("carImageUrl", dataUri);
+        return write(helper(templateEngine.process(DATA_URI_TEMPLATE, context)));
+    }
+
+    @Benchmark
+    public MimeMessage cachedInlinePart() throws MessagingException, IOException {
+        Context context = new Context();
+        context.setVariables(variables);
+        MimeMessageHelper helper = helper(templateEngine.process(CID_TEMPLATE, context));
+        helper.getMimeMultipart().addBodyPart(cachedImage.toBodyPart(EmailImageAssets.CAR_IMAGE_CID));
+        return write(helper);
+    }
+
+    private MimeMessageHelper helper(String html) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, MimeMessageHelper.MULTIPART_MODE_RELATED,
+                StandardCharsets.UTF_8.name());
+        helper.setFrom("noreply@example.com");
+        helper.setTo("anna@example.com");
+        helper.setSubject("Test drive confirmation");
+        helper.setText(html, true);
+        return helper;
+    }
+
+    private static MimeMessage write(MimeMessageHelper helper) throws MessagingException, IOException {
+        MimeMessage message = helper.getMimeMessage();
+        message.saveChanges();
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InlineImageBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+}
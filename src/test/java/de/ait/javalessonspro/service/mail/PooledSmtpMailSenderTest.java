@@ -0,0 +1,124 @@
+package de.ait.javalessonspro.service.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class PooledSmtpMailSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private PooledSmtpMailSender sender;
+
+    @AfterEach
+    void tearDown() {
+        sender.destroy();
+    }
+
+    @Test
+    void consecutiveSendsReuseOneConnection() throws Exception {
+        sender = sender(2, 100, 60_000);
+
+        for (int i = 0; i < 10; i++) {
+            sender.send(message(i));
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(10);
+        PooledSmtpMailSender.Stats stats = sender.stats();
+        assertThat(stats.opened()).isEqualTo(1);
+        assertThat(stats.sent()).isEqualTo(10);
+        assertThat(stats.active()).isZero();
+        assertThat(stats.idle()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionIsRecycledAfterMaxMessages() throws Exception {
+        sender = sender(1, 3, 60_000);
+
+        sender.send(message(0), message(1), message(2), message(3), message(4), message(5), message(6));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(7);
+        PooledSmtpMailSender.Stats stats = sender.stats();
+        assertThat(stats.opened()).isEqualTo(3);
+        assertThat(stats.recycled()).isEqualTo(2);
+        assertThat(stats.closed()).isEqualTo(2);
+    }
+
+    @Test
+    void idleConnectionsAreEvicted() throws Exception {
+        sender = sender(2, 100, 0);
+        sender.send(message(0));
+        assertThat(sender.stats().idle()).isEqualTo(1);
+
+        sender.evictIdle();
+
+        assertThat(sender.stats().idle()).isZero();
+        assertThat(sender.stats().closed()).isEqualTo(1);
+    }
+
+    @Test
+    void parallelSendersShareAtMostPoolSizeConnections() throws Exception {
+        sender = sender(2, 100, 60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> batches = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread * 5;
+                batches.add(() -> {
+                    for (int i = 0; i < 5; i++) {
+                        sender.send(message(offset + i));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> batch : executor.invokeAll(batches)) {
+                batch.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(20);
+        assertThat(sender.stats().opened()).isLessThanOrEqualTo(2);
+        assertThat(sender.stats().sent()).isEqualTo(20);
+    }
+
+    private static PooledSmtpMailSender sender(int poolSize, int maxMessages, long maxIdleMs) {
+        PooledSmtpMailSender sender = new PooledSmtpMailSender(poolSize, maxMessages, maxIdleMs, 60_000, 5_000);
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private MimeMessage message(int index) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@example.com");
+        helper.setTo("client" + index + "@example.com");
+        helper.setSubject("Offer " + index);
+        helper.setText("<p>Offer " + index + "</p>", true);
+        return message;
+    }
+}
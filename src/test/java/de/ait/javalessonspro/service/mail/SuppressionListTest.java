@@ -0,0 +1,166 @@
+package de.ait.javalessonspro.service.mail;
+
+import de.ait.javalessonspro.enums.SuppressionReason;
+import de.ait.javalessonspro.model.SuppressedEmail;
+import de.ait.javalessonspro.repositories.SuppressedEmailRepository;
+import de.ait.javalessonspro.repositories.SuppressedEmailRepository.SuppressedAddress;
+import de.ait.javalessonspro.util.BloomFilter;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class SuppressionListTest {
+
+    @Mock
+    private SuppressedEmailRepository repository;
+
+    private SuppressionList suppressionList;
+
+    @BeforeEach
+    void setUp() {
+        suppressionList = new SuppressionList(repository);
+        ReflectionTestUtils.setField(suppressionList, "expectedSize", 2L);
+        ReflectionTestUtils.setField(suppressionList, "falsePositiveRate", 0.01);
+        lenient().when(repository.findAddressesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        suppressionList.rebuild();
+    }
+
+    @Test
+    void suppressesMailboxUnknownRejectionsInsideTheExceptionChain() throws Exception {
+        SendFailedException sendFailed = sendFailed(
+                rejection("gone@example.com", 550, "550 5.1.1 <gone@example.com>: user unknown"),
+                rejection("Moved@Example.com", 551, "551 5.1.6 user has moved"));
+        MailSendException exception = new MailSendException(Map.of(new Object(), sendFailed));
+
+        assertThat(suppressionList.suppressRejected(exception)).isTrue();
+
+        ArgumentCaptor<SuppressedEmail> saved = ArgumentCaptor.forClass(SuppressedEmail.class);
+        verify(repository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues())
+                .extracting(SuppressedEmail::getEmail)
+                .containsExactlyInAnyOrder("gone@example.com", "moved@example.com");
+        assertThat(saved.getAllValues())
+                .extracting(SuppressedEmail::getReason)
+                .containsOnly(SuppressionReason.HARD_BOUNCE);
+    }
+
+    @Test
+    void ignoresPolicyAndTemporaryRejections() throws Exception {
+        SendFailedException sendFailed = sendFailed(
+                rejection("anna@example.com", 550, "550 5.7.1 relaying denied"),
+                rejection("ben@example.com", 554, "554 5.7.1 rejected by policy"),
+                rejection("carl@example.com", 550, "550 mailbox unavailable"),
+                rejection("dora@example.com", 450, "450 4.1.1 try again later"));
+
+        assertThat(suppressionList.suppressRejected(new MailSendException(Map.of(new Object(), sendFailed))))
+                .isFalse();
+        assertThat(suppressionList.suppressRejected(new MessagingException("connection refused"))).isFalse();
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void refreshPicksUpAddressesSuppressedOnOtherNodes() {
+        when(repository.findAddressesAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(address(1L, "remote@example.com")));
+        when(repository.existsByEmail("remote@example.com")).thenReturn(true);
+
+        suppressionList.refresh();
+
+        assertThat(suppressionList.isSuppressed(" Remote@Example.com ")).isTrue();
+    }
+
+    @Test
+    void refreshRebuildsTheFilterOnceItIsOverfull() {
+        for (String email : List.of("a@example.com", "b@example.com", "c@example.com")) {
+            suppressionList.suppress(email, SuppressionReason.HARD_BOUNCE, null);
+        }
+        BloomFilter overfull = filter();
+        assertThat(overfull.insertions()).isGreaterThan(overfull.expectedInsertions());
+        when(repository.count()).thenReturn(3L);
+        when(repository.findAddressesAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                address(1L, "a@example.com"), address(2L, "b@example.com"), address(3L, "c@example.com")));
+
+        suppressionList.refresh();
+
+        BloomFilter rebuilt = filter();
+        assertThat(rebuilt).isNotSameAs(overfull);
+        assertThat(rebuilt.expectedInsertions()).isEqualTo(6);
+        assertThat(rebuilt.insertions()).isEqualTo(3);
+        assertThat(rebuilt.mightContain("c@example.com")).isTrue();
+    }
+
+    @Test
+    void isSuppressedSkipsTheDatabaseForAddressesNotInTheFilter() {
+        assertThat(suppressionList.isSuppressed("new@example.com")).isFalse();
+
+        verify(repository, never()).existsByEmail(anyString());
+    }
+
+    private BloomFilter filter() {
+        return (BloomFilter) ReflectionTestUtils.getField(suppressionList, "filter");
+    }
+
+    private static SMTPAddressFailedException rejection(String email, int code, String reply) throws Exception {
+        return new SMTPAddressFailedException(new InternetAddress(email), "RCPT TO:<" + email + ">", code, reply);
+    }
+
+    // as SMTPTransport reports failed recipients: the first rejection, the others chained to it
+    private static SendFailedException sendFailed(SMTPAddressFailedException... rejections) {
+        for (int i = 1; i < rejections.length; i++) {
+            rejections[i - 1].setNextException(rejections[i]);
+        }
+        Address[] invalid = new Address[rejections.length];
+        for (int i = 0; i < rejections.length; i++) {
+            invalid[i] = rejections[i].getAddress();
+        }
+        return new SendFailedException("Invalid Addresses", rejections[0], null, null, invalid);
+    }
+
+    private static SuppressedAddress address(Long id, String email) {
+        return new SuppressedAddress() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,310 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.ClientDocumentType;
+import de.ait.javalessonspro.enums.StorageTier;
+import de.ait.javalessonspro.model.ClientDocumentDb;
+import de.ait.javalessonspro.model.DocumentBlob;
+import de.ait.javalessonspro.repositories.ClientDocumentChunkRepository;
+import de.ait.javalessonspro.repositories.ClientDocumentContentRepository;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientDocumentTieringTest {
+
+    private static final int CHUNK_SIZE = 16;
+
+    private static final String SHA256 = "a".repeat(64);
+
+    @Mock
+    private ClientDocumentDbRepository repository;
+
+    @Mock
+    private DocumentBlobStore blobStore;
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private DatabaseClientDocumentStorage databaseStorage;
+    private ClientDocumentTiering tiering;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table client_document_chunks (
+                    document_id bigint not null,
+                    seq int not null,
+                    size int not null,
+                    crc32c bigint not null,
+                    data bytea not null,
+                    primary key (document_id, seq))
+                """);
+        jdbcTemplate.execute("create table client_document_data (document_id bigint primary key, data bytea not null)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        databaseStorage = new DatabaseClientDocumentStorage(new ClientDocumentChunkRepository(jdbcTemplate),
+                new ClientDocumentContentRepository(jdbcTemplate), transactionTemplate);
+        ReflectionTestUtils.setField(databaseStorage, "chunkSize", CHUNK_SIZE);
+
+        tiering = new ClientDocumentTiering(repository, databaseStorage, blobStore,
+                List.of(databaseStorage, new FileSystemClientDocumentStorage(blobStore)), transactionTemplate);
+        tiering.indexStorages();
+        ReflectionTestUtils.setField(tiering, "enabled", true);
+        ReflectionTestUtils.setField(tiering, "coldAfterDays", 30);
+        ReflectionTestUtils.setField(tiering, "batchSize", 5);
+        ReflectionTestUtils.setField(tiering, "pauseMs", 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    @Test
+    void demotedDocumentIsDownloadedFromTheBlobStore() throws Exception {
+        byte[] content = content(1);
+        ClientDocumentDb doc = storedDocument(1L, content);
+        when(repository.findById(1L)).thenReturn(Optional.of(doc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(doc));
+        acceptUploads();
+        serveBlobs();
+
+        assertThat(tiering.demote(1L)).isTrue();
+
+        assertThat(doc.getStorageTier()).isEqualTo(StorageTier.FILESYSTEM);
+        assertThat(doc.getChecksumSha256()).isEqualTo(SHA256);
+        assertThat(doc.getChunkSize()).isNull();
+        assertThat(chunkCount(1L)).isZero();
+        assertThat(download(doc, 0, content.length)).isEqualTo(content);
+        assertThat(download(doc, 5, 20)).isEqualTo(Arrays.copyOfRange(content, 5, 25));
+    }
+
+    @Test
+    void promotedDocumentIsDownloadedFromTheDatabase() throws Exception {
+        byte[] content = content(1);
+        ClientDocumentDb doc = storedDocument(1L, content);
+        when(repository.findById(1L)).thenReturn(Optional.of(doc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(doc));
+        acceptUploads();
+        serveBlobs();
+        tiering.demote(1L);
+
+        assertThat(tiering.promote(1L)).isTrue();
+
+        assertThat(doc.getStorageTier()).isEqualTo(StorageTier.DATABASE);
+        assertThat(doc.getStoragePath()).isNull();
+        assertThat(chunkCount(1L)).isEqualTo(4);
+        verify(blobStore).release(SHA256);
+        assertThat(download(doc, 0, content.length)).isEqualTo(content);
+    }
+
+    @Test
+    void demoteRollsBackWhenTheRowChangedMeanwhile() throws Exception {
+        byte[] content = content(1);
+        ClientDocumentDb doc = storedDocument(1L, content);
+        ClientDocumentDb changed = copyOf(doc);
+        changed.setStorageTier(StorageTier.FILESYSTEM);
+        when(repository.findById(1L)).thenReturn(Optional.of(doc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(changed));
+        acceptUploads();
+
+        // thrown inside attach, which rolls back the blob reference taken there
+        assertThatThrownBy(() -> tiering.demote(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("changed while it was moved");
+
+        assertThat(doc.getStorageTier()).isEqualTo(StorageTier.DATABASE);
+        assertThat(chunkCount(1L)).isEqualTo(4);
+        assertThat(download(doc, 0, content.length)).isEqualTo(content);
+    }
+
+    @Test
+    void downloadStartedBeforeADemoteIsRetriedOnTheNewTier() throws Exception {
+        byte[] content = content(1);
+        ClientDocumentDb doc = storedDocument(1L, content);
+        ClientDocumentDb readBeforeMove = copyOf(doc);
+        when(repository.findById(1L)).thenReturn(Optional.of(doc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(doc));
+        acceptUploads();
+        serveBlobs();
+        tiering.demote(1L);
+
+        assertThat(download(readBeforeMove, 0, content.length)).isEqualTo(content);
+    }
+
+    @Test
+    void downloadInterruptedByADemoteContinuesOnTheNewTierWithoutRepeatingBytes() throws Exception {
+        byte[] content = content(1);
+        ClientDocumentDb doc = storedDocument(1L, content);
+        ClientDocumentDb readBeforeMove = copyOf(doc);
+        when(repository.findById(1L)).thenReturn(Optional.of(doc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(doc));
+        acceptUploads();
+        serveBlobs();
+        // the first three chunks are still readable, the last one is gone when the download reaches it
+        jdbcTemplate.execute("create table kept as select * from client_document_chunks where seq < 3");
+        tiering.demote(1L);
+        jdbcTemplate.execute("insert into client_document_chunks select * from kept");
+
+        assertThat(download(readBeforeMove, 0, content.length)).isEqualTo(content);
+        assertThat(download(readBeforeMove, 40, 13)).isEqualTo(Arrays.copyOfRange(content, 40, 53));
+    }
+
+    @Test
+    void readsAreWrittenInOneBatchPerFlush() {
+        tiering.recordAccess(1L);
+        tiering.recordAccess(2L);
+        tiering.recordAccess(1L);
+        tiering.recordAccess(1L);
+        verify(repository, never()).recordAccesses(anyLong(), anyLong(), any());
+
+        tiering.flushAccesses();
+        tiering.flushAccesses();
+
+        verify(repository).recordAccesses(eq(1L), eq(3L), any());
+        verify(repository).recordAccesses(eq(2L), eq(1L), any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void failedFlushKeepsTheReadsForTheNextOne() {
+        tiering.recordAccess(1L);
+        when(repository.recordAccesses(eq(1L), anyLong(), any()))
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(1);
+        tiering.flushAccesses();
+        tiering.recordAccess(1L);
+
+        tiering.flushAccesses();
+
+        verify(repository).recordAccesses(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void runStopsAtTheByteBudget() throws Exception {
+        byte[] first = content(1);
+        byte[] second = content(2);
+        ClientDocumentDb firstDoc = storedDocument(1L, first);
+        ClientDocumentDb secondDoc = storedDocument(2L, second);
+        ReflectionTestUtils.setField(tiering, "maxBytesPerRun", (long) first.length + second.length - 1);
+        when(repository.findByStorageTierAndLastAccessedAtBeforeOrderByLastAccessedAtAsc(
+                eq(StorageTier.DATABASE), any(), eq(PageRequest.of(0, 5))))
+                .thenReturn(List.of(firstDoc, secondDoc));
+        when(repository.findById(1L)).thenReturn(Optional.of(firstDoc));
+        when(repository.findForUpdate(1L)).thenReturn(Optional.of(firstDoc));
+        acceptUploads();
+
+        tiering.run();
+
+        assertThat(firstDoc.getStorageTier()).isEqualTo(StorageTier.FILESYSTEM);
+        assertThat(secondDoc.getStorageTier()).isEqualTo(StorageTier.DATABASE);
+        verify(repository, never()).findForUpdate(2L);
+        assertThat(chunkCount(2L)).isEqualTo(4);
+    }
+
+    // the blob store writes the upload to a file and registers it in the caller's transaction
+    private void acceptUploads() throws Exception {
+        when(blobStore.upload(any(InputStream.class), anyLong(), isNull())).thenAnswer(invocation -> {
+            Path file = tempDir.resolve(UUID.randomUUID() + ".blob");
+            Files.copy(invocation.<InputStream>getArgument(0), file);
+            return new DocumentBlobStore.BlobUpload(null, null, file, null);
+        });
+        when(blobStore.attach(any(DocumentBlobStore.BlobUpload.class), any(), any())).thenAnswer(invocation -> {
+            DocumentBlob blob = new DocumentBlob();
+            blob.setSha256(SHA256);
+            blob.setStoragePath(invocation.<DocumentBlobStore.BlobUpload>getArgument(0).stagingFile().toString());
+            Function<DocumentBlob, Object> writer = invocation.getArgument(2);
+            return transactionTemplate.execute(status -> writer.apply(blob));
+        });
+    }
+
+    private void serveBlobs() throws Exception {
+        when(blobStore.locate(eq(SHA256), anyString())).thenAnswer(invocation ->
+                BlobSlice.of(Path.of(invocation.<String>getArgument(1))));
+    }
+
+    private ClientDocumentDb storedDocument(Long id, byte[] content) throws Exception {
+        ClientDocumentDb doc = new ClientDocumentDb();
+        doc.setId(id);
+        doc.setClientEmail("anna@example.com");
+        doc.setDocType(ClientDocumentType.PASSPORT);
+        doc.setSize((long) content.length);
+        databaseStorage.store(doc, new ByteArrayInputStream(content));
+        return doc;
+    }
+
+    private static ClientDocumentDb copyOf(ClientDocumentDb doc) {
+        ClientDocumentDb copy = new ClientDocumentDb();
+        copy.setId(doc.getId());
+        copy.setDocType(doc.getDocType());
+        copy.setSize(doc.getSize());
+        copy.setChunkSize(doc.getChunkSize());
+        copy.setStorageTier(doc.getStorageTier());
+        return copy;
+    }
+
+    private byte[] download(ClientDocumentDb doc, long start, long length) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tiering.copyRange(doc, start, length, out);
+        return out.toByteArray();
+    }
+
+    private int chunkCount(Long documentId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from client_document_chunks where document_id = ?", Integer.class, documentId);
+    }
+
+    private static byte[] content(long seed) {
+        byte[] content = new byte[CHUNK_SIZE * 3 + 5];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+}
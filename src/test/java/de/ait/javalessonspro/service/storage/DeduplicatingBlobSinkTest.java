@@ -0,0 +1,108 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class DeduplicatingBlobSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void identicalUploadIsNotWritten() throws Exception {
+        byte[] content = pdf(300_000, 1);
+        Path existing = Files.write(tempDir.resolve("existing"), content);
+        Path staging = tempDir.resolve("staging");
+
+        Optional<BlobSlice> duplicate = upload(content, existing, staging);
+
+        assertThat(duplicate).contains(new BlobSlice(existing, 0, content.length));
+        assertThat(staging).doesNotExist();
+    }
+
+    @Test
+    void uploadDivergingAfterPrefixIsWrittenCompletely() throws Exception {
+        byte[] existingContent = pdf(300_000, 1);
+        byte[] content = existingContent.clone();
+        content[200_000] ^= 0x55;
+        Path existing = Files.write(tempDir.resolve("existing"), existingContent);
+        Path staging = tempDir.resolve("staging");
+
+        Optional<BlobSlice> duplicate = upload(content, existing, staging);
+
+        assertThat(duplicate).isEmpty();
+        assertThat(Files.readAllBytes(staging)).isEqualTo(content);
+    }
+
+    @Test
+    void uploadThatIsAPrefixOfAnExistingBlobIsWritten() throws Exception {
+        byte[] existingContent = pdf(200_000, 3);
+        byte[] content = java.util.Arrays.copyOf(existingContent, 150_000);
+        Path existing = Files.write(tempDir.resolve("existing"), existingContent);
+        Path staging = tempDir.resolve("staging");
+
+        Optional<BlobSlice> duplicate = upload(content, existing, staging);
+
+        assertThat(duplicate).isEmpty();
+        assertThat(Files.readAllBytes(staging)).isEqualTo(content);
+    }
+
+    @Test
+    void candidateInsideASegmentFileIsComparedAtItsOffset() throws Exception {
+        byte[] content = pdf(100_000, 7);
+        byte[] segment = new byte[content.length + 1_000];
+        System.arraycopy(content, 0, segment, 500, content.length);
+        BlobSlice existing = new BlobSlice(Files.write(tempDir.resolve("segment"), segment), 500, content.length);
+        Path staging = tempDir.resolve("staging");
+
+        assertThat(upload(content, existing, staging)).contains(existing);
+
+        byte[] longer = java.util.Arrays.copyOf(content, content.length + 10);
+        assertThat(upload(longer, existing, staging)).isEmpty();
+        assertThat(Files.readAllBytes(staging)).isEqualTo(longer);
+    }
+
+    @Test
+    void newContentIsWrittenWhenNoCandidateExists() throws Exception {
+        byte[] content = pdf(1_000, 5);
+        Path staging = tempDir.resolve("staging");
+
+        Optional<BlobSlice> duplicate = upload(content, (Path) null, staging);
+
+        assertThat(duplicate).isEmpty();
+        assertThat(Files.readAllBytes(staging)).isEqualTo(content);
+    }
+
+    private static Optional<BlobSlice> upload(byte[] content, Path candidate, Path staging) throws Exception {
+        return upload(content, candidate == null ? null : BlobSlice.of(candidate), staging);
+    }
+
+    private static Optional<BlobSlice> upload(byte[] content, BlobSlice candidate, Path staging) throws Exception {
+        try (DeduplicatingBlobSink sink = new DeduplicatingBlobSink(prefix -> Optional.ofNullable(candidate), staging)) {
+            UploadPipeline.process(new ByteArrayInputStream(content), sink, Long.MAX_VALUE, null);
+            return sink.finish();
+        }
+    }
+
+    private static byte[] pdf(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        System.arraycopy("%PDF-".getBytes(), 0, content, 0, 5);
+        return content;
+    }
+}
@@ -0,0 +1,101 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.FileDeletionTask;
+import de.ait.javalessonspro.repositories.FileDeletionTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+@ExtendWith(MockitoExtension.class)
+class FileDeletionQueueTest {
+
+    @Mock
+    private FileDeletionTaskRepository repository;
+
+    @InjectMocks
+    private FileDeletionQueue queue;
+
+    @TempDir
+    Path tempDir;
+
+    private Path candidateRoot;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        candidateRoot = Files.createDirectories(tempDir.resolve("candidate-docs"));
+        ReflectionTestUtils.setField(queue, "candidateDocsDir", candidateRoot.toString());
+        ReflectionTestUtils.setField(queue, "carDocsDir", tempDir.resolve("car-docs").toString());
+        ReflectionTestUtils.setField(queue, "maxAttempts", 3);
+        ReflectionTestUtils.setField(queue, "retryBaseMs", 1000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void removesFilesAndEmptyDirectoriesUpToTheDocumentRoot() throws Exception {
+        Path oldCv = Files.writeString(Files.createDirectories(candidateRoot.resolve("anna/CV")).resolve("old.pdf"), "x");
+        Path certificate = Files.writeString(
+                Files.createDirectories(candidateRoot.resolve("bob/CERTIFICATE")).resolve("c.pdf"), "x");
+        Path alsoKept = Files.writeString(candidateRoot.resolve("anna/CV/keep.pdf"), "x");
+        FileDeletionTask first = task(oldCv);
+        FileDeletionTask second = task(certificate);
+        when(repository.findTop100ByNextAttemptAtLessThanEqualOrderByIdAsc(any())).thenReturn(List.of(first, second));
+
+        queue.processBatch();
+
+        assertThat(oldCv).doesNotExist();
+        assertThat(alsoKept).exists();
+        assertThat(candidateRoot.resolve("bob")).doesNotExist();
+        assertThat(candidateRoot).exists();
+        ArgumentCaptor<List<FileDeletionTask>> done = ArgumentCaptor.forClass(List.class);
+        verify(repository).deleteAllInBatch(done.capture());
+        assertThat(done.getValue()).containsExactly(first, second);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedDeletionIsRetriedLater() throws Exception {
+        // a non-empty directory cannot be deleted like a file
+        Path directory = Files.createDirectories(candidateRoot.resolve("busy"));
+        Files.writeString(directory.resolve("inner.pdf"), "x");
+        FileDeletionTask task = task(directory);
+        when(repository.findTop100ByNextAttemptAtLessThanEqualOrderByIdAsc(any())).thenReturn(List.of(task));
+
+        queue.processBatch();
+
+        ArgumentCaptor<List<FileDeletionTask>> retried = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(retried.capture());
+        assertThat(retried.getValue()).containsExactly(task);
+        assertThat(task.getAttempts()).isEqualTo(1);
+        assertThat(task.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(task.getLastError()).contains("DirectoryNotEmpty");
+    }
+
+    private static FileDeletionTask task(Path file) {
+        FileDeletionTask task = new FileDeletionTask(file.toString());
+        task.setNextAttemptAt(LocalDateTime.now());
+        return task;
+    }
+}
@@ -0,0 +1,55 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class HashPrefixStoragePathStrategyTest {
+
+    private static final String SHA256 = "ab12cd34ef567890ab12cd34ef567890ab12cd34ef567890ab12cd34ef567890";
+
+    private final HashPrefixStoragePathStrategy strategy = new HashPrefixStoragePathStrategy();
+
+    @Test
+    void nestsBlobBelowTwoLevelsOfItsHashPrefix() {
+        Path root = Path.of("blobs");
+
+        assertThat(strategy.resolve(root, SHA256)).isEqualTo(root.resolve("ab").resolve("12").resolve(SHA256));
+    }
+
+    @Test
+    void derivedVariantsUseTheSamePrefixesBelowTheirOwnRoot() {
+        Path root = Path.of("blobs", "derived", "thumb");
+
+        assertThat(strategy.resolve(root, SHA256).getParent()).isEqualTo(root.resolve("ab/12"));
+    }
+
+    @Test
+    void hashesSharingOnlyTheFirstLevelGoToDifferentLeaves() {
+        Path root = Path.of("blobs");
+        String sibling = "ab99" + SHA256.substring(4);
+
+        Path leaf = strategy.resolve(root, sibling).getParent();
+
+        assertThat(leaf).isNotEqualTo(strategy.resolve(root, SHA256).getParent());
+        assertThat(leaf.getParent()).isEqualTo(root.resolve("ab"));
+    }
+
+    @Test
+    void rejectsHashesShorterThanThePrefix() {
+        assertThatThrownBy(() -> strategy.resolve(Path.of("blobs"), "abc"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> strategy.resolve(Path.of("blobs"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Pack segments vs. one file per document (in the sharded layout) for small blobs.
+ * Not a unit test; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=de.ait.javalessonspro.service.storage.PackFileStoreBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackFileStoreBenchmark {
+
+    private static final int PRELOADED = 5_000;
+
+    @Param({"16384", "262144"})
+    private int blobSize;
+
+    private Path directory;
+    private PackFileStore packStore;
+    private StoragePathStrategy layout;
+    private byte[] content;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("pack-benchmark");
+        packStore = new PackFileStore(directory.resolve("packs"), 64L * 1024 * 1024, false, 0);
+        packStore.open();
+        layout = new HashPrefixStoragePathStrategy();
+        content = new byte[blobSize];
+        new Random(1).nextBytes(content);
+        for (int i = 0; i < PRELOADED; i++) {
+            packStore.put(key(i), content);
+            writeFile(key(i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        packStore.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void writePack() throws IOException {
+        packStore.put(key(PRELOADED + sequence.incrementAndGet()), content);
+    }
+
+    @Benchmark
+    public void writeFilePerDocument() throws IOException {
+        writeFile(key(PRELOADED + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public void readPack(Blackhole blackhole) throws IOException {
+        ByteBuffer data = packStore.read(key(random.nextInt(PRELOADED))).orElseThrow();
+        blackhole.consume(data.get(data.limit() - 1));
+    }
+
+    @Benchmark
+    public void readFilePerDocument(Blackhole blackhole) throws IOException {
+        byte[] data = Files.readAllBytes(layout.resolve(directory.resolve("files"), key(random.nextInt(PRELOADED))));
+        blackhole.consume(data[data.length - 1]);
+    }
+
+    private void writeFile(String key) throws IOException {
+        Path target = layout.resolve(directory.resolve("files"), key);
+        Files.createDirectories(target.getParent());
+        Files.write(target, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static String key(long index) {
+        // a real SHA-256, so the sharded layout spreads the files as it does in production
+        byte[] digest = UploadPipeline.sha256().digest(Long.toString(index).getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PackFileStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,135 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class PackFileStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void storedBlobsCanBeReadBackAsBufferAndSlice() throws Exception {
+        try (PackFileStore store = open(1024 * 1024)) {
+            store.put("a", bytes("first blob"));
+            store.put("b", bytes("second blob"));
+
+            assertThat(text(store.read("a").orElseThrow())).isEqualTo("first blob");
+            BlobSlice slice = store.slice("b").orElseThrow();
+            try (InputStream in = slice.openStream()) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("second blob");
+            }
+            assertThat(store.read("missing")).isEmpty();
+        }
+    }
+
+    @Test
+    void indexIsRebuiltOnOpenAndTombstonesAreHonoured() throws Exception {
+        try (PackFileStore store = open(64)) {
+            store.put("a", bytes("aaaaaaaaaaaaaaaaaaaa"));
+            store.put("b", bytes("bbbbbbbbbbbbbbbbbbbb"));
+            store.put("c", bytes("cccccccccccccccccccc"));
+            store.delete("b");
+            store.put("c", bytes("replaced"));
+        }
+
+        try (PackFileStore store = open(64)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(text(store.read("a").orElseThrow())).isEqualTo("aaaaaaaaaaaaaaaaaaaa");
+            assertThat(store.contains("b")).isFalse();
+            assertThat(text(store.read("c").orElseThrow())).isEqualTo("replaced");
+        }
+    }
+
+    @Test
+    void compactionMovesLiveBlobsAndDropsDeadSegments() throws Exception {
+        try (PackFileStore store = new PackFileStore(tempDir, 128, false, 0)) {
+            store.open();
+            for (int i = 0; i < 10; i++) {
+                store.put("key" + i, bytes("value-" + i + "-0123456789"));
+            }
+            for (int i = 0; i < 10; i += 2) {
+                store.delete("key" + i);
+            }
+            long segmentsBefore = segmentCount();
+
+            assertThat(store.compact(0.3)).isPositive();
+            store.compact(1.0); // deletes the retired files, grace period is 0
+
+            assertThat(segmentCount()).isLessThan(segmentsBefore);
+            for (int i = 1; i < 10; i += 2) {
+                assertThat(text(store.read("key" + i).orElseThrow())).isEqualTo("value-" + i + "-0123456789");
+            }
+        }
+
+        try (PackFileStore store = open(128)) {
+            assertThat(store.size()).isEqualTo(5);
+            assertThat(store.contains("key0")).isFalse();
+            assertThat(text(store.read("key9").orElseThrow())).isEqualTo("value-9-0123456789");
+        }
+    }
+
+    @Test
+    void tornRecordAtTheEndIsTruncatedOnOpen() throws Exception {
+        try (PackFileStore store = open(1024 * 1024)) {
+            store.put("a", bytes("complete"));
+            store.put("b", bytes("will be torn"));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (PackFileStore store = open(1024 * 1024)) {
+            assertThat(store.contains("a")).isTrue();
+            assertThat(store.contains("b")).isFalse();
+            store.put("c", bytes("after repair"));
+        }
+        try (PackFileStore store = open(1024 * 1024)) {
+            assertThat(text(store.read("c").orElseThrow())).isEqualTo("after repair");
+        }
+    }
+
+    private PackFileStore open(long segmentSize) throws Exception {
+        PackFileStore store = new PackFileStore(tempDir, segmentSize, false, 60_000);
+        store.open();
+        return store;
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,163 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.enums.RenditionSize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class RenditionServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private RenditionService renditionService;
+
+    @BeforeEach
+    void setUp() {
+        DocumentBlobStore blobStore = mock(DocumentBlobStore.class);
+        when(blobStore.resolveDerivedPath(anyString(), anyString())).thenAnswer(invocation ->
+                tempDir.resolve("derived").resolve(invocation.<String>getArgument(0))
+                        .resolve(invocation.<String>getArgument(1)));
+        renditionService = new RenditionService(blobStore);
+        ReflectionTestUtils.setField(renditionService, "threads", 1);
+        ReflectionTestUtils.setField(renditionService, "queueCapacity", 10);
+        renditionService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        renditionService.stop();
+    }
+
+    @Test
+    void scalesPhotoDownToTheLongEdgeOfTheSize() throws Exception {
+        BlobSlice original = BlobSlice.of(Files.write(tempDir.resolve("photo.jpg"), image("jpeg", 1600, 1200)));
+
+        Path rendition = render("a1", original, RenditionSize.THUMB);
+
+        BufferedImage result = ImageIO.read(rendition.toFile());
+        assertThat(result.getWidth()).isEqualTo(320);
+        assertThat(result.getHeight()).isEqualTo(240);
+        assertThat(rendition).isEqualTo(tempDir.resolve("derived/thumb/a1"));
+    }
+
+    @Test
+    void smallPhotoIsNotUpscaled() throws Exception {
+        BlobSlice original = BlobSlice.of(Files.write(tempDir.resolve("photo.png"), image("png", 200, 100)));
+
+        BufferedImage result = ImageIO.read(render("b2", original, RenditionSize.WEB).toFile());
+
+        assertThat(result.getWidth()).isEqualTo(200);
+        assertThat(result.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    void renditionDoesNotCarryTheExifOfTheOriginal() throws Exception {
+        byte[] photo = withExif(image("jpeg", 800, 600), "GPS 52.5200N 13.4050E");
+        BlobSlice original = BlobSlice.of(Files.write(tempDir.resolve("photo.jpg"), photo));
+        assertThat(new String(photo, StandardCharsets.ISO_8859_1)).contains("Exif", "GPS 52.5200N");
+
+        byte[] rendition = Files.readAllBytes(render("c3", original, RenditionSize.THUMB));
+
+        assertThat(new String(rendition, StandardCharsets.ISO_8859_1)).doesNotContain("Exif", "GPS");
+        assertThat(hasSegment(rendition, 0xE1)).isFalse();
+    }
+
+    @Test
+    void photoInsideASegmentFileIsDecodedFromItsRegion() throws Exception {
+        byte[] photo = image("jpeg", 640, 480);
+        byte[] segment = new byte[photo.length + 300];
+        System.arraycopy(photo, 0, segment, 100, photo.length);
+        BlobSlice original = new BlobSlice(Files.write(tempDir.resolve("segment"), segment), 100, photo.length);
+
+        BufferedImage result = ImageIO.read(render("d4", original, RenditionSize.THUMB).toFile());
+
+        assertThat(result.getWidth()).isEqualTo(320);
+    }
+
+    @Test
+    void webpIsNotSupportedAndFailsToRender() throws Exception {
+        byte[] webp = "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII);
+        BlobSlice original = BlobSlice.of(Files.write(tempDir.resolve("photo.webp"), webp));
+
+        assertThat(RenditionService.SUPPORTED_TYPES).doesNotContain("image/webp");
+        assertThatThrownBy(() -> render("e5", original, RenditionSize.THUMB))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(tempDir.resolve("derived/thumb/e5")).doesNotExist();
+    }
+
+    private Path render(String sha256, BlobSlice original, RenditionSize size) throws Exception {
+        return renditionService.getRendition(sha256, original, size).get(10, TimeUnit.SECONDS);
+    }
+
+    private static byte[] image(String format, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.ORANGE);
+        graphics.fillOval(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        return output.toByteArray();
+    }
+
+    // inserts an APP1 Exif segment right after the SOI marker, as cameras write it
+    private static byte[] withExif(byte[] jpeg, String payload) {
+        byte[] exif = ("Exif\0\0" + payload).getBytes(StandardCharsets.ISO_8859_1);
+        int segmentLength = exif.length + 2;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(jpeg, 0, 2);
+        output.write(0xFF);
+        output.write(0xE1);
+        output.write(segmentLength >> 8);
+        output.write(segmentLength & 0xFF);
+        output.write(exif, 0, exif.length);
+        output.write(jpeg, 2, jpeg.length - 2);
+        return output.toByteArray();
+    }
+
+    // walks the marker segments up to the start of the scan
+    private static boolean hasSegment(byte[] jpeg, int marker) {
+        int position = 2;
+        while (position + 4 <= jpeg.length && (jpeg[position] & 0xFF) == 0xFF) {
+            int current = jpeg[position + 1] & 0xFF;
+            if (current == marker) {
+                return true;
+            }
+            if (current == 0xDA) {
+                return false;
+            }
+            position += 2 + (((jpeg[position + 2] & 0xFF) << 8) | (jpeg[position + 3] & 0xFF));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+package de.ait.javalessonspro.service.storage;
+
+import de.ait.javalessonspro.model.DocumentBlob;
+import de.ait.javalessonspro.repositories.CandidateDocumentOsRepository;
+import de.ait.javalessonspro.repositories.CarDocumentOsRepository;
+import de.ait.javalessonspro.repositories.ClientDocumentDbRepository;
+import de.ait.javalessonspro.repositories.DocumentBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ * Moves blobs written by the flat layout into the sharded one against the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StorageLayoutMigrationIT {
+
+    private static final int BLOBS = 150;
+
+    @Autowired
+    private DocumentBlobStore blobStore;
+
+    @Autowired
+    private DocumentBlobRepository blobRepository;
+
+    @Autowired
+    private CarDocumentOsRepository carDocumentOsRepository;
+
+    @Autowired
+    private CandidateDocumentOsRepository candidateDocumentOsRepository;
+
+    @Autowired
+    private ClientDocumentDbRepository clientDocumentDbRepository;
+
+    private StorageLayoutMigration migration;
+
+    private final List<String> hashes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobRepository.deleteAll();
+        migration = new StorageLayoutMigration(blobStore, blobRepository, carDocumentOsRepository,
+                candidateDocumentOsRepository, clientDocumentDbRepository);
+
+        Files.createDirectories(blobStore.getRoot());
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (int i = 0; i < BLOBS; i++) {
+            byte[] content = ("blob " + i).getBytes(StandardCharsets.UTF_8);
+            String sha256 = HexFormat.of().formatHex(digest.digest(content));
+            Path flat = Files.write(blobStore.getRoot().resolve(sha256), content);
+            blobRepository.save(new DocumentBlob(sha256, (long) content.length, "text/plain",
+                    flat.toString(), sha256));
+            hashes.add(sha256);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        migration.stop();
+        blobRepository.deleteAll();
+    }
+
+    @Test
+    void stoppedMigrationResumesWhereItLeftOff() throws Exception {
+        // a long pause keeps the worker waiting after its first batch
+        ReflectionTestUtils.setField(migration, "batchPauseMs", 60_000L);
+        migration.run(null);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (moved() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        migration.stop();
+        ((Thread) ReflectionTestUtils.getField(migration, "worker")).join(5_000);
+
+        assertThat(moved()).isEqualTo(100);
+
+        ReflectionTestUtils.setField(migration, "batchPauseMs", 0L);
+        migration.migrate();
+
+        assertThat(moved()).isEqualTo(BLOBS);
+        for (String sha256 : hashes) {
+            assertThat(blobStore.getRoot().resolve(sha256)).doesNotExist();
+            assertThat(blobStore.locate(sha256, blobStore.getRoot().resolve(sha256).toString()).exists()).isTrue();
+        }
+    }
+
+    @Test
+    void rerunLeavesMigratedBlobsInPlace() throws Exception {
+        ReflectionTestUtils.setField(migration, "batchPauseMs", 0L);
+        migration.migrate();
+        List<String> paths = storagePaths();
+
+        migration.migrate();
+
+        assertThat(storagePaths()).isEqualTo(paths);
+        for (String path : paths) {
+            assertThat(Files.readString(Path.of(path))).startsWith("blob ");
+        }
+    }
+
+    private long moved() {
+        return blobRepository.findAllById(hashes).stream()
+                .filter(blob -> !Path.of(blob.getStoragePath()).getParent().equals(blobStore.getRoot()))
+                .count();
+    }
+
+    private List<String> storagePaths() {
+        return hashes.stream()
+                .map(sha256 -> blobRepository.findById(sha256).orElseThrow().getStoragePath())
+                .toList();
+    }
+}
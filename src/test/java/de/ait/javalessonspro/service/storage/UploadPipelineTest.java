@@ -0,0 +1,74 @@
+package de.ait.javalessonspro.service.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class UploadPipelineTest {
+
+    private static final Set<String> ALLOWED = Set.of("application/pdf", "image/png");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writesFileAndComputesChecksumInOnePass() throws Exception {
+        byte[] content = "%PDF-1.7 some document body".getBytes(StandardCharsets.US_ASCII);
+        Path target = tempDir.resolve("doc.pdf");
+
+        UploadPipeline.UploadResult result =
+                UploadPipeline.process(new ByteArrayInputStream(content), target, 1024, ALLOWED);
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        assertThat(result.sha256()).isEqualTo(expected);
+        assertThat(result.size()).isEqualTo(content.length);
+        assertThat(result.detectedContentType()).isEqualTo("application/pdf");
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+    }
+
+    @Test
+    void rejectsContentWhoseMagicBytesAreNotAllowed() {
+        byte[] fakePdf = "MZ this is an executable".getBytes(StandardCharsets.US_ASCII);
+        Path target = tempDir.resolve("fake.pdf");
+
+        assertThatThrownBy(() ->
+                UploadPipeline.process(new ByteArrayInputStream(fakePdf), target, 1024, ALLOWED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    void abortsAndRemovesPartialFileWhenLimitIsExceeded() {
+        byte[] content = new byte[4096];
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, content, 0, 5);
+        Path target = tempDir.resolve("big.pdf");
+
+        assertThatThrownBy(() ->
+                UploadPipeline.process(new ByteArrayInputStream(content), target, 1000, ALLOWED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    void detectsWebpByRiffContainer() {
+        byte[] head = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'};
+        assertThat(ContentTypeSniffer.detect(head, head.length)).isEqualTo("image/webp");
+    }
+}
@@ -0,0 +1,78 @@
+package de.ait.javalessonspro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+
+    @Test
+    void itemsFireWithinOneTickAfterTheirExpiration() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("soon", 25);
+        wheel.schedule("level-1", 300);
+        wheel.schedule("level-2", 4_000);
+
+        assertThat(wheel.advance(25)).isEmpty();
+        assertThat(wheel.advance(30)).containsExactly("soon");
+        assertThat(wheel.advance(300)).isEmpty();
+        assertThat(wheel.advance(310)).containsExactly("level-1");
+        assertThat(wheel.advance(4_010)).containsExactly("level-2");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomTimersAllFireAndNeverEarly() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, 1_234);
+        Map<Long, Long> expirations = new HashMap<>();
+        List<long[]> fired = new ArrayList<>();
+        long now = 1_234;
+        for (long id = 0; id < 2_000; id++) {
+            long expiration = now + random.nextInt((int) (wheel.horizon() - now));
+            if (wheel.schedule(id, expiration)) {
+                expirations.put(id, expiration);
+            }
+            now += random.nextInt((int) TICK);
+            for (Long item : wheel.advance(now)) {
+                fired.add(new long[]{item, now});
+            }
+        }
+        now = wheel.horizon() + TICK;
+        for (Long item : wheel.advance(now)) {
+            fired.add(new long[]{item, now});
+        }
+
+        assertThat(fired).hasSize(expirations.size());
+        for (long[] event : fired) {
+            long expiration = expirations.get(event[0]);
+            assertThat(event[1]).isGreaterThan(expiration);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastExpirationIsReportedAsDueAndFarFutureIsRejected() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 2, 1_000);
+
+        assertThat(wheel.schedule("late", 990)).isFalse();
+        assertThatThrownBy(() -> wheel.schedule("far", wheel.horizon() + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package de.ait.javalessonspro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class IntervalTreeTest {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add("morning", 100, 200);
+        tree.add("noon", 300, 400);
+
+        assertThat(tree.firstOverlap(200, 300)).isNull();
+        assertThat(tree.firstOverlap(150, 350).item()).isEqualTo("morning");
+        assertThat(tree.firstOverlap(399, 500).item()).isEqualTo("noon");
+    }
+
+    @Test
+    void removedIntervalNoLongerOverlaps() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add("booking", 100, 200);
+
+        assertThat(tree.remove("booking")).isTrue();
+        assertThat(tree.remove("booking")).isFalse();
+        assertThat(tree.firstOverlap(0, 1_000)).isNull();
+        assertThat(tree.size()).isZero();
+    }
+
+    @Test
+    void firstOverlapMatchesBruteForce() {
+        Random random = new Random(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        Map<Integer, long[]> intervals = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            int item = random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    if (!intervals.containsKey(item)) {
+                        long start = random.nextInt(10_000);
+                        long end = start + 1 + random.nextInt(300);
+                        tree.add(item, start, end);
+                        intervals.put(item, new long[]{start, end});
+                    }
+                }
+                case 1 -> assertThat(tree.remove(item)).isEqualTo(intervals.remove(item) != null);
+                default -> {
+                    long start = random.nextInt(10_000);
+                    long end = start + 1 + random.nextInt(100);
+                    Long expectedStart = intervals.values().stream()
+                            .filter(interval -> interval[0] < end && interval[1] > start)
+                            .map(interval -> interval[0])
+                            .min(Long::compare)
+                            .orElse(null);
+                    IntervalTree.Interval<Integer> overlap = tree.firstOverlap(start, end);
+                    assertThat(overlap == null ? null : overlap.start()).isEqualTo(expectedStart);
+                }
+            }
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+    }
+
+    @Test
+    void emptyIntervalAndDuplicateItemAreRejected() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.add("booking", 100, 200);
+
+        assertThatThrownBy(() -> tree.add("empty", 100, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tree.add("booking", 300, 400)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
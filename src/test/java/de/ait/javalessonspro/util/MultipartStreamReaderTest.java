@@ -0,0 +1,94 @@
+package de.ait.javalessonspro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ----------------------------------------------------------------------------
+ * Author  : Alexander Hermann
+ * Created : 19.10.2026
+ * Project : JavaLessonsPro
+ * ----------------------------------------------------------------------------
+ */
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----TestBoundary7MA4YWxk";
+
+    @Test
+    void readsFieldsAndFilePartAcrossSmallReads() throws IOException {
+        byte[] fileContent = new byte[300_000];
+        new Random(42).nextBytes(fileContent);
+
+        byte[] body = multipartBody(fileContent, true);
+        MultipartStreamReader reader = new MultipartStreamReader(trickle(body), BOUNDARY);
+
+        Map<String, String> fields = new HashMap<>();
+        MultipartStreamReader.Part filePart = reader.nextFilePart(fields, 100);
+
+        assertThat(fields).containsEntry("docType", "PHOTO");
+        assertThat(filePart.getName()).isEqualTo("file");
+        assertThat(filePart.getFilename()).isEqualTo("car photo.jpg");
+        assertThat(filePart.getContentType()).isEqualTo("image/jpeg");
+        assertThat(filePart.getInputStream().readAllBytes()).isEqualTo(fileContent);
+        assertThat(reader.nextPart()).isNull();
+    }
+
+    @Test
+    void truncatedBodyFailsInsteadOfReturningPartialFile() throws IOException {
+        byte[] body = multipartBody("content".getBytes(StandardCharsets.UTF_8), false);
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+
+        MultipartStreamReader.Part filePart = reader.nextFilePart(new HashMap<>(), 100);
+
+        assertThatThrownBy(() -> filePart.getInputStream().readAllBytes())
+                .isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void extractsQuotedBoundary() {
+        assertThat(MultipartStreamReader.extractBoundary("multipart/form-data; boundary=\"abc def\""))
+                .isEqualTo("abc def");
+        assertThatThrownBy(() -> MultipartStreamReader.extractBoundary("application/json"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] multipartBody(byte[] fileContent, boolean closed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"docType\"\r\n\r\n"
+                + "PHOTO\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"car photo.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(fileContent);
+        if (closed) {
+            out.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Hands out the body in small random slices, like a slow network would.
+     */
+    private static InputStream trickle(byte[] body) {
+        Random random = new Random(7);
+        return new ByteArrayInputStream(body) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + random.nextInt(4096)));
+            }
+        };
+    }
+}